@@ -0,0 +1,160 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.azure.ai.vision.imageanalysis.models.ImageAnalysisResult;
+import com.azure.json.JsonProviders;
+import com.azure.json.JsonReader;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocation;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipMapper;
+
+/**
+ * Benchmarks for the CPU work done on every recognition request once Azure Vision has answered:
+ * tag extraction, tag to material mapping, location filtering and distance calculation.
+ * Inputs are synthetic Vision results and location sets, so no Azure or database access is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecognitionPostProcessingBenchmark {
+
+    private static final String[] TAG_NAMES = {
+        "indoor", "table", "bottle", "plastic bottle", "container", "cup", "drink", "water bottle",
+        "glass jar", "soda can", "cardboard box", "laptop", "fruit", "paper", "metal", "text"
+    };
+
+    private static final String[] MATERIAL_KEYS = {
+        "paper", "plastic", "metal", "ewaste", "cardboard", "motorOil", "cartons", "cans"
+    };
+
+    // Johannesburg, where most of the facility data is concentrated
+    private static final double REFERENCE_LATITUDE = -26.2041;
+    private static final double REFERENCE_LONGITUDE = 28.0473;
+
+    @Param({"5", "50"})
+    public int tagCount;
+
+    @Param({"100", "1500"})
+    public int locationCount;
+
+    private ImageRecognitionService imageRecognitionService;
+    private MaterialMappingService materialMappingService;
+    private ImageAnalysisResult analysisResult;
+    private List<String> extractedTags;
+    private List<RecyclingLocationDTO> locations;
+    private EnrichmentBundle enrichment;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+
+        // The post-processing paths do not touch the Azure client, the scheduler, the metrics or the enrichment index
+        materialMappingService = new MaterialMappingService(null);
+        imageRecognitionService = new ImageRecognitionService(null, materialMappingService, null, null, null, null, null);
+
+        analysisResult = syntheticAnalysisResult(random, tagCount);
+        extractedTags = imageRecognitionService.extractTags(analysisResult);
+        locations = syntheticLocations(random, locationCount);
+
+        WasteCategory category = new WasteCategory();
+        category.setId(1L);
+        category.setName("Paper");
+        category.setDisposalGuidelines(new ArrayList<>());
+        category.setRecyclingTips(new ArrayList<>());
+        enrichment = EnrichmentBundle.from(category, new DisposalGuidelineMapper(), new RecyclingTipMapper());
+    }
+
+    @Benchmark
+    public List<String> extractTags() {
+        return imageRecognitionService.extractTags(analysisResult);
+    }
+
+    @Benchmark
+    public String mapObjectToMaterial() {
+        return materialMappingService.mapObjectToMaterial(extractedTags);
+    }
+
+    @Benchmark
+    public List<RecyclingLocation> convertAndFilterLocationsByWasteCategory() {
+        return imageRecognitionService.convertAndFilterLocationsByWasteCategory(locations, enrichment);
+    }
+
+    @Benchmark
+    public void calculateDistance(Blackhole blackhole) {
+        for (RecyclingLocationDTO location : locations) {
+            location.calculateDistance(REFERENCE_LATITUDE, REFERENCE_LONGITUDE);
+            blackhole.consume(location.getDistance());
+        }
+    }
+
+    // Builds a result through the SDK's own JSON deserializer, the same path a real response takes
+    private static ImageAnalysisResult syntheticAnalysisResult(Random random, int tagCount) throws IOException {
+        StringBuilder tags = new StringBuilder();
+        StringBuilder objects = new StringBuilder();
+        for (int i = 0; i < tagCount; i++) {
+            String name = TAG_NAMES[random.nextInt(TAG_NAMES.length)];
+            double confidence = 0.3 + random.nextDouble() * 0.7;
+            String tag = String.format("{\"name\":\"%s\",\"confidence\":%.4f}", name, confidence);
+            tags.append(i > 0 ? "," : "").append(tag);
+            if (i % 3 == 0) {
+                objects.append(objects.length() > 0 ? "," : "")
+                    .append("{\"boundingBox\":{\"x\":10,\"y\":20,\"w\":100,\"h\":200},\"tags\":[")
+                    .append(tag)
+                    .append("]}");
+            }
+        }
+        String json = "{\"modelVersion\":\"2023-10-01\",\"metadata\":{\"width\":1024,\"height\":768},"
+            + "\"tagsResult\":{\"values\":[" + tags + "]},"
+            + "\"objectsResult\":{\"values\":[" + objects + "]}}";
+        try (JsonReader reader = JsonProviders.createReader(json)) {
+            return ImageAnalysisResult.fromJson(reader);
+        }
+    }
+
+    private static List<RecyclingLocationDTO> syntheticLocations(Random random, int count) {
+        List<RecyclingLocationDTO> locations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Boolean> acceptedMaterials = new HashMap<>();
+            for (String key : MATERIAL_KEYS) {
+                acceptedMaterials.put(key, random.nextBoolean());
+            }
+            locations.add(RecyclingLocationDTO.builder()
+                .id((long) i)
+                .name("Drop-off " + i)
+                .latitude(-34.0 + random.nextDouble() * 12.0)
+                .longitude(18.0 + random.nextDouble() * 14.0)
+                .city("City " + (i % 40))
+                .municipality("Municipality " + (i % 20))
+                .type("Drop-off")
+                .acceptedMaterials(acceptedMaterials)
+                .build());
+        }
+        return locations;
+    }
+}
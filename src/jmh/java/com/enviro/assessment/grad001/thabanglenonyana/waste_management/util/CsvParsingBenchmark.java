@@ -0,0 +1,70 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares parsing the bundled mapData.csv with {@link CsvRecordReader} against the previous
+ * BufferedReader and String.split approach. The file is held in memory so only parsing is measured.
+ * Run with -prof gc to compare allocation per pass; split also shifts every column after a quoted field holding commas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+    private String csv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream in = CsvParsingBenchmark.class.getClassLoader().getResourceAsStream("mapData.csv")) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public int stringSplit(Blackhole blackhole) throws IOException {
+        int records = 0;
+        try (BufferedReader reader = new BufferedReader(new StringReader(csv))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] values = line.split(",");
+                blackhole.consume(values[values.length - 1]);
+                records++;
+            }
+        }
+        return records;
+    }
+
+    @Benchmark
+    public int csvRecordReader(Blackhole blackhole) throws IOException {
+        int records = 0;
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+            while (reader.next()) {
+                blackhole.consume(reader.get(reader.size() - 1));
+                records++;
+            }
+        }
+        return records;
+    }
+}
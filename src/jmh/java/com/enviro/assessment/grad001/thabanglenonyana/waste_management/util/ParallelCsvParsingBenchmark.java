@@ -0,0 +1,82 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how parsing a national-size location file into column blocks scales with the number of
+ * parser threads. The synthetic file has the mapData.csv layout, including quoted fields with commas,
+ * and only parsing is measured, no database writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelCsvParsingBenchmark {
+
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"300000"})
+    public int rowCount;
+
+    private Path file;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        file = Files.createTempFile("locations-benchmark-", ".csv");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < rowCount; i++) {
+                writer.write(i + "," + (-34.0 + random.nextDouble() * 12.0) + "," + (18.0 + random.nextDouble() * 14.0)
+                    + ",Drop-off " + i + ",Municipality " + (i % 200) + ",City " + (i % 400)
+                    + ",Collector,Open 8am -5pm,,https://example.org/" + i
+                    + ",\"Confidential shredding, Recycling Programmes, CFLs\",y,y,n,yes,y,n,,yes,y,n\n");
+            }
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdownNow();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int parse() throws IOException {
+        int rows = 0;
+        try (LocationBlocks blocks = new ParallelLocationParser(file, pool, CHUNK_BYTES, parallelism * 2)) {
+            LocationColumns block;
+            while ((block = blocks.next()) != null) {
+                rows += block.size();
+            }
+        }
+        return rows;
+    }
+}
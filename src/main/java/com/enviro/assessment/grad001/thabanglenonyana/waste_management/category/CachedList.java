@@ -0,0 +1,57 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.category;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * An immutable list response held by {@link ReferenceDataCache}.
+ * Besides the DTOs it carries the UTF-8 JSON body, pre-compressed gzip variant and the
+ * ETag, so a cached GET is written out without any serialization or compression.
+ * The DTOs and byte arrays are shared between requests and must not be modified.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CachedList<T> {
+
+    List<T> items;
+    String etag;
+    byte[] json;
+    byte[] gzip;
+
+    /**
+     * Serializes and compresses a list once, for every later request to reuse
+     * @param items The DTOs to cache
+     * @param objectMapper The mapper used for HTTP responses
+     * @return The cached list with its encoded bodies
+     */
+    public static <T> CachedList<T> of(List<T> items, ObjectMapper objectMapper) {
+        List<T> immutableItems = List.copyOf(items);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(immutableItems);
+            // Weak, because the same tag is shared by the identity and gzip representations
+            String etag = "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new CachedList<>(immutableItems, etag, json, gzip(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize cached list", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        }
+        return buffer.toByteArray();
+    }
+}
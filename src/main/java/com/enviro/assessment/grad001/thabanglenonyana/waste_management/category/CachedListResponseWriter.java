@@ -0,0 +1,82 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.category;
+
+import java.io.IOException;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a {@link CachedList} straight to the servlet output stream.
+ * Picks the gzip or identity body from Accept-Encoding and answers a matching
+ * If-None-Match with 304, so a hot GET does no serialization or compression.
+ */
+@Component
+public class CachedListResponseWriter {
+
+    private static final String GZIP = "gzip";
+
+    /**
+     * Writes the cached list, or a 304 when the client already has it
+     * @param list The cached list to send
+     * @param request The current request, read for If-None-Match and Accept-Encoding
+     * @param response The response to write to
+     * @throws IOException if writing to the client fails
+     */
+    public void write(CachedList<?> list, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.ETAG, list.getEtag());
+        // Sets 304 when the tag matches
+        if (new ServletWebRequest(request, response).checkNotModified(list.getEtag())) {
+            return;
+        }
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = list.getJson();
+        if (accepts(acceptEncoding, GZIP)) {
+            body = list.getGzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // True if the coding is listed with a q-value above zero, e.g. "gzip;q=0.8, deflate"
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(coding)) {
+                continue;
+            }
+            return qValue(parts) > 0;
+        }
+        return false;
+    }
+
+    // The q parameter of an Accept-Encoding entry, 1 when absent and 0 when it cannot be parsed
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] parameter = parts[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter[1].trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,21 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.category;
+
+import lombok.Data;
+
+/**
+ * Application event published whenever a waste category, disposal guideline or recycling tip
+ * is created, updated, deleted or (un)assigned. Listeners use it to refresh in-memory views
+ * of the category reference data.
+ */
+@Data
+public class CategoryContentChangedEvent {
+
+    public enum ContentType {
+        CATEGORY,
+        GUIDELINE,
+        TIP
+    }
+
+    private final ContentType contentType;
+    private final Long contentId; // null when a bulk request changed several items
+}
@@ -0,0 +1,110 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.category;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Read-through cache of the category, guideline and tip list responses.
+ * A list is built from the database on the first request and kept as an immutable DTO list with
+ * its pre-rendered JSON, so repeated GETs neither query the database, re-run the mappers nor serialize.
+ * Every cached list is dropped once a category, guideline or tip change commits, because each list
+ * embeds data from the other two.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    public enum ListKey {
+        CATEGORIES,
+        GUIDELINES,
+        TIPS
+    }
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+    private final Map<ListKey, CachedList<?>> lists = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction, a load that started before an eviction must not be stored
+    private long generation;
+
+    @Autowired
+    public ReferenceDataCache(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns the cached list, loading it in a read-only transaction on a miss
+     * @param key The list to return
+     * @param loader Builds the DTO list from the database
+     * @return The cached list and its ETag
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CachedList<T> get(ListKey key, Supplier<List<T>> loader) {
+        CachedList<T> cached = (CachedList<T>) lists.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generationAtLoad = currentGeneration();
+        List<T> items = readTransaction.execute(status -> loader.get());
+        CachedList<T> loaded = CachedList.of(items, objectMapper);
+        synchronized (this) {
+            if (generation == generationAtLoad) {
+                lists.put(key, loaded);
+            }
+        }
+        logger.debug("Loaded {} {} into the response cache", items.size(), key);
+        return loaded;
+    }
+
+    /**
+     * Reads a cached list back from its JSON, so the caller gets DTOs it may modify
+     * without touching the ones shared by every cached response
+     * @param cached The cached list
+     * @param type The DTO type
+     * @return A deep copy of the cached DTOs
+     */
+    public <T> List<T> copyOf(CachedList<T> cached, Class<T> type) {
+        try {
+            return objectMapper.readValue(cached.getJson(),
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, type));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not copy cached list", e);
+        }
+    }
+
+    /**
+     * Drops every cached list
+     */
+    public synchronized void evictAll() {
+        generation++;
+        lists.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryContentChanged(CategoryContentChangedEvent event) {
+        logger.debug("Evicting cached lists after {} {} changed", event.getContentType(), event.getContentId());
+        evictAll();
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+}
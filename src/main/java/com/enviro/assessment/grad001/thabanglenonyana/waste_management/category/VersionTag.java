@@ -0,0 +1,43 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.category;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.StaleResourceException;
+
+/**
+ * Converts between entity versions and the strong ETags of single resources, e.g. version 3 is "3".
+ * Clients send the ETag back in If-Match on PUT and PATCH so an update never overwrites a change they have not seen.
+ */
+public final class VersionTag {
+
+    private VersionTag() {
+    }
+
+    /**
+     * Builds the ETag of a version
+     * @param version The entity version
+     * @return The quoted ETag, or null for an entity that has no version yet
+     */
+    public static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the expected version from an If-Match header
+     * @param ifMatch The header value, may be null
+     * @return The expected version, or null when the header is absent or "*"
+     * @throws StaleResourceException if the header does not name a single version, as no version can then match
+     */
+    public static Long parse(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through to the stale case below
+            }
+        }
+        throw new StaleResourceException("If-Match does not name a version of this resource: " + ifMatch);
+    }
+}
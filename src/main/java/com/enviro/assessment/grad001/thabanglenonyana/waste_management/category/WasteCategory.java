@@ -7,18 +7,29 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
@@ -29,16 +40,27 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 /**
  * Entity class representing a waste category in the system.
  * Uses JPA annotations for persistence and validation constraints for data integrity.
+ * Both collections are lazy; callers pick a fetch plan through {@link WasteCategoryRepository}.
+ * Only one bag is join-fetched by the graph, the other is loaded for all categories of a result
+ * in a single subselect, avoiding both a guideline x tip cartesian product and N+1 selects.
  */
 @Entity
+@NamedEntityGraph(name = WasteCategory.GRAPH_WITH_CONTENT,
+        attributeNodes = @NamedAttributeNode("disposalGuidelines"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "waste_categories")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = WasteCategory.CACHE_REGION)
 public class WasteCategory{
 
+    public static final String GRAPH_WITH_CONTENT = "WasteCategory.withContent";
+    public static final String CACHE_REGION = "wasteCategory";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY, so inserts can be sent in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waste_categories_seq")
+    @SequenceGenerator(name = "waste_categories_seq", sequenceName = "waste_categories_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Category name is required")
@@ -59,11 +81,25 @@ public class WasteCategory{
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock, checked in the WHERE clause of every update and served as the resource's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @JsonManagedReference
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "wasteCategory.disposalGuidelines")
     private List<DisposalGuideline> disposalGuidelines;
 
     @JsonManagedReference
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "wasteCategory.recyclingTips")
     private List<RecyclingTip> recyclingTips;
 }
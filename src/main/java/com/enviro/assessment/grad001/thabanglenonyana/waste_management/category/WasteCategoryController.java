@@ -1,16 +1,24 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.category;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,12 +27,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.StaleResourceException;
 
 /**
  * This class is a controller class that will be used to handle HTTP requests for the WasteCategory entity.
@@ -40,26 +51,32 @@ public class WasteCategoryController {
     // Inject the WasteCategoryService
     private final WasteCategoryService wasteCategoryService;
 
+    // Writes the pre-rendered list bodies
+    private final CachedListResponseWriter responseWriter;
+
     // Get all categories
     @Operation(
         summary = "Get all waste categories",
         description = "Retrieves a list of all waste categories in the system"
     )
-    @ApiResponse(responseCode = "200", description = "Categories found successfully")
+    @ApiResponse(responseCode = "200", description = "Categories found successfully",
+        content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = WasteCategoryDTO.class))))
+    @ApiResponse(responseCode = "304", description = "Categories unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "500", description = "Internal server error")
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<WasteCategoryDTO>> getAllCategories() {
+    public void getAllCategories(HttpServletRequest request, HttpServletResponse response) throws IOException {
         log.debug("GET /api/categories - Retrieving all waste categories");
+        CachedList<WasteCategoryDTO> categories;
         try {
-            List<WasteCategoryDTO> categories = wasteCategoryService.getAllCategories();
-            log.info("Retrieved {} waste categories successfully", categories.size());
-            return ResponseEntity.ok(categories);
+            categories = wasteCategoryService.getCachedCategories();
+            log.info("Retrieved {} waste categories successfully", categories.getItems().size());
         } 
         catch (Exception e) {
             log.error("Error retrieving all categories: {}", e.getMessage(), e);
-            return ResponseEntity.internalServerError().build();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
         }
+        responseWriter.write(categories, request, response);
     }
 
     // Get category by ID
@@ -67,7 +84,7 @@ public class WasteCategoryController {
         summary = "Get waste category by ID",
         description = "Retrieves a specific waste category using its ID"
     )
-    @ApiResponse(responseCode = "200", description = "Category found")
+    @ApiResponse(responseCode = "200", description = "Category found, its version in the ETag header")
     @ApiResponse(responseCode = "404", description = "Category not found")
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
@@ -76,7 +93,7 @@ public class WasteCategoryController {
         try {
             WasteCategoryDTO category = wasteCategoryService.getCategoryById(id);
             log.info("Retrieved waste category with id: {}", id);
-            return ResponseEntity.ok(category);
+            return ResponseEntity.ok().eTag(VersionTag.of(category.getVersion())).body(category);
         }
         catch (ResourceNotFoundException e) {
             log.warn("Waste category not found with id: {}", id);
@@ -111,27 +128,100 @@ public class WasteCategoryController {
         }
     }
 
+    // Create several categories at once
+    @Operation(
+        summary = "Create waste categories in bulk",
+        description = "Creates up to 1000 waste categories in one transaction; if any of them is rejected none are created"
+    )
+    @ApiResponse(responseCode = "201", description = "Categories created successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "409", description = "Category name already exists or is repeated in the request")
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<List<WasteCategoryDTO>> createCategories(@RequestBody List<WasteCategoryDTO> categoryDTOs) {
+        log.debug("POST /api/categories/bulk - Creating {} waste categories", categoryDTOs.size());
+        try {
+            List<WasteCategoryDTO> created = wasteCategoryService.createCategories(categoryDTOs);
+            log.info("Created {} waste categories", created.size());
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        }
+        catch (DuplicateResourceException e) {
+            log.warn("Duplicate waste category: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        catch (ConstraintViolationException e) {
+            log.warn("Invalid waste category data: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Update several categories at once
+    @Operation(
+        summary = "Update waste categories in bulk",
+        description = "Updates up to 1000 waste categories, identified by their ids, in one transaction; if any of them is rejected none are changed"
+    )
+    @ApiResponse(responseCode = "200", description = "Categories updated successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid input, a missing id or an id given twice")
+    @ApiResponse(responseCode = "404", description = "Category not found")
+    @ApiResponse(responseCode = "409", description = "Category name already taken or repeated in the request")
+    @PutMapping("/bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<WasteCategoryDTO>> updateCategories(@RequestBody List<WasteCategoryDTO> categoryDTOs) {
+        log.debug("PUT /api/categories/bulk - Updating {} waste categories", categoryDTOs.size());
+        try {
+            List<WasteCategoryDTO> updated = wasteCategoryService.updateCategories(categoryDTOs);
+            log.info("Updated {} waste categories", updated.size());
+            return ResponseEntity.ok(updated);
+        }
+        catch (ResourceNotFoundException e) {
+            log.warn("Waste category not found: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+        catch (DuplicateResourceException e) {
+            log.warn("Duplicate waste category: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        catch (ConstraintViolationException | IllegalOperationException e) {
+            log.warn("Invalid waste category data: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Update category
     @Operation(
         summary = "Update waste category",
-        description = "Updates an existing waste category"
+        description = "Updates an existing waste category; send the ETag from a previous read in If-Match to reject the update when the category changed since"
     )
-    @ApiResponse(responseCode = "200", description = "Category updated successfully")
+    @ApiResponse(responseCode = "200", description = "Category updated successfully, its new version in the ETag header")
     @ApiResponse(responseCode = "404", description = "Category not found")
     @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "409", description = "Category name already exists, or the category was changed concurrently")
+    @ApiResponse(responseCode = "412", description = "Category no longer matches If-Match")
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<WasteCategoryDTO> updateCategory(@PathVariable Long id, @Valid @RequestBody WasteCategoryDTO categoryDTO) {
+    public ResponseEntity<WasteCategoryDTO> updateCategory(@PathVariable Long id, @Valid @RequestBody WasteCategoryDTO categoryDTO,
+            @Parameter(description = "ETag of the category as last read") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("PUT /api/categories/{} - Updating waste category: {}", id, categoryDTO);
         try {
+            if (ifMatch != null) {
+                categoryDTO.setVersion(VersionTag.parse(ifMatch));
+            }
             WasteCategoryDTO updated = wasteCategoryService.updateCategory(id, categoryDTO);
             log.info("Updated waste category with id: {}", id);
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok().eTag(VersionTag.of(updated.getVersion())).body(updated);
         }
         catch (ResourceNotFoundException e) {
             log.warn("Waste category not found with id: {}", id);
             return ResponseEntity.notFound().build();
         }
+        catch (DuplicateResourceException e) {
+            log.warn("Duplicate waste category: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        catch (StaleResourceException e) {
+            log.warn("Stale update of waste category with id {}: {}", id, e.getMessage());
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        }
         catch (Exception e) {
             log.error("Error updating waste category with id {}: {}", id, e.getMessage(), e);
             return ResponseEntity.badRequest().build();
@@ -17,6 +17,9 @@ public class WasteCategoryDTO {
 
     @NotBlank(message = "Category description is required")
     private String description;
+
+    // Version the client last saw, compared on update like If-Match
+    private Long version;
     
     private List<DisposalGuidelineDTO> disposalGuidelines;
     private List<RecyclingTipDTO> recyclingTips;
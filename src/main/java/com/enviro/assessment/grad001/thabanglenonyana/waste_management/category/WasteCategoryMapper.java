@@ -1,5 +1,6 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.category;
 
+import java.util.ArrayList;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
@@ -21,6 +22,7 @@ public class WasteCategoryMapper {
         dto.setId(category.getId());
         dto.setName(category.getName());
         dto.setDescription(category.getDescription());
+        dto.setVersion(category.getVersion());
         
         if (category.getDisposalGuidelines() != null) {
             dto.setDisposalGuidelines(category.getDisposalGuidelines().stream()
@@ -53,6 +55,7 @@ public class WasteCategoryMapper {
         dto.setId(guideline.getId());
         dto.setTitle(guideline.getTitle());
         dto.setInstructions(guideline.getInstructions());
+        dto.setVersion(guideline.getVersion());
         return dto;
     }
 
@@ -60,11 +63,12 @@ public class WasteCategoryMapper {
         RecyclingTipDTO dto = new RecyclingTipDTO();
         dto.setId(tip.getId());
         dto.setTitle(tip.getTitle());
-        dto.setSteps(tip.getSteps()); // Direct assignment since both use List<String>
+        dto.setSteps(tip.getSteps() != null ? new ArrayList<>(tip.getSteps()) : null); // Copied so the DTO does not hold the Hibernate collection
         dto.setDifficulty(tip.getDifficulty());
         dto.setEnvironmentalImpact(tip.getEnvironmentalImpact());
         dto.setTimeRequired(tip.getTimeRequired());
         dto.setRequiredMaterials(tip.getRequiredMaterials());
+        dto.setVersion(tip.getVersion());
         return dto;
     }
 
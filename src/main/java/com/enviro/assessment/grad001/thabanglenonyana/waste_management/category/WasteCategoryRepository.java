@@ -1,11 +1,35 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.category;
 
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface WasteCategoryRepository extends JpaRepository<WasteCategory, Long> {
+    // Served from the query cache, invalidated automatically when waste_categories changes
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<WasteCategory> findByNameIgnoreCase(String name);
+
+    // Bulk writes check every name of a request in one query
+    List<WasteCategory> findByNameIn(Collection<String> names);
+
+    // List view and recognition enrichment: categories with guidelines joined, tips in one subselect
+    @EntityGraph(WasteCategory.GRAPH_WITH_CONTENT)
+    @Query("SELECT c FROM WasteCategory c ORDER BY c.id")
+    List<WasteCategory> findAllWithContent();
+
+    // Detail view: a single category with its guidelines and tips
+    @EntityGraph(WasteCategory.GRAPH_WITH_CONTENT)
+    @Query("SELECT c FROM WasteCategory c WHERE c.id = :id")
+    Optional<WasteCategory> findWithContentById(Long id);
 }
\ No newline at end of file
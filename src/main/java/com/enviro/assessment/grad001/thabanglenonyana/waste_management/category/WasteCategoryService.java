@@ -1,14 +1,34 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.category;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
 
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent.ContentType;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache.ListKey;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ConstraintViolations;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.StaleResourceException;
 
 /**
  * Service class for managing waste category operations
@@ -16,22 +36,39 @@ import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception
  */
 @Service
 @RequiredArgsConstructor
+@Validated
 public class WasteCategoryService {
+    // Upper bound on one bulk request, keeps the IN lists and the transaction a sensible size
+    static final int MAX_BULK_SIZE = 1000;
+
     // Inject the WasteCategoryRepository
     private final WasteCategoryRepository wasteCategoryRepository;
 
     // Inject the WasteCategoryMapper
     private final WasteCategoryMapper wasteCategoryMapper;
 
+    // Notifies in-memory views of category data after changes commit
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Holds the rendered category list between changes
+    private final ReferenceDataCache referenceDataCache;
+
     /**
      * Retrieves all waste categories with filtered response fields
      * @return List of WasteCategoryResponseDTO containing only specified fields
      */
-    @Transactional(readOnly = true)
     public List<WasteCategoryDTO> getAllCategories() {
-        return wasteCategoryRepository.findAll().stream()
+        return referenceDataCache.copyOf(getCachedCategories(), WasteCategoryDTO.class);
+    }
+
+    /**
+     * Retrieves all waste categories from the reference data cache, loading them on a miss
+     * @return The cached category list and its ETag
+     */
+    public CachedList<WasteCategoryDTO> getCachedCategories() {
+        return referenceDataCache.get(ListKey.CATEGORIES, () -> wasteCategoryRepository.findAllWithContent().stream()
                 .map(wasteCategoryMapper::toDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -42,7 +79,7 @@ public class WasteCategoryService {
      */
     @Transactional(readOnly = true)
     public WasteCategoryDTO getCategoryById(Long id) {
-        return wasteCategoryRepository.findById(id)
+        return wasteCategoryRepository.findWithContentById(id)
                 .map(wasteCategoryMapper::toDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
     }
@@ -51,31 +88,130 @@ public class WasteCategoryService {
      * Creates a new waste category
      * @param categoryDTO The waste category to create
      * @return WasteCategoryResponseDTO of the created category
+     * @throws DuplicateResourceException if a category with the same name already exists
      */
     @Transactional
     public WasteCategoryDTO createCategory(WasteCategoryDTO categoryDTO) {
         WasteCategory category = wasteCategoryMapper.toEntity(categoryDTO);
-        WasteCategory savedCategory = wasteCategoryRepository.save(category);
+        WasteCategory savedCategory = saveAndFlush(category);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.CATEGORY, savedCategory.getId()));
         return wasteCategoryMapper.toDTO(savedCategory);
     }
 
     /**
      * Updates an existing waste category
+     * The category is usually served by the second-level cache, leaving the versioned UPDATE as the only statement
      * @param id The ID of the category to update
-     * @param requestDTO The updated category details
+     * @param requestDTO The updated category details, with the version the client last saw or a null version to skip the check
      * @return The updated waste category
      * @throws ResourceNotFoundException if the category is not found
+     * @throws DuplicateResourceException if a category with the same name already exists
+     * @throws StaleResourceException if the category is no longer at the given version
      */
     @Transactional
     public WasteCategoryDTO updateCategory(Long id, WasteCategoryDTO categoryDTO) {
         WasteCategory category = wasteCategoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        checkVersion(category, categoryDTO.getVersion());
         
         wasteCategoryMapper.updateEntity(category, categoryDTO);
-        WasteCategory updatedCategory = wasteCategoryRepository.save(category);
+        WasteCategory updatedCategory = saveAndFlush(category);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.CATEGORY, id));
         return wasteCategoryMapper.toDTO(updatedCategory);
     }
 
+    /**
+     * Creates several waste categories in one transaction, either all of them or none
+     * Names are checked with one query and the inserts are sent in JDBC batches
+     * @param categoryDTOs The categories to create
+     * @return The created categories, in request order
+     * @throws DuplicateResourceException if a name is repeated in the request or already exists
+     */
+    @Transactional
+    public List<WasteCategoryDTO> createCategories(
+            @NotEmpty(message = "At least one category is required")
+            @Size(max = MAX_BULK_SIZE, message = "At most " + MAX_BULK_SIZE + " categories per request")
+            List<@Valid WasteCategoryDTO> categoryDTOs) {
+        Set<String> names = requestedNames(categoryDTOs);
+        List<String> existingNames = wasteCategoryRepository.findByNameIn(names).stream()
+                .map(WasteCategory::getName)
+                .toList();
+        if (!existingNames.isEmpty()) {
+            throw new DuplicateResourceException("Categories with name already exist: " + existingNames);
+        }
+
+        List<WasteCategory> categories = new ArrayList<>(categoryDTOs.size());
+        for (WasteCategoryDTO categoryDTO : categoryDTOs) {
+            categories.add(wasteCategoryMapper.toEntity(categoryDTO));
+        }
+
+        List<WasteCategory> savedCategories = wasteCategoryRepository.saveAll(categories);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.CATEGORY, null));
+        return savedCategories.stream()
+                .map(wasteCategoryMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Updates the name and description of several waste categories in one transaction, either all of them or none
+     * @param categoryDTOs The updated categories, each with its id
+     * @return The updated categories, in request order
+     * @throws IllegalOperationException if an entry has no id or an id is repeated
+     * @throws ResourceNotFoundException if a category is not found
+     * @throws DuplicateResourceException if a name is repeated in the request or belongs to another category
+     * @throws StaleResourceException if an entry carries a version the category is no longer at
+     */
+    @Transactional
+    public List<WasteCategoryDTO> updateCategories(
+            @NotEmpty(message = "At least one category is required")
+            @Size(max = MAX_BULK_SIZE, message = "At most " + MAX_BULK_SIZE + " categories per request")
+            List<@Valid WasteCategoryDTO> categoryDTOs) {
+        Map<Long, WasteCategoryDTO> updatesById = new LinkedHashMap<>();
+        for (WasteCategoryDTO categoryDTO : categoryDTOs) {
+            if (categoryDTO.getId() == null) {
+                throw new IllegalOperationException("Every category in a bulk update needs an id");
+            }
+            if (updatesById.put(categoryDTO.getId(), categoryDTO) != null) {
+                throw new IllegalOperationException("Category appears more than once: " + categoryDTO.getId());
+            }
+        }
+        Set<String> names = requestedNames(categoryDTOs);
+
+        // All reads happen before any entity is changed, so the queries do not trigger an early flush
+        Map<Long, WasteCategory> categories = wasteCategoryRepository.findAllById(updatesById.keySet()).stream()
+                .collect(Collectors.toMap(WasteCategory::getId, Function.identity()));
+        Set<Long> missing = new LinkedHashSet<>(updatesById.keySet());
+        missing.removeAll(categories.keySet());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Category not found with id: " + missing);
+        }
+        categoryDTOs.forEach(categoryDTO -> checkVersion(categories.get(categoryDTO.getId()), categoryDTO.getVersion()));
+
+        // A name may only be kept by the category that already has it
+        List<String> takenNames = wasteCategoryRepository.findByNameIn(names).stream()
+                .filter(owner -> {
+                    WasteCategoryDTO update = updatesById.get(owner.getId());
+                    return update == null || !owner.getName().equals(update.getName());
+                })
+                .map(WasteCategory::getName)
+                .toList();
+        if (!takenNames.isEmpty()) {
+            throw new DuplicateResourceException("Categories with name already exist: " + takenNames);
+        }
+
+        for (WasteCategoryDTO categoryDTO : categoryDTOs) {
+            wasteCategoryMapper.updateEntity(categories.get(categoryDTO.getId()), categoryDTO);
+        }
+
+        List<WasteCategory> updatedCategories = wasteCategoryRepository.saveAll(updatesById.keySet().stream()
+                .map(categories::get)
+                .toList());
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.CATEGORY, null));
+        return updatedCategories.stream()
+                .map(wasteCategoryMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Deletes a waste category
      * @param id The ID of the category to delete
@@ -87,6 +223,7 @@ public class WasteCategoryService {
             throw new ResourceNotFoundException("Category not found with id: " + id);
         }
         wasteCategoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.CATEGORY, id));
     }   
 
         /**
@@ -100,4 +237,34 @@ public class WasteCategoryService {
         return wasteCategoryRepository.findByNameIgnoreCase(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with name: " + name));
     }
-}
\ No newline at end of file
+
+    // Writes the category right away, so the name constraint and the version check fail here rather than at commit
+    private WasteCategory saveAndFlush(WasteCategory category) {
+        try {
+            return wasteCategoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException e) {
+            throw ConstraintViolations.translate(e, "Category with name already exists: " + category.getName());
+        } catch (OptimisticLockingFailureException e) {
+            throw new StaleResourceException("Category was changed by another request: " + category.getId());
+        }
+    }
+
+    // A null expected version means the client did not ask for the check
+    private static void checkVersion(WasteCategory category, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(category.getVersion())) {
+            throw new StaleResourceException("Category " + category.getId() + " is at version " + category.getVersion()
+                    + ", not " + expectedVersion);
+        }
+    }
+
+    // Names of a bulk request, rejecting any name given twice
+    private Set<String> requestedNames(List<WasteCategoryDTO> categoryDTOs) {
+        Set<String> names = new HashSet<>();
+        for (WasteCategoryDTO categoryDTO : categoryDTOs) {
+            if (!names.add(categoryDTO.getName())) {
+                throw new DuplicateResourceException("Category name repeated in request: " + categoryDTO.getName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,26 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Shared transaction settings for the in-memory views (indexes, snapshot, gazetteer) that reload from the database.
+ * They rebuild from event listeners that run after the writer's transaction has committed, so every read
+ * runs in a fresh, read-only transaction of its own.
+ */
+@Configuration
+public class ReadTransactionConfig {
+
+    public static final String REFRESH_READ_TRANSACTION = "refreshReadTransaction";
+
+    @Bean(REFRESH_READ_TRANSACTION)
+    public TransactionTemplate refreshReadTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return readTransaction;
+    }
+}
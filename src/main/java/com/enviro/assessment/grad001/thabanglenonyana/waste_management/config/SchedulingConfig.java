@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's scheduled task support for background jobs such as feedback aggregation.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
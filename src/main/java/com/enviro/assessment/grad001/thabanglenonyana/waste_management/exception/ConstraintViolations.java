@@ -0,0 +1,51 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception;
+
+import java.sql.SQLException;
+import java.util.Set;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Translates unique constraint violations raised by the database into {@link DuplicateResourceException},
+ * so uniqueness is enforced by the constraints alone instead of a lookup before every write.
+ */
+public final class ConstraintViolations {
+
+    // SQLSTATE of a unique violation on H2 and PostgreSQL, and the SQL Server error codes for unique key and unique index
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+    private static final Set<Integer> SQL_SERVER_UNIQUE_ERRORS = Set.of(2601, 2627);
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Translates a failed write
+     * @param e The exception raised when the write was flushed
+     * @param message The message of the DuplicateResourceException
+     * @return A DuplicateResourceException for a unique violation, otherwise the exception itself
+     */
+    public static RuntimeException translate(DataIntegrityViolationException e, String message) {
+        return isUniqueViolation(e) ? new DuplicateResourceException(message) : e;
+    }
+
+    /**
+     * Checks whether a unique constraint caused the exception
+     * @param e The exception
+     * @return true if a unique key or unique index was violated
+     */
+    public static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getKind() == ConstraintKind.UNIQUE) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && (UNIQUE_VIOLATION_STATE.equals(sqlException.getSQLState())
+                        || SQL_SERVER_UNIQUE_ERRORS.contains(sqlException.getErrorCode()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,7 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
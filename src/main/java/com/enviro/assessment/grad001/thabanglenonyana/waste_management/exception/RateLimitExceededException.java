@@ -0,0 +1,20 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception;
+
+/**
+ * Thrown when an upstream quota (e.g. Azure Vision transactions per second) cannot
+ * accommodate a request within its deadline. Carries the number of seconds the
+ * client should wait before retrying.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
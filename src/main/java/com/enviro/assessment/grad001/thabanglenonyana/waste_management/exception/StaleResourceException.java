@@ -0,0 +1,11 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception;
+
+/**
+ * Thrown when an update was based on an outdated version of a resource, either because the
+ * version in If-Match no longer matches or because another writer committed first.
+ */
+public class StaleResourceException extends RuntimeException {
+    public StaleResourceException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,66 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness of the recycling location data, reported as locationData in /actuator/health/readiness.
+ * DOWN while the startup migration loads locations and the in-memory indexes are rebuilt from them,
+ * so traffic is only routed once location lookups see the full dataset. UP from the start when no migration runs.
+ * A failed refresh of a table that already holds locations leaves the previous dataset in place, so it reports
+ * UP as STALE with the error, only a failed initial load stays DOWN.
+ */
+@Component
+public class LocationDataHealthIndicator implements HealthIndicator {
+
+    public enum State {
+        READY, LOADING, STALE, FAILED
+    }
+
+    private volatile State state = State.READY;
+    private volatile int recordsRead;
+    private volatile String error;
+
+    public void loading() {
+        recordsRead = 0;
+        error = null;
+        state = State.LOADING;
+    }
+
+    public void progress(int recordsRead) {
+        this.recordsRead = recordsRead;
+    }
+
+    public void ready() {
+        state = State.READY;
+    }
+
+    // The previous dataset is still served
+    public void stale(String error) {
+        this.error = error;
+        state = State.STALE;
+    }
+
+    public void failed(String error) {
+        this.error = error;
+        state = State.FAILED;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = state == State.READY || state == State.STALE ? Health.up() : Health.down();
+        health.withDetail("state", state);
+        if (state == State.LOADING) {
+            health.withDetail("recordsRead", recordsRead);
+        }
+        if (error != null) {
+            health.withDetail("error", error);
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes recycling locations as a GeoJSON FeatureCollection with Jackson's streaming generator, one feature at a time,
+ * so no document or list of features is built in memory. Properties are named like the table columns,
+ * the names {@code GeoJsonLocationReader} reads, so an export can be uploaded again as an import.
+ */
+@Component
+public class LocationGeoJsonWriter {
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public LocationGeoJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the collection, the output stream is flushed but left open
+     * @param locations The locations to write, consumed in order
+     * @param out Where to write the UTF-8 JSON
+     * @return The number of features written
+     * @throws IOException if writing fails
+     */
+    public int write(Stream<RecyclingLocation> locations, OutputStream out) throws IOException {
+        int features = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("type", "FeatureCollection");
+            generator.writeArrayFieldStart("features");
+            Iterator<RecyclingLocation> iterator = locations.iterator();
+            while (iterator.hasNext()) {
+                writeFeature(generator, iterator.next());
+                features++;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return features;
+    }
+
+    private static void writeFeature(JsonGenerator generator, RecyclingLocation location) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "Feature");
+        generator.writeNumberField("id", location.getId());
+        generator.writeObjectFieldStart("geometry");
+        generator.writeStringField("type", "Point");
+        // GeoJSON positions are longitude first
+        generator.writeArrayFieldStart("coordinates");
+        generator.writeNumber(location.getLongitude());
+        generator.writeNumber(location.getLatitude());
+        generator.writeEndArray();
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("properties");
+        writeText(generator, "name", location.getName());
+        writeText(generator, "municipality", location.getMunicipality());
+        writeText(generator, "city", location.getCity());
+        writeText(generator, "type", location.getType());
+        writeText(generator, "operation", location.getOperation());
+        writeText(generator, "group_name", location.getGroupName());
+        writeText(generator, "website", location.getWebsite());
+        writeText(generator, "other", location.getOther());
+        writeFlag(generator, "accepts_cans", location.getAcceptsCans());
+        writeFlag(generator, "accepts_cardboard", location.getAcceptsCardboard());
+        writeFlag(generator, "accepts_cartons", location.getAcceptsCartons());
+        writeFlag(generator, "is_dropoff_site", location.getIsDropoffSite());
+        writeFlag(generator, "accepts_ewaste", location.getAcceptsEWaste());
+        writeFlag(generator, "accepts_metal", location.getAcceptsMetal());
+        writeFlag(generator, "accepts_motor_oil", location.getAcceptsMotorOil());
+        writeFlag(generator, "is_paid", location.getIsPaid());
+        writeFlag(generator, "accepts_paper", location.getAcceptsPaper());
+        writeFlag(generator, "accepts_plastic", location.getAcceptsPlastic());
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    // Empty columns are left out rather than written as null
+    private static void writeText(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private static void writeFlag(JsonGenerator generator, String name, Boolean value) throws IOException {
+        if (value != null) {
+            generator.writeBooleanField(name, value);
+        }
+    }
+}
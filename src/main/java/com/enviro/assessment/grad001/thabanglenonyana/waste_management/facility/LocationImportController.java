@@ -0,0 +1,193 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.PayloadTooLargeException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+
+/**
+ * Controller for uploading recycling location datasets, imported in the background.
+ * An import replaces the whole dataset, so the endpoints answer 404 unless locations.import.enabled is set,
+ * and then only to requests carrying the configured admin token in the X-Admin-Token header.
+ */
+@RestController
+@RequestMapping("/api/locations/imports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Recycling Locations", description = "Recycling location management APIs")
+public class LocationImportController {
+
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final LocationImportService importService;
+
+    @Value("${locations.import.enabled:false}")
+    private boolean importEnabled;
+
+    // Blank means no token is accepted
+    @Value("${locations.import.admin-token:}")
+    private String adminToken;
+
+    // Upload a dataset
+    @Operation(
+        summary = "Import a location dataset",
+        description = "Uploads the full set of recycling locations as CSV (mapData.csv layout, no header) or as a "
+            + "GeoJSON FeatureCollection of points. The file is validated and applied in the background: new and "
+            + "changed rows and ids missing from the file are staged in location_import_staging in short batch "
+            + "transactions, then swapped into the live table by one MERGE and DELETE in a single transaction, "
+            + "so readers see the previous dataset until the swap commits. "
+            + "Poll the returned job for progress. Multipart uploads are capped by spring.servlet.multipart, "
+            + "send larger datasets as the raw request body."
+    )
+    @ApiResponse(responseCode = "202", description = "Import queued, the Location header points at the job")
+    @ApiResponse(responseCode = "400", description = "Empty file")
+    @ApiResponse(responseCode = "403", description = "Missing or wrong admin token")
+    @ApiResponse(responseCode = "404", description = "Imports are disabled")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<LocationImportJob> importLocations(
+            @Parameter(description = "Admin token")
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token,
+            @Parameter(description = "CSV or GeoJSON file") @RequestParam("file") MultipartFile file) {
+        return submit(token, () -> importService.submit(file));
+    }
+
+    // Upload a dataset as the request body
+    @Operation(
+        summary = "Import a location dataset sent as the request body",
+        description = "Same as the multipart upload, but the CSV or GeoJSON is the raw request body, streamed to "
+            + "disk and limited only by locations.import.max-upload-size. The format is taken from the content "
+            + "type or the optional file name."
+    )
+    @ApiResponse(responseCode = "202", description = "Import queued, the Location header points at the job")
+    @ApiResponse(responseCode = "400", description = "Empty body")
+    @ApiResponse(responseCode = "403", description = "Missing or wrong admin token")
+    @ApiResponse(responseCode = "404", description = "Imports are disabled")
+    @ApiResponse(responseCode = "413", description = "Body larger than locations.import.max-upload-size")
+    @PostMapping(consumes = { "text/csv", "application/geo+json", MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<LocationImportJob> importLocationsBody(
+            @Parameter(description = "Admin token")
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token,
+            @Parameter(description = "Name of the uploaded file, e.g. locations.geojson")
+            @RequestParam(value = "fileName", required = false) String fileName,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        return submit(token, () -> importService.submit(body, fileName, contentType));
+    }
+
+    // Poll an import
+    @Operation(
+        summary = "Get location import progress",
+        description = "Returns the status, records read so far and, once finished, the inserted, updated, deleted "
+            + "and quarantined counts or the reason the import failed"
+    )
+    @ApiResponse(responseCode = "200", description = "Job found")
+    @ApiResponse(responseCode = "403", description = "Missing or wrong admin token")
+    @ApiResponse(responseCode = "404", description = "Job not found or no longer retained, or imports are disabled")
+    @GetMapping("/{id}")
+    public ResponseEntity<LocationImportJob> getImport(
+            @Parameter(description = "Admin token")
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token,
+            @Parameter(description = "Job id") @PathVariable UUID id) {
+        HttpStatus denied = denied(token);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        try {
+            return ResponseEntity.ok(importService.getJob(id));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Rejected records of an import
+    @Operation(
+        summary = "Get the records a location import quarantined",
+        description = "Returns the records the import did not load, in file order, with the reason: malformed, "
+            + "outside South Africa, latitude and longitude swapped, or a duplicate of a site with the same name "
+            + "nearby. Quarantines are kept per file name: a later import of a file with the same name, by any client, "
+            + "replaces them, so give each dataset a distinct name"
+    )
+    @ApiResponse(responseCode = "200",
+        description = "Quarantined records, empty until the import has completed or after a same-named import")
+    @ApiResponse(responseCode = "403", description = "Missing or wrong admin token")
+    @ApiResponse(responseCode = "404", description = "Job not found or no longer retained, or imports are disabled")
+    @GetMapping("/{id}/quarantine")
+    public ResponseEntity<List<QuarantinedLocation>> getQuarantine(
+            @Parameter(description = "Admin token")
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token,
+            @Parameter(description = "Job id") @PathVariable UUID id) {
+        HttpStatus denied = denied(token);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        try {
+            return ResponseEntity.ok(importService.getQuarantine(id));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Null when the request may use the import endpoints, otherwise the status to answer with
+    private HttpStatus denied(String token) {
+        if (!importEnabled) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (adminToken.isBlank() || token == null || !MessageDigest.isEqual(
+                adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            return HttpStatus.FORBIDDEN;
+        }
+        return null;
+    }
+
+    private ResponseEntity<LocationImportJob> submit(String token, Submission submission) {
+        HttpStatus denied = denied(token);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        try {
+            LocationImportJob job = submission.submit();
+            return ResponseEntity.accepted().location(URI.create("/api/locations/imports/" + job.getId())).body(job);
+        } catch (IllegalOperationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (PayloadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        } catch (IOException e) {
+            log.error("Could not store uploaded location dataset", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Submission {
+        LocationImportJob submit() throws IOException;
+    }
+}
@@ -0,0 +1,64 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.LocationLoadReport;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Progress of a location dataset upload, updated by the import worker and read by status requests
+ */
+@Getter
+@Setter(AccessLevel.PACKAGE)
+public class LocationImportJob {
+
+    public enum Format {
+        CSV, GEOJSON
+    }
+
+    public enum Status {
+        QUEUED, VALIDATING, IMPORTING, COMPLETED, FAILED
+    }
+
+    private final UUID id;
+    private final String fileName;
+    private final Format format;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    // Records read in the current phase, the file is read once to validate and once to import
+    private volatile int recordsRead;
+    private volatile Integer validRows;
+    private volatile LocationLoadReport report;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    LocationImportJob(UUID id, String fileName, Format format) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void complete(LocationLoadReport report) {
+        this.report = report;
+        finish(Status.COMPLETED);
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    private void finish(Status status) {
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+    }
+}
@@ -0,0 +1,264 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.PayloadTooLargeException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationImportJob.Format;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationImportJob.Status;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.GeoJsonLocationReader;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.LocationLoadReport;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.RecordReader;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.RecyclingLocationCsvLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports uploaded location datasets (CSV in the mapData.csv layout, or GeoJSON) in the background.
+ * The upload, a multipart file or a raw request body streamed to disk for datasets beyond the multipart limit,
+ * is copied to a temporary file and the request returns straight away. One worker thread then
+ * reads the file twice. The first pass validates it without touching the database, so a bad file never
+ * reaches the table. The second pass stages only the rows whose content changed in location_import_staging,
+ * in short batch transactions, and swaps them into the live table in one transaction at the end.
+ * Readers keep seeing the previous dataset until that swap commits.
+ */
+@Service
+@Slf4j
+public class LocationImportService {
+
+    // Finished jobs kept for status requests, the oldest are dropped first
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private final RecyclingLocationCsvLoader loader;
+    private final QuarantinedLocationRepository quarantineRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataSize maxUploadSize;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "location-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by itself
+    private final Map<UUID, LocationImportJob> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public LocationImportService(RecyclingLocationCsvLoader loader, QuarantinedLocationRepository quarantineRepository,
+            ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+            @Value("${locations.import.max-upload-size:1GB}") DataSize maxUploadSize) {
+        this.loader = loader;
+        this.quarantineRepository = quarantineRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.maxUploadSize = maxUploadSize;
+    }
+
+    /**
+     * Queues an uploaded dataset for import. Imports run one at a time in submission order.
+     * @param file The uploaded CSV or GeoJSON file, GeoJSON is recognised by a .geojson or .json name or a JSON content type
+     * @return The queued job
+     * @throws IllegalOperationException if the file is empty
+     * @throws IOException if the upload cannot be stored
+     */
+    public LocationImportJob submit(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalOperationException("The uploaded file is empty");
+        }
+        Format format = detectFormat(file.getOriginalFilename(), file.getContentType());
+        Path upload = createUploadFile(format);
+        file.transferTo(upload);
+        return queue(upload, file.getOriginalFilename(), format);
+    }
+
+    /**
+     * Queues a dataset sent as the raw request body. The body is streamed to disk, so it is only bound by
+     * locations.import.max-upload-size and not by the multipart limit.
+     * @param body The request body
+     * @param fileName The name of the uploaded file, may be null
+     * @param contentType The body's content type, GeoJSON is recognised as for {@link #submit(MultipartFile)}
+     * @return The queued job
+     * @throws IllegalOperationException if the body is empty
+     * @throws PayloadTooLargeException if the body exceeds the upload limit
+     * @throws IOException if the body cannot be read or stored
+     */
+    public LocationImportJob submit(InputStream body, String fileName, String contentType) throws IOException {
+        Format format = detectFormat(fileName, contentType);
+        Path upload = createUploadFile(format);
+        try {
+            if (copy(body, upload) == 0) {
+                throw new IllegalOperationException("The uploaded file is empty");
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+        return queue(upload, fileName, format);
+    }
+
+    /**
+     * @param id The job id returned on submission
+     * @return The job with its current progress
+     * @throws ResourceNotFoundException if no job with this id is retained
+     */
+    public LocationImportJob getJob(UUID id) {
+        LocationImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Location import not found with id: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * @param id The job id returned on submission
+     * @return The records the import quarantined with their reasons, in file order, empty until it has completed
+     *         and once a later import of a file with the same name, from any client, has replaced them
+     * @throws ResourceNotFoundException if no job with this id is retained
+     */
+    public List<QuarantinedLocation> getQuarantine(UUID id) {
+        LocationLoadReport report = getJob(id).getReport();
+        if (report == null || report.getSkipped() == 0) {
+            return List.of();
+        }
+        return quarantineRepository.findByImportIdOrderByRecordNumberAsc(report.getImportId());
+    }
+
+    void run(LocationImportJob job, Path upload) {
+        try {
+            job.setStatus(Status.VALIDATING);
+            job.setValidRows(validate(job, upload));
+
+            job.setStatus(Status.IMPORTING);
+            LocationLoadReport report = refresh(job, upload);
+            // Listeners refresh their views before the job reports completion
+            if (report.getChanged() > 0) {
+                eventPublisher.publishEvent(new LocationsChangedEvent(report.getChanged()));
+            }
+            log.info("Location import {} completed: {}", job.getId(), report);
+            job.complete(report);
+        } catch (IllegalOperationException | IOException | DataAccessException e) {
+            log.warn("Location import {} failed: {}", job.getId(), e.getMessage());
+            job.fail(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Unexpected error during location import {}", job.getId(), e);
+            job.fail("Unexpected error: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete uploaded file {}: {}", upload, e.getMessage());
+            }
+        }
+    }
+
+    private LocationImportJob queue(Path upload, String fileName, Format format) {
+        LocationImportJob job = new LocationImportJob(UUID.randomUUID(), fileName, format);
+        retain(job);
+        log.info("Queued location import {} of {} ({})", job.getId(), job.getFileName(), format);
+        worker.execute(() -> run(job, upload));
+        return job;
+    }
+
+    private static Path createUploadFile(Format format) throws IOException {
+        return Files.createTempFile("location-import-", format == Format.GEOJSON ? ".geojson" : ".csv");
+    }
+
+    // Stops reading as soon as the body is over the limit, the caller deletes the partial file
+    private long copy(InputStream body, Path upload) throws IOException {
+        long limit = maxUploadSize.toBytes();
+        long copied = 0;
+        byte[] buffer = new byte[COPY_BUFFER_BYTES];
+        try (OutputStream out = Files.newOutputStream(upload)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                copied += read;
+                if (copied > limit) {
+                    throw new PayloadTooLargeException("The uploaded file is larger than " + maxUploadSize);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return copied;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // A CSV upload is parsed in parallel straight from the file, GeoJSON is streamed feature by feature
+    private int validate(LocationImportJob job, Path upload) throws IOException {
+        if (job.getFormat() == Format.CSV) {
+            return loader.validate(upload, job::setRecordsRead);
+        }
+        try (RecordReader records = new GeoJsonLocationReader(Files.newInputStream(upload), objectMapper)) {
+            return loader.validate(records, job::setRecordsRead);
+        }
+    }
+
+    private LocationLoadReport refresh(LocationImportJob job, Path upload) throws IOException {
+        if (job.getFormat() == Format.CSV) {
+            return loader.refresh(upload, source(job), job::setRecordsRead);
+        }
+        try (RecordReader records = new GeoJsonLocationReader(Files.newInputStream(upload), objectMapper)) {
+            return loader.refresh(records, source(job), job::setRecordsRead);
+        }
+    }
+
+    // The client chooses the file name, so it is cut to the width of location_quarantine.source
+    private static String source(LocationImportJob job) {
+        String fileName = job.getFileName();
+        if (fileName == null || fileName.length() <= QuarantinedLocation.SOURCE_LENGTH) {
+            return fileName;
+        }
+        return fileName.substring(0, QuarantinedLocation.SOURCE_LENGTH);
+    }
+
+    private void retain(LocationImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<LocationImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() > MAX_RETAINED_JOBS && oldest.hasNext()) {
+                if (oldest.next().isFinished()) {
+                    oldest.remove();
+                }
+            }
+        }
+    }
+
+    static Format detectFormat(String fileName, String contentType) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".geojson") || name.endsWith(".json") || (contentType != null && contentType.contains("json"))) {
+            return Format.GEOJSON;
+        }
+        return Format.CSV;
+    }
+}
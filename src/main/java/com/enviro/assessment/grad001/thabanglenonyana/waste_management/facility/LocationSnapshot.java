@@ -0,0 +1,335 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * A read-only, memory-mapped copy of all recycling locations. Ids, coordinates and material flags are stored as
+ * primitive columns, the text columns as indexes into a table of distinct strings, so the data lives off heap and
+ * a location is only turned into objects when it is returned. Rows are sorted by id.
+ * The file records the {@link Version} of the table it was written from, so a stale file is never served.
+ */
+public final class LocationSnapshot {
+
+    public static final int FORMAT_VERSION = 1;
+
+    // Flag bits, in the column order of recycling_locations
+    public static final int CANS = 1;
+    public static final int CARDBOARD = 1 << 1;
+    public static final int CARTONS = 1 << 2;
+    public static final int DROPOFF_SITE = 1 << 3;
+    public static final int EWASTE = 1 << 4;
+    public static final int METAL = 1 << 5;
+    public static final int MOTOR_OIL = 1 << 6;
+    public static final int PAID = 1 << 7;
+    public static final int PAPER = 1 << 8;
+    public static final int PLASTIC = 1 << 9;
+    // A flag bit shifted by this much marks the column as NULL
+    public static final int NULL_SHIFT = 16;
+
+    // Text columns: name, municipality, city, type, operation, group name, website, other
+    public static final int TEXT_COLUMNS = 8;
+
+    private static final int MAGIC = 0x524c534e;
+    private static final int HEADER_BYTES = 40;
+    private static final int NULL_STRING = -1;
+    private static final double EARTH_RADIUS = 6371.0;
+
+    /**
+     * Identifies the table contents a snapshot was written from: the row count and the latest updated_at in
+     * epoch milliseconds. Every import write sets updated_at, and a delete changes the count.
+     */
+    @Value
+    public static class Version {
+        long locations;
+        long lastUpdated;
+    }
+
+    private final ByteBuffer buffer;
+    private final Version version;
+    private final int size;
+    private final int idsAt;
+    private final int latitudesAt;
+    private final int longitudesAt;
+    private final int textsAt;
+    private final int flagsAt;
+    private final int stringOffsetsAt;
+    private final int stringBytesAt;
+
+    private LocationSnapshot(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a location snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported location snapshot format " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.version = new Version(buffer.getLong(8), buffer.getLong(16));
+        this.size = buffer.getInt(24);
+        int strings = buffer.getInt(28);
+        int stringBytes = buffer.getInt(32);
+        this.idsAt = HEADER_BYTES;
+        this.latitudesAt = idsAt + size * Long.BYTES;
+        this.longitudesAt = latitudesAt + size * Double.BYTES;
+        this.textsAt = longitudesAt + size * Double.BYTES;
+        this.flagsAt = textsAt + size * TEXT_COLUMNS * Integer.BYTES;
+        this.stringOffsetsAt = flagsAt + size * Integer.BYTES;
+        this.stringBytesAt = stringOffsetsAt + (strings + 1) * Integer.BYTES;
+        if (size < 0 || strings < 0 || (long) stringBytesAt + stringBytes != buffer.capacity()) {
+            throw new IOException("Truncated location snapshot");
+        }
+    }
+
+    /**
+     * Maps a snapshot file into memory
+     * @param file A file written by {@link Builder#write(Path, Version)}
+     * @return The snapshot, valid for as long as it is referenced even if the file is replaced
+     * @throws IOException if the file cannot be read or is not a complete snapshot of this format
+     */
+    public static LocationSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new LocationSnapshot(mapped);
+        }
+    }
+
+    public Version getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int row) {
+        return buffer.getLong(idsAt + row * Long.BYTES);
+    }
+
+    public double latitude(int row) {
+        return buffer.getDouble(latitudesAt + row * Double.BYTES);
+    }
+
+    public double longitude(int row) {
+        return buffer.getDouble(longitudesAt + row * Double.BYTES);
+    }
+
+    public int flags(int row) {
+        return buffer.getInt(flagsAt + row * Integer.BYTES);
+    }
+
+    public String text(int row, int column) {
+        int string = buffer.getInt(textsAt + (row * TEXT_COLUMNS + column) * Integer.BYTES);
+        if (string == NULL_STRING) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsetsAt + string * Integer.BYTES);
+        int end = buffer.getInt(stringOffsetsAt + (string + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringBytesAt + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Every location, in id order
+     */
+    public List<RecyclingLocationDTO> toDtos() {
+        List<RecyclingLocationDTO> dtos = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            dtos.add(toDto(row));
+        }
+        return dtos;
+    }
+
+    /**
+     * Finds the locations within a radius, only the matches are turned into objects
+     * @param latitude The reference latitude
+     * @param longitude The reference longitude
+     * @param radius The radius in kilometers
+     * @return The matching locations with their distance set, closest first
+     */
+    public List<RecyclingLocationDTO> findWithin(double latitude, double longitude, double radius) {
+        List<RecyclingLocationDTO> dtos = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            double distance = distance(latitude, longitude, latitude(row), longitude(row));
+            if (distance <= radius) {
+                RecyclingLocationDTO dto = toDto(row);
+                dto.setDistance(distance);
+                dtos.add(dto);
+            }
+        }
+        dtos.sort((a, b) -> Double.compare(a.getDistance(), b.getDistance()));
+        return dtos;
+    }
+
+    // Same fields and material keys as RecyclingLocationMapper
+    public RecyclingLocationDTO toDto(int row) {
+        RecyclingLocationDTO dto = new RecyclingLocationDTO();
+        dto.setId(id(row));
+        dto.setLatitude(latitude(row));
+        dto.setLongitude(longitude(row));
+        dto.setName(text(row, 0));
+        dto.setMunicipality(text(row, 1));
+        dto.setCity(text(row, 2));
+        dto.setType(text(row, 3));
+        dto.setOperation(text(row, 4));
+        dto.setGroupName(text(row, 5));
+        dto.setWebsite(text(row, 6));
+        dto.setOther(text(row, 7));
+
+        int flags = flags(row);
+        Map<String, Boolean> acceptedMaterials = new HashMap<>();
+        acceptedMaterials.put("plastic", flag(flags, PLASTIC));
+        acceptedMaterials.put("paper", flag(flags, PAPER));
+        acceptedMaterials.put("cardboard", flag(flags, CARDBOARD));
+        acceptedMaterials.put("cans", flag(flags, CANS));
+        acceptedMaterials.put("cartons", flag(flags, CARTONS));
+        acceptedMaterials.put("ewaste", flag(flags, EWASTE));
+        acceptedMaterials.put("metal", flag(flags, METAL));
+        acceptedMaterials.put("motorOil", flag(flags, MOTOR_OIL));
+        dto.setAcceptedMaterials(acceptedMaterials);
+        return dto;
+    }
+
+    private static Boolean flag(int flags, int bit) {
+        if ((flags & (bit << NULL_SHIFT)) != 0) {
+            return null;
+        }
+        return (flags & bit) != 0;
+    }
+
+    // Haversine, as in RecyclingLocationDTO.calculateDistance
+    private static double distance(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double latDistance = Math.toRadians(toLatitude - fromLatitude);
+        double lonDistance = Math.toRadians(toLongitude - fromLongitude);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        return EARTH_RADIUS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * Collects locations, added in id order, and writes them as a snapshot file. Not thread safe.
+     */
+    public static class Builder {
+
+        private long[] ids = new long[256];
+        private double[] latitudes = new double[256];
+        private double[] longitudes = new double[256];
+        private int[] texts = new int[256 * TEXT_COLUMNS];
+        private int[] flags = new int[256];
+        private int size;
+        // Repeated values such as cities, municipalities and types are stored once
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final List<byte[]> strings = new ArrayList<>();
+        private int stringBytes;
+
+        /**
+         * Adds a location
+         * @param texts The {@link #TEXT_COLUMNS} text columns, null entries are kept as null
+         * @param flags The material and site flags, see {@link #CANS} and the other bits, and {@link #NULL_SHIFT}
+         */
+        public Builder add(long id, double latitude, double longitude, String[] texts, int flags) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            for (int c = 0; c < TEXT_COLUMNS; c++) {
+                this.texts[size * TEXT_COLUMNS + c] = texts[c] == null ? NULL_STRING : intern(texts[c]);
+            }
+            this.flags[size] = flags;
+            size++;
+            return this;
+        }
+
+        /**
+         * Writes the snapshot next to the target and then moves it into place,
+         * so readers never see a partly written file
+         * @param target The snapshot file, its directory is created if needed
+         * @param version The version of the table the locations were read from
+         * @throws IOException if the file cannot be written
+         */
+        public void write(Path target, Version version) throws IOException {
+            int textsAt = HEADER_BYTES + size * (Long.BYTES + 2 * Double.BYTES);
+            int stringOffsetsAt = textsAt + size * (TEXT_COLUMNS + 1) * Integer.BYTES;
+            int length = stringOffsetsAt + (strings.size() + 1) * Integer.BYTES + stringBytes;
+            ByteBuffer out = ByteBuffer.allocate(length);
+            out.putInt(MAGIC).putInt(FORMAT_VERSION)
+                    .putLong(version.getLocations()).putLong(version.getLastUpdated())
+                    .putInt(size).putInt(strings.size()).putInt(stringBytes).putInt(0);
+            for (int row = 0; row < size; row++) {
+                out.putLong(ids[row]);
+            }
+            for (int row = 0; row < size; row++) {
+                out.putDouble(latitudes[row]);
+            }
+            for (int row = 0; row < size; row++) {
+                out.putDouble(longitudes[row]);
+            }
+            for (int i = 0; i < size * TEXT_COLUMNS; i++) {
+                out.putInt(texts[i]);
+            }
+            for (int row = 0; row < size; row++) {
+                out.putInt(flags[row]);
+            }
+            int offset = 0;
+            out.putInt(offset);
+            for (byte[] string : strings) {
+                offset += string.length;
+                out.putInt(offset);
+            }
+            for (byte[] string : strings) {
+                out.put(string);
+            }
+            out.flip();
+
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                    while (out.hasRemaining()) {
+                        channel.write(out);
+                    }
+                    channel.force(false);
+                }
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        private int intern(String text) {
+            return stringIndexes.computeIfAbsent(text, value -> {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                strings.add(bytes);
+                stringBytes += bytes.length;
+                return strings.size() - 1;
+            });
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            texts = Arrays.copyOf(texts, capacity * TEXT_COLUMNS);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the current {@link LocationSnapshot}. At startup an existing snapshot file is mapped when its version still
+ * matches the table, which takes milliseconds, otherwise it is rebuilt from SQL. It is rewritten after every bulk
+ * location change and a periodic version check picks up changes made by other instances.
+ * Until a snapshot is available callers read from the database.
+ */
+@Component
+@Slf4j
+public class LocationSnapshotStore {
+
+    private static final String SELECT_VERSION =
+            "SELECT COUNT(*), MAX(updated_at) FROM recycling_locations";
+
+    private static final String SELECT_LOCATIONS =
+            "SELECT id, latitude, longitude, name, municipality, city, type, operation, group_name, website, other, "
+            + "accepts_cans, accepts_cardboard, accepts_cartons, is_dropoff_site, accepts_ewaste, accepts_metal, "
+            + "accepts_motor_oil, is_paid, accepts_paper, accepts_plastic FROM recycling_locations ORDER BY id";
+
+    private static final int TEXTS_AT = 4;
+    private static final int FLAGS_AT = TEXTS_AT + LocationSnapshot.TEXT_COLUMNS;
+    private static final int FLAG_COLUMNS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final Path file;
+
+    private volatile LocationSnapshot snapshot;
+
+    @Autowired
+    public LocationSnapshotStore(JdbcTemplate jdbcTemplate,
+            @Qualifier(ReadTransactionConfig.REFRESH_READ_TRANSACTION) TransactionTemplate readTransaction,
+            @Value("${locations.snapshot.path}") Path file) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = readTransaction;
+        this.file = file;
+    }
+
+    /**
+     * @return The snapshot matching the table as of the last check, empty until one has been mapped or built
+     */
+    public Optional<LocationSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationsChanged(LocationsChangedEvent event) {
+        log.debug("Rewriting location snapshot after {} locations changed", event.getChangedCount());
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${locations.snapshot.check-interval-ms:60000}",
+            fixedDelayString = "${locations.snapshot.check-interval-ms:60000}")
+    public void checkVersion() {
+        refresh();
+    }
+
+    /**
+     * Brings the snapshot up to date with the table, mapping the file when it already matches
+     * @return true if a different snapshot is now current
+     */
+    public synchronized boolean refresh() {
+        try {
+            LocationSnapshot.Version version = readTransaction.execute(status -> readVersion());
+            if (snapshot != null && snapshot.getVersion().equals(version)) {
+                return false;
+            }
+            if (Files.isReadable(file)) {
+                long start = System.nanoTime();
+                LocationSnapshot mapped = LocationSnapshot.open(file);
+                if (mapped.getVersion().equals(version)) {
+                    snapshot = mapped;
+                    log.info("Mapped location snapshot of {} locations in {} ms",
+                            mapped.size(), (System.nanoTime() - start) / 1_000_000);
+                    return true;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read location snapshot {}: {}", file, e.getMessage());
+        }
+        return rebuild();
+    }
+
+    /**
+     * Reads all locations, writes them to the snapshot file and maps it.
+     * Synchronized so that a slow rebuild can never overwrite a newer one.
+     * @return true if the new snapshot is current, false if it could not be built and callers read from the database
+     */
+    public synchronized boolean rebuild() {
+        long start = System.nanoTime();
+        try {
+            LocationSnapshot.Builder builder = new LocationSnapshot.Builder();
+            // The version is read first, a write that lands in between only makes the next check rebuild again
+            LocationSnapshot.Version version = readTransaction.execute(status -> {
+                LocationSnapshot.Version read = readVersion();
+                jdbcTemplate.query(SELECT_LOCATIONS, rs -> {
+                    String[] texts = new String[LocationSnapshot.TEXT_COLUMNS];
+                    for (int c = 0; c < texts.length; c++) {
+                        texts[c] = rs.getString(TEXTS_AT + c);
+                    }
+                    int flags = 0;
+                    for (int f = 0; f < FLAG_COLUMNS; f++) {
+                        if (rs.getBoolean(FLAGS_AT + f)) {
+                            flags |= 1 << f;
+                        } else if (rs.wasNull()) {
+                            flags |= 1 << (f + LocationSnapshot.NULL_SHIFT);
+                        }
+                    }
+                    builder.add(rs.getLong(1), rs.getDouble(2), rs.getDouble(3), texts, flags);
+                });
+                return read;
+            });
+            builder.write(file, version);
+            snapshot = LocationSnapshot.open(file);
+            log.info("Location snapshot of {} locations written to {} in {} ms",
+                    snapshot.size(), file, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write location snapshot {}: {}", file, e.getMessage());
+            // The previous snapshot may no longer match the table
+            snapshot = null;
+            return false;
+        }
+    }
+
+    private LocationSnapshot.Version readVersion() {
+        return jdbcTemplate.queryForObject(SELECT_VERSION, (rs, rowNum) -> {
+            Timestamp lastUpdated = rs.getTimestamp(2);
+            return new LocationSnapshot.Version(rs.getLong(1), lastUpdated == null ? 0 : lastUpdated.getTime());
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import lombok.Data;
+
+/**
+ * Application event published after recycling locations have been loaded or changed in bulk.
+ * Listeners use it to refresh in-memory views of the location data.
+ */
+@Data
+public class LocationsChangedEvent {
+
+    private final int changedCount;
+}
@@ -0,0 +1,70 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.QuarantineReason;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A location record rejected by an import, kept with the reason so it can be corrected and imported again.
+ * Rows are written by RecyclingLocationCsvLoader and grouped by the import id of its LocationLoadReport.
+ * Only the latest import of each source keeps its rows.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "location_quarantine", indexes = {
+    @Index(name = "idx_quarantine_import", columnList = "import_id"),
+    @Index(name = "idx_quarantine_source", columnList = "source")
+})
+public class QuarantinedLocation {
+
+    // Longer file names are cut to fit
+    public static final int SOURCE_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String importId;
+
+    // The file or resource name the import read, an import of the same source replaces these rows
+    @Column(length = SOURCE_LENGTH)
+    private String source;
+
+    // Position of the record in the imported file, from 1
+    @Column(nullable = false)
+    private int recordNumber;
+
+    // Null when the record's id could not be read
+    private Long locationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private QuarantineReason reason;
+
+    private String detail;
+
+    @Column(columnDefinition = "TEXT")
+    private String rawRecord;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
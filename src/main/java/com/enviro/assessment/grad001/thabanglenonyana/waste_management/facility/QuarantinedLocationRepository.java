@@ -0,0 +1,11 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuarantinedLocationRepository extends JpaRepository<QuarantinedLocation, Long> {
+    List<QuarantinedLocation> findByImportIdOrderByRecordNumberAsc(String importId);
+}
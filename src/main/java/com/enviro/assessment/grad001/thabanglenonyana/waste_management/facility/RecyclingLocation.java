@@ -84,6 +84,10 @@ public class RecyclingLocation {
     @Column(name = "accepts_plastic")
     private Boolean acceptsPlastic = false;
 
+    // Hash of the imported column values, lets a CSV refresh skip rows that did not change
+    @Column(name = "content_hash")
+    private Long contentHash;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
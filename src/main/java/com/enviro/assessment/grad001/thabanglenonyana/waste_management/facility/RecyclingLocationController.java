@@ -4,14 +4,18 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,6 +26,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding.GeocodedPlace;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding.GeocodingService;
 
 /**
  * Controller for managing recycling locations
@@ -33,7 +39,11 @@ import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception
 @Tag(name = "Recycling Locations", description = "Recycling location management APIs")
 public class RecyclingLocationController {
     
+    // GeoJSON is always UTF-8 (RFC 7946)
+    private static final String GEO_JSON = "application/geo+json";
+
     private final RecyclingLocationService locationService;
+    private final GeocodingService geocodingService;
     
     /**
      * Get all recycling locations with pagination
@@ -128,6 +138,49 @@ public class RecyclingLocationController {
         List<RecyclingLocationDTO> locations = locationService.findNearbyLocations(latitude, longitude, radius);
         return ResponseEntity.ok(locations);
     }
+
+    /**
+     * Find nearby recycling locations around an address
+     * 
+     * @param address suburb, city or street address
+     * @param radius search radius in kilometers
+     * @return list of nearby recycling locations, 404 if the address is not known
+     */
+    @Operation(
+        summary = "Find recycling locations near an address",
+        description = "Resolves a suburb, city or address to coordinates and finds recycling locations within the radius"
+    )
+    @ApiResponse(responseCode = "200", description = "Locations found")
+    @ApiResponse(responseCode = "404", description = "Address could not be resolved")
+    @GetMapping("/nearby/address")
+    public ResponseEntity<List<RecyclingLocationDTO>> findLocationsNearAddress(
+            @Parameter(description = "Suburb, city or address") @RequestParam String address,
+            @Parameter(description = "Radius in kilometers") @RequestParam(defaultValue = "10") double radius) {
+        
+        return geocodingService.geocode(address)
+                .map(place -> ResponseEntity.ok(
+                        locationService.findNearbyLocations(place.getLatitude(), place.getLongitude(), radius)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Resolve an address to coordinates
+     * 
+     * @param address suburb, city or street address
+     * @return the place the address resolves to, 404 if it is not known
+     */
+    @Operation(
+        summary = "Geocode an address",
+        description = "Resolves a suburb, city or address to coordinates using the offline gazetteer"
+    )
+    @ApiResponse(responseCode = "200", description = "Address resolved")
+    @ApiResponse(responseCode = "404", description = "Address could not be resolved")
+    @GetMapping("/geocode")
+    public ResponseEntity<GeocodedPlace> geocode(
+            @Parameter(description = "Suburb, city or address") @RequestParam String address) {
+        
+        return ResponseEntity.of(geocodingService.geocode(address));
+    }
     
     /**
      * Find recycling locations by accepted materials
@@ -176,4 +229,24 @@ public class RecyclingLocationController {
         List<RecyclingLocationDTO> locations = locationService.getAllLocationsForMap();
         return ResponseEntity.ok(locations);
     }
+
+    /**
+     * Export all recycling locations as GeoJSON
+     * 
+     * @param response the response the FeatureCollection is streamed to
+     * @throws IOException if writing to the client fails
+     */
+    @Operation(
+        summary = "Export all recycling locations as GeoJSON",
+        description = "Streams every recycling location as a GeoJSON FeatureCollection, in the format accepted by location imports"
+    )
+    @ApiResponse(responseCode = "200", description = "Locations exported successfully")
+    @GetMapping("/export")
+    public void exportGeoJson(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(GEO_JSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("recycling-locations.geojson").build().toString());
+        locationService.exportGeoJson(response.getOutputStream());
+    }
 }
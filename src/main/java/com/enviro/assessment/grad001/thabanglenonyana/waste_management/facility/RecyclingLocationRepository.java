@@ -1,12 +1,20 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface RecyclingLocationRepository extends JpaRepository<RecyclingLocation, Long> {
     
@@ -43,6 +51,43 @@ public interface RecyclingLocationRepository extends JpaRepository<RecyclingLoca
         @Param("acceptsCartons") boolean acceptsCartons
     );
 
+    // All locations in id order through a forward-only cursor, for streaming exports. Not cached, and read-only so
+    // Hibernate keeps no snapshots for dirty checking; the caller detaches each row once written.
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT r FROM RecyclingLocation r ORDER BY r.id")
+    Stream<RecyclingLocation> streamAll();
+
+    // Names and cities only, for the autocomplete index
+    @Query("SELECT r.id AS id, r.name AS name, r.city AS city FROM RecyclingLocation r")
+    List<LocationName> findAllNames();
+
+    interface LocationName {
+        Long getId();
+        String getName();
+        String getCity();
+    }
+
+    // Centre and size of every city and municipality, for the geocoding gazetteer
+    @Query("SELECT r.city AS name, AVG(r.latitude) AS latitude, AVG(r.longitude) AS longitude, COUNT(r) AS locations "
+            + "FROM RecyclingLocation r WHERE r.city IS NOT NULL AND r.city <> '' GROUP BY r.city")
+    List<PlaceCentroid> findCityCentroids();
+
+    @Query("SELECT r.municipality AS name, AVG(r.latitude) AS latitude, AVG(r.longitude) AS longitude, "
+            + "COUNT(r) AS locations FROM RecyclingLocation r "
+            + "WHERE r.municipality IS NOT NULL AND r.municipality <> '' GROUP BY r.municipality")
+    List<PlaceCentroid> findMunicipalityCentroids();
+
+    interface PlaceCentroid {
+        String getName();
+        Double getLatitude();
+        Double getLongitude();
+        Long getLocations();
+    }
+
     // Find distinct cities
     @Query("SELECT DISTINCT r.city FROM RecyclingLocation r WHERE r.city IS NOT NULL ORDER BY r.city")
     List<String> findDistinctCities();
@@ -1,9 +1,13 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -21,6 +26,9 @@ public class RecyclingLocationService {
     
     private final RecyclingLocationRepository locationRepository;
     private final RecyclingLocationMapper locationMapper;
+    private final LocationSnapshotStore snapshotStore;
+    private final LocationGeoJsonWriter geoJsonWriter;
+    private final EntityManager entityManager;
     
     /**
      * Get all recycling locations with pagination
@@ -68,6 +76,10 @@ public class RecyclingLocationService {
      * @return list of recycling location DTOs with distance information
      */
     public List<RecyclingLocationDTO> findNearbyLocations(double latitude, double longitude, double radius) {
+        Optional<LocationSnapshot> snapshot = snapshotStore.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findWithin(latitude, longitude, radius);
+        }
         List<RecyclingLocation> locations = locationRepository.findNearbyLocations(latitude, longitude, radius);
         List<RecyclingLocationDTO> dtos = locations.stream()
                 .map(locationMapper::toDto)
@@ -112,17 +124,37 @@ public class RecyclingLocationService {
     
     /**
      * Get all recycling locations for map display without pagination
-     * Returns all locations with essential data for map markers
+     * Returns all locations with essential data for map markers, from the location snapshot when one is current
      * 
      * @return list of all recycling location DTOs with essential map data
      */
     public List<RecyclingLocationDTO> getAllLocationsForMap() {
+        Optional<LocationSnapshot> snapshot = snapshotStore.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().toDtos();
+        }
         List<RecyclingLocation> locations = locationRepository.findAll();
         return locations.stream()
                 .map(locationMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Write all recycling locations as a GeoJSON FeatureCollection
+     * Rows are read through a database cursor and detached once written, so memory use does not grow with the
+     * number of locations. The read transaction stays open until the last feature is written.
+     * 
+     * @param out the stream to write to, left open
+     * @return the number of locations written
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public int exportGeoJson(OutputStream out) throws IOException {
+        try (Stream<RecyclingLocation> locations = locationRepository.streamAll()) {
+            return geoJsonWriter.write(locations.peek(entityManager::detach), out);
+        }
+    }
+
     /**
      * Get distinct cities from recycling locations
      * 
@@ -0,0 +1,101 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change to recycling_locations staged by a refresh. RecyclingLocationCsvLoader writes the changed rows here
+ * in short batch transactions, then swaps them into the live table in one transaction and removes them.
+ * The location columns are those of {@link RecyclingLocation}, left null on DELETE rows.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "location_import_staging", indexes = @Index(name = "idx_staging_import", columnList = "import_id"))
+public class StagedLocation {
+
+    public enum ChangeType {
+        UPSERT,
+        DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "import_id", nullable = false, length = 36)
+    private String importId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private ChangeType changeType;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    private Double latitude;
+    private Double longitude;
+
+    @Column(length = 150)
+    private String name;
+
+    @Column(length = 150)
+    private String municipality;
+
+    @Column(name = "city", length = 150)
+    private String city;
+
+    private String type;
+    private String website;
+    private String other;
+
+    @Column(name = "operation", columnDefinition = "TEXT")
+    private String operation;
+
+    @Column(name = "group_name")
+    private String groupName;
+
+    @Column(name = "accepts_cans")
+    private Boolean acceptsCans;
+
+    @Column(name = "accepts_cardboard")
+    private Boolean acceptsCardboard;
+
+    @Column(name = "accepts_cartons")
+    private Boolean acceptsCartons;
+
+    @Column(name = "is_dropoff_site")
+    private Boolean isDropoffSite;
+
+    @Column(name = "accepts_ewaste")
+    private Boolean acceptsEWaste;
+
+    @Column(name = "accepts_metal")
+    private Boolean acceptsMetal;
+
+    @Column(name = "accepts_motor_oil")
+    private Boolean acceptsMotorOil;
+
+    @Column(name = "is_paid")
+    private Boolean isPaid;
+
+    @Column(name = "accepts_paper")
+    private Boolean acceptsPaper;
+
+    @Column(name = "accepts_plastic")
+    private Boolean acceptsPlastic;
+
+    @Column(name = "content_hash")
+    private Long contentHash;
+}
@@ -0,0 +1,205 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationsChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository.PlaceCentroid;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding.GeocodedPlace.Source;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.TextNormalizer;
+
+/**
+ * Offline geocoder over a gazetteer of place names: the bundled place list, then the centre of the locations
+ * in every city, then the centre of every municipality. A query matches the longest run of words within one of
+ * its comma-separated parts that names a place, earlier words first, and a place-list entry wins over a city or
+ * municipality centre. A leading part with a house number or ending in a street suffix such as St or Avenue is
+ * a street and is skipped, so "12 Jan Smuts Ave, Rosebank, Johannesburg", "12 Pretoria St, Rosebank" and
+ * "Pretoria Street, Rosebank" all resolve to Rosebank.
+ * The gazetteer is rebuilt whenever the locations change.
+ */
+@Component
+public class GazetteerGeocoder implements Geocoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(GazetteerGeocoder.class);
+
+    // Longer queries are cut, nobody types a place name after the sixteenth word
+    private static final int MAX_QUERY_WORDS = 16;
+
+    // Last words that mark a leading address part as the street, normalized
+    private static final Set<String> STREET_SUFFIXES = Set.of("st", "str", "street", "rd", "road", "ave", "avenue",
+            "dr", "drive", "ln", "lane", "cres", "crescent", "blvd", "boulevard", "way", "cl", "close", "hwy",
+            "highway");
+
+    private final RecyclingLocationRepository locationRepository;
+    private final TransactionTemplate readTransaction;
+    private final List<PlaceEntry> placeList;
+
+    private volatile Gazetteer gazetteer;
+
+    @Autowired
+    public GazetteerGeocoder(RecyclingLocationRepository locationRepository,
+            @Qualifier(ReadTransactionConfig.REFRESH_READ_TRANSACTION) TransactionTemplate readTransaction,
+            @Value("${locations.geocoding.places:classpath:places.csv}") Resource places) {
+        this.locationRepository = locationRepository;
+        this.readTransaction = readTransaction;
+        this.placeList = readPlaceList(places);
+        this.gazetteer = Gazetteer.of(placeList, List.of(), List.of());
+    }
+
+    @Override
+    public Optional<GeocodedPlace> geocode(String query) {
+        List<String[]> parts = parts(query);
+        Gazetteer current = gazetteer;
+        GeocodedPlace best = null;
+        // Longest names first, a shorter one only replaces a match from a lower-ranked source
+        for (int size = current.maxWords; size > 0; size--) {
+            for (String[] words : parts) {
+                for (int start = 0; start + size <= words.length; start++) {
+                    String name = String.join(" ", Arrays.copyOfRange(words, start, start + size));
+                    GeocodedPlace place = current.places.get(name);
+                    if (place != null && (best == null || place.getSource().compareTo(best.getSource()) < 0)) {
+                        best = place;
+                    }
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    // The normalized words of each comma-separated part, without a leading street part, up to MAX_QUERY_WORDS
+    private static List<String[]> parts(String query) {
+        List<String[]> parts = new ArrayList<>();
+        int words = 0;
+        for (String normalized : TextNormalizer.normalizeParts(query)) {
+            if (words < MAX_QUERY_WORDS) {
+                String[] partWords = normalized.split(" ");
+                partWords = Arrays.copyOf(partWords, Math.min(partWords.length, MAX_QUERY_WORDS - words));
+                words += partWords.length;
+                parts.add(partWords);
+            }
+        }
+        if (parts.size() > 1 && isStreet(parts.get(0))) {
+            parts.remove(0);
+        }
+        return parts;
+    }
+
+    // A house number or a street suffix such as St or Avenue at the end
+    private static boolean isStreet(String[] words) {
+        return STREET_SUFFIXES.contains(words[words.length - 1])
+                || Arrays.stream(words).anyMatch(word -> word.chars().anyMatch(Character::isDigit));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Before GeocodingService evicts, so no lookup can cache a result from the old gazetteer
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationsChanged(LocationsChangedEvent event) {
+        logger.debug("Rebuilding gazetteer after {} locations changed", event.getChangedCount());
+        rebuild();
+    }
+
+    /**
+     * Reads the city and municipality centres and publishes a new gazetteer.
+     * Synchronized so that a slow rebuild can never overwrite a newer one.
+     * @return The number of names in the new gazetteer
+     */
+    public synchronized int rebuild() {
+        Gazetteer rebuilt = readTransaction.execute(status -> Gazetteer.of(placeList,
+                locationRepository.findCityCentroids(), locationRepository.findMunicipalityCentroids()));
+        gazetteer = rebuilt;
+        logger.info("Gazetteer rebuilt with {} place names", rebuilt.places.size());
+        return rebuilt.places.size();
+    }
+
+    private static List<PlaceEntry> readPlaceList(Resource places) {
+        List<PlaceEntry> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(places.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            boolean header = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                List<String> aliases = fields.length > 3 && !fields[3].isBlank()
+                        ? Arrays.asList(fields[3].split(";"))
+                        : List.of();
+                entries.add(new PlaceEntry(new GeocodedPlace(fields[0].trim(), Double.parseDouble(fields[1]),
+                        Double.parseDouble(fields[2]), Source.PLACE_LIST), aliases));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Could not read place list " + places, e);
+        }
+        return entries;
+    }
+
+    private record PlaceEntry(GeocodedPlace place, List<String> aliases) {
+    }
+
+    private static final class Gazetteer {
+
+        private final Map<String, GeocodedPlace> places = new HashMap<>();
+        private int maxWords;
+
+        // The first source to name a place wins: the place list, then cities, then municipalities
+        static Gazetteer of(List<PlaceEntry> placeList, List<PlaceCentroid> cities,
+                List<PlaceCentroid> municipalities) {
+            Gazetteer gazetteer = new Gazetteer();
+            for (PlaceEntry entry : placeList) {
+                gazetteer.add(entry.place().getName(), entry.place());
+                entry.aliases().forEach(alias -> gazetteer.add(alias, entry.place()));
+            }
+            cities.forEach(city -> gazetteer.add(city, Source.CITY));
+            municipalities.forEach(municipality -> gazetteer.add(municipality, Source.MUNICIPALITY));
+            return gazetteer;
+        }
+
+        private void add(PlaceCentroid centroid, Source source) {
+            if (centroid.getLatitude() != null && centroid.getLongitude() != null) {
+                add(centroid.getName(), new GeocodedPlace(centroid.getName(), centroid.getLatitude(),
+                        centroid.getLongitude(), source));
+            }
+        }
+
+        private void add(String name, GeocodedPlace place) {
+            String key = TextNormalizer.normalize(name);
+            if (!key.isEmpty() && places.putIfAbsent(key, place) == null) {
+                maxWords = Math.max(maxWords, key.split(" ").length);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding;
+
+import lombok.Value;
+
+/**
+ * A place a geocoding query resolved to
+ */
+@Value
+public class GeocodedPlace {
+
+    public enum Source {
+        PLACE_LIST,
+        CITY,
+        MUNICIPALITY
+    }
+
+    String name;
+    double latitude;
+    double longitude;
+    Source source;
+}
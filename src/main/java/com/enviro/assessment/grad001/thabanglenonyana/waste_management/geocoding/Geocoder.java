@@ -0,0 +1,17 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding;
+
+import java.util.Optional;
+
+/**
+ * Resolves a place name or address typed by a user to coordinates.
+ * {@link GazetteerGeocoder} is the default, another implementation marked {@code @Primary} replaces it.
+ * Results are cached by {@link GeocodingService}, implementations need not cache.
+ */
+public interface Geocoder {
+
+    /**
+     * @param query A suburb, city or free-form address
+     * @return The best matching place, empty if nothing matches
+     */
+    Optional<GeocodedPlace> geocode(String query);
+}
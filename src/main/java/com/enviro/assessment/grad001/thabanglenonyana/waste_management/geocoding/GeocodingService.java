@@ -0,0 +1,124 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationsChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.TextNormalizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Resolves addresses through the {@link Geocoder} behind an LRU cache whose entries expire after a TTL.
+ * Queries that differ only in case, accents or punctuation other than commas share an entry, and misses are
+ * cached too, so repeated lookups of a suburb never reach the geocoder. Commas are kept because the geocoder
+ * reads the parts they separate on their own. The cache is dropped when the locations change.
+ */
+@Service
+public class GeocodingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodingService.class);
+
+    private final Geocoder geocoder;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Access-ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<String, CachedPlace> cache;
+
+    // Bumped on every eviction, a lookup that started before an eviction must not be stored
+    private long generation;
+
+    @Autowired
+    public GeocodingService(Geocoder geocoder,
+            @Value("${locations.geocoding.cache-size:1000}") int maxEntries,
+            @Value("${locations.geocoding.cache-ttl:1h}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.geocoder = geocoder;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPlace> eldest) {
+                return size() > GeocodingService.this.maxEntries;
+            }
+        };
+        this.hits = Counter.builder("locations.geocoding.cache")
+                .description("Geocoding lookups by whether the cache answered them")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("locations.geocoding.cache")
+                .description("Geocoding lookups by whether the cache answered them")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param query A suburb, city or free-form address
+     * @return The place it resolves to, empty if the geocoder does not know it
+     */
+    public Optional<GeocodedPlace> geocode(String query) {
+        String key = String.join(",", TextNormalizer.normalizeParts(query));
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long generationAtLookup;
+        synchronized (this) {
+            CachedPlace cached = cache.get(key);
+            if (cached != null && System.nanoTime() - cached.storedAt() < ttlNanos) {
+                hits.increment();
+                return cached.place();
+            }
+            generationAtLookup = generation;
+        }
+
+        misses.increment();
+        Optional<GeocodedPlace> place = geocoder.geocode(query);
+        synchronized (this) {
+            if (generation == generationAtLookup) {
+                cache.put(key, new CachedPlace(place, System.nanoTime()));
+            }
+        }
+        return place;
+    }
+
+    /**
+     * Drops every cached lookup
+     */
+    public synchronized void evictAll() {
+        generation++;
+        cache.clear();
+    }
+
+    /**
+     * @return The number of cached lookups, expired ones included until they are replaced or pushed out
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    // After GazetteerGeocoder has rebuilt
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationsChanged(LocationsChangedEvent event) {
+        logger.debug("Evicting geocoding cache after {} locations changed", event.getChangedCount());
+        evictAll();
+    }
+
+    private record CachedPlace(Optional<GeocodedPlace> place, long storedAt) {
+    }
+}
@@ -2,20 +2,30 @@ package com.enviro.assessment.grad001.thabanglenonyana.waste_management.guidelin
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -27,14 +37,20 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
  * Contains instructions for proper waste disposal methods.
  */
 @Entity
+@NamedEntityGraph(name = DisposalGuideline.GRAPH_WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "disposal_guidelines")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "disposalGuideline")
 public class DisposalGuideline {
 
+    public static final String GRAPH_WITH_CATEGORY = "DisposalGuideline.withCategory";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY, so inserts can be sent in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "disposal_guidelines_seq")
+    @SequenceGenerator(name = "disposal_guidelines_seq", sequenceName = "disposal_guidelines_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -47,7 +63,9 @@ public class DisposalGuideline {
     private String instructions;
 
     @JsonBackReference
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private WasteCategory category;
 
@@ -58,4 +76,10 @@ public class DisposalGuideline {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Optimistic lock, checked in the WHERE clause of every update and served as the resource's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
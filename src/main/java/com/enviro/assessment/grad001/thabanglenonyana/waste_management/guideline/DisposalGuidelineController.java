@@ -1,14 +1,22 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,13 +26,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedList;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedListResponseWriter;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.VersionTag;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.StaleResourceException;
 
 /**
  * This class is a controller class that will be used to handle HTTP requests for the DisposalGuideline entity.
@@ -37,24 +50,28 @@ public class DisposalGuidelineController {
     
     // Inject the DisposalGuidelineService
     private final DisposalGuidelineService guidelineService;
+    private final CachedListResponseWriter responseWriter;
 
     // Get all guidelines
     @Operation(
         summary = "Get all disposal guidelines",
         description = "Retrieves a list of all disposal guidelines"
     )
-    @ApiResponse(responseCode = "200", description = "Guidelines found successfully")
+    @ApiResponse(responseCode = "200", description = "Guidelines found successfully",
+        content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = DisposalGuidelineDTO.class))))
+    @ApiResponse(responseCode = "304", description = "Guidelines unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "500", description = "Internal server error")
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<DisposalGuidelineDTO>> getAllGuidelines() {
+    public void getAllGuidelines(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CachedList<DisposalGuidelineDTO> guidelines;
         try {
-        List<DisposalGuidelineDTO> guidelines = guidelineService.getAllGuidelines();
-        return ResponseEntity.ok(guidelines);
+            guidelines = guidelineService.getCachedGuidelines();
         }
         catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
         }
+        responseWriter.write(guidelines, request, response);
     }
 
     // Get guideline by ID
@@ -62,14 +79,14 @@ public class DisposalGuidelineController {
         summary = "Get disposal guideline by ID",
         description = "Retrieves a specific disposal guideline using its ID"
     )
-    @ApiResponse(responseCode = "200", description = "Guideline found")
+    @ApiResponse(responseCode = "200", description = "Guideline found, its version in the ETag header")
     @ApiResponse(responseCode = "404", description = "Guideline not found")
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<DisposalGuidelineDTO> getGuidelineById(@PathVariable Long id) {
         try {
             DisposalGuidelineDTO guideline = guidelineService.getGuidelineById(id);
-            return ResponseEntity.ok(guideline);
+            return ResponseEntity.ok().eTag(VersionTag.of(guideline.getVersion())).body(guideline);
         } 
          catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -99,6 +116,54 @@ public class DisposalGuidelineController {
         }
     }
 
+    // Create several disposal guidelines at once
+    @Operation(
+        summary = "Create disposal guidelines in bulk",
+        description = "Creates up to 1000 disposal guidelines in one transaction; if any of them is rejected none are created"
+    )
+    @ApiResponse(responseCode = "201", description = "Guidelines created successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "404", description = "Category not found")
+    @ApiResponse(responseCode = "409", description = "Guideline title already exists or is repeated in the request")
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<List<DisposalGuidelineDTO>> createBulk(@RequestBody List<DisposalGuidelineDTO> guidelineDTOs) {
+        try {
+            List<DisposalGuidelineDTO> created = guidelineService.createGuidelines(guidelineDTOs);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (DuplicateResourceException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ConstraintViolationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Update several disposal guidelines at once
+    @Operation(
+        summary = "Update disposal guidelines in bulk",
+        description = "Updates up to 1000 disposal guidelines, identified by their ids, in one transaction; if any of them is rejected none are changed"
+    )
+    @ApiResponse(responseCode = "200", description = "Guidelines updated successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid input, a missing id or an id given twice")
+    @ApiResponse(responseCode = "404", description = "Guideline or category not found")
+    @ApiResponse(responseCode = "409", description = "Guideline title already taken or repeated in the request")
+    @PutMapping("/bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<DisposalGuidelineDTO>> updateBulk(@RequestBody List<DisposalGuidelineDTO> guidelineDTOs) {
+        try {
+            List<DisposalGuidelineDTO> updated = guidelineService.updateGuidelines(guidelineDTOs);
+            return ResponseEntity.ok(updated);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (DuplicateResourceException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ConstraintViolationException | IllegalOperationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Assign guideline to category
     @Operation(
         summary = "Assign guideline to category",
@@ -106,14 +171,16 @@ public class DisposalGuidelineController {
     )
     @ApiResponse(responseCode = "200", description = "Guideline assigned successfully")
     @ApiResponse(responseCode = "404", description = "Guideline or category not found")
+    @ApiResponse(responseCode = "412", description = "Guideline no longer matches If-Match")
     @PatchMapping("/{guidelineId}/assign/{categoryId}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<DisposalGuidelineDTO> assignToCategory(
             @PathVariable Long guidelineId,
-            @PathVariable Long categoryId) {
+            @PathVariable Long categoryId,
+            @Parameter(description = "ETag of the guideline as last read") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            DisposalGuidelineDTO updated = guidelineService.assignToCategory(guidelineId, categoryId);
-            return ResponseEntity.ok(updated);
+            DisposalGuidelineDTO updated = guidelineService.assignToCategory(guidelineId, categoryId, VersionTag.parse(ifMatch));
+            return ResponseEntity.ok().eTag(VersionTag.of(updated.getVersion())).body(updated);
         } 
         catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -121,33 +188,56 @@ public class DisposalGuidelineController {
         catch (IllegalOperationException e) {
             return ResponseEntity.badRequest().build();
         }
+        catch (StaleResourceException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        }
     }
 
     // Unassign guideline from current category
     @PatchMapping("/{guidelineId}/unassign")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<DisposalGuidelineDTO> unassignGuideline(
-            @PathVariable Long guidelineId) {
+            @PathVariable Long guidelineId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            DisposalGuidelineDTO updated = guidelineService.unassignGuideline(guidelineId);
-            return ResponseEntity.ok(updated);
+            DisposalGuidelineDTO updated = guidelineService.unassignGuideline(guidelineId, VersionTag.parse(ifMatch));
+            return ResponseEntity.ok().eTag(VersionTag.of(updated.getVersion())).body(updated);
         } 
         catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
+        catch (StaleResourceException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        }
     }
 
     // Update guideline
+    @Operation(
+        summary = "Update disposal guideline",
+        description = "Updates an existing disposal guideline; send the ETag from a previous read in If-Match to reject the update when the guideline changed since"
+    )
+    @ApiResponse(responseCode = "200", description = "Guideline updated successfully, its new version in the ETag header")
+    @ApiResponse(responseCode = "404", description = "Guideline not found")
+    @ApiResponse(responseCode = "409", description = "Guideline title already exists, or the guideline was changed concurrently")
+    @ApiResponse(responseCode = "412", description = "Guideline no longer matches If-Match")
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<DisposalGuidelineDTO> updateGuideline(
             @PathVariable Long id,
-            @Valid @RequestBody DisposalGuidelineDTO guidelineDTO) {
+            @Valid @RequestBody DisposalGuidelineDTO guidelineDTO,
+            @Parameter(description = "ETag of the guideline as last read") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
+            if (ifMatch != null) {
+                guidelineDTO.setVersion(VersionTag.parse(ifMatch));
+            }
             DisposalGuidelineDTO updated = guidelineService.updateGuideline(id, guidelineDTO);
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok().eTag(VersionTag.of(updated.getVersion())).body(updated);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (DuplicateResourceException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (StaleResourceException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         }
     }
 
@@ -20,4 +20,7 @@ public class DisposalGuidelineDTO {
 
     @NotBlank(message = "Instructions are required")
     private String instructions;
+
+    // Version the client last saw, compared on update like If-Match
+    private Long version;
 }
@@ -25,6 +25,7 @@ public class DisposalGuidelineMapper {
         dto.setId(guideline.getId());
         dto.setTitle(guideline.getTitle());
         dto.setInstructions(guideline.getInstructions());
+        dto.setVersion(guideline.getVersion());
         
         // Safe navigation for category and set complete info
         if (guideline.getCategory() != null) {
@@ -1,9 +1,26 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DisposalGuidelineRepository extends JpaRepository<DisposalGuideline, Long> {
-    boolean existsByTitle(String title);
+
+    // Bulk writes check every title of a request in one query
+    List<DisposalGuideline> findByTitleIn(Collection<String> titles);
+
+    // Guideline views show the category name, join it in the same select
+    @EntityGraph(DisposalGuideline.GRAPH_WITH_CATEGORY)
+    @Query("SELECT g FROM DisposalGuideline g ORDER BY g.id")
+    List<DisposalGuideline> findAllWithCategory();
+
+    @EntityGraph(DisposalGuideline.GRAPH_WITH_CATEGORY)
+    @Query("SELECT g FROM DisposalGuideline g WHERE g.id = :id")
+    Optional<DisposalGuideline> findWithCategoryById(Long id);
 }
@@ -1,20 +1,41 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedList;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent.ContentType;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache.ListKey;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ConstraintViolations;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.StaleResourceException;
 
 /**
  * This class is a service class that will be used to perform CRUD operations on the DisposalGuideline entity.
@@ -24,20 +45,32 @@ import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception
 @Validated
 public class DisposalGuidelineService {
 
+    // Upper bound on one bulk request, keeps the IN lists and the transaction a sensible size
+    static final int MAX_BULK_SIZE = 1000;
+
     // Inject the DisposalGuidelineRepository
     private final DisposalGuidelineRepository guidelineRepository;
     private final WasteCategoryRepository categoryRepository;
     private final DisposalGuidelineMapper guidelineMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * Retrieves all disposal guidelines
      * @return List of DisposalGuidelineDTO
      */
-    @Transactional(readOnly = true)
     public List<DisposalGuidelineDTO> getAllGuidelines() {
-        return guidelineRepository.findAll().stream()
+        return referenceDataCache.copyOf(getCachedGuidelines(), DisposalGuidelineDTO.class);
+    }
+
+    /**
+     * Retrieves all disposal guidelines from the reference data cache, loading them on a miss
+     * @return The cached guideline list and its ETag
+     */
+    public CachedList<DisposalGuidelineDTO> getCachedGuidelines() {
+        return referenceDataCache.get(ListKey.GUIDELINES, () -> guidelineRepository.findAllWithCategory().stream()
                 .map(guidelineMapper::toDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -48,7 +81,7 @@ public class DisposalGuidelineService {
      */
     @Transactional(readOnly = true)
     public DisposalGuidelineDTO getGuidelineById(Long id) {
-        return guidelineRepository.findById(id)
+        return guidelineRepository.findWithCategoryById(id)
                 .map(guidelineMapper::toDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Guideline not found with id: " + id));
     }
@@ -64,52 +97,154 @@ public class DisposalGuidelineService {
      */
     @Transactional
     public DisposalGuidelineDTO createGuideline(@Valid DisposalGuidelineDTO guidelineDTO) {
-         // Validate title uniqueness
-         if (guidelineRepository.existsByTitle(guidelineDTO.getTitle())) {
-            throw new DuplicateResourceException("Guideline with title already exists: " + guidelineDTO.getTitle());
-        }
         DisposalGuideline guideline = guidelineMapper.toEntity(guidelineDTO);
+        guideline.setId(null); // Always inserted, a client supplied id must not turn into a merge
 
-        DisposalGuideline savedGuideline = guidelineRepository.save(guideline);
+        DisposalGuideline savedGuideline = saveAndFlush(guideline);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.GUIDELINE, savedGuideline.getId()));
         return guidelineMapper.toDTO(savedGuideline);
     }
     
     /**
      * Updates an existing disposal guideline
+     * The guideline is usually served by the second-level cache, leaving the versioned UPDATE as the only statement
      * @param id The ID of the guideline to update
-     * @param guidelineDTO The updated guideline details
+     * @param guidelineDTO The updated guideline details, with the version the client last saw or a null version to skip the check
      * @return The updated DisposalGuidelineDTO
      * @throws ResourceNotFoundException if the guideline is not found
      * @throws DuplicateResourceException if a guideline with the same title already exists
+     * @throws StaleResourceException if the guideline is no longer at the given version
      */
     @Transactional
     public DisposalGuidelineDTO updateGuideline(Long id, @Valid DisposalGuidelineDTO guidelineDTO) {
         DisposalGuideline guideline = guidelineRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Guideline not found with id: " + id));
-
-        // Check title uniqueness if changed
-        if (!guideline.getTitle().equals(guidelineDTO.getTitle()) &&
-                guidelineRepository.existsByTitle(guidelineDTO.getTitle())) {
-            throw new DuplicateResourceException("Guideline with title already exists: " + guidelineDTO.getTitle());
-        }
+        checkVersion(guideline, guidelineDTO.getVersion());
 
         guidelineMapper.updateEntity(guideline, guidelineDTO);
-        DisposalGuideline updatedGuideline = guidelineRepository.save(guideline);
+        DisposalGuideline updatedGuideline = saveAndFlush(guideline);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.GUIDELINE, updatedGuideline.getId()));
         return guidelineMapper.toDTO(updatedGuideline);
     }
 
+    /**
+     * Creates several disposal guidelines in one transaction, either all of them or none
+     * Titles are checked and categories resolved with one query each, the inserts are sent in JDBC batches
+     * @param guidelineDTOs The guidelines to create
+     * @return The created guidelines, in request order
+     * @throws DuplicateResourceException if a title is repeated in the request or already exists
+     * @throws ResourceNotFoundException if a referenced category is not found
+     */
+    @Transactional
+    public List<DisposalGuidelineDTO> createGuidelines(
+            @NotEmpty(message = "At least one guideline is required")
+            @Size(max = MAX_BULK_SIZE, message = "At most " + MAX_BULK_SIZE + " guidelines per request")
+            List<@Valid DisposalGuidelineDTO> guidelineDTOs) {
+        Set<String> titles = requestedTitles(guidelineDTOs);
+        List<String> existingTitles = guidelineRepository.findByTitleIn(titles).stream()
+                .map(DisposalGuideline::getTitle)
+                .toList();
+        if (!existingTitles.isEmpty()) {
+            throw new DuplicateResourceException("Guidelines with title already exist: " + existingTitles);
+        }
+        Map<Long, WasteCategory> categories = resolveCategories(guidelineDTOs);
+
+        List<DisposalGuideline> guidelines = new ArrayList<>(guidelineDTOs.size());
+        for (DisposalGuidelineDTO guidelineDTO : guidelineDTOs) {
+            DisposalGuideline guideline = guidelineMapper.toEntity(guidelineDTO);
+            guideline.setId(null); // Always inserted, a client supplied id must not turn into a merge
+            guidelineMapper.setCategory(guideline, categories.get(guidelineDTO.getCategoryId()));
+            guidelines.add(guideline);
+        }
+
+        List<DisposalGuideline> savedGuidelines = guidelineRepository.saveAll(guidelines);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.GUIDELINE, null));
+        return savedGuidelines.stream()
+                .map(guidelineMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Updates several disposal guidelines in one transaction, either all of them or none
+     * A category is only changed for entries that carry a categoryId
+     * @param guidelineDTOs The updated guidelines, each with its id
+     * @return The updated guidelines, in request order
+     * @throws IllegalOperationException if an entry has no id or an id is repeated
+     * @throws ResourceNotFoundException if a guideline or a referenced category is not found
+     * @throws DuplicateResourceException if a title is repeated in the request or belongs to another guideline
+     * @throws StaleResourceException if an entry carries a version the guideline is no longer at
+     */
+    @Transactional
+    public List<DisposalGuidelineDTO> updateGuidelines(
+            @NotEmpty(message = "At least one guideline is required")
+            @Size(max = MAX_BULK_SIZE, message = "At most " + MAX_BULK_SIZE + " guidelines per request")
+            List<@Valid DisposalGuidelineDTO> guidelineDTOs) {
+        Map<Long, DisposalGuidelineDTO> updatesById = new LinkedHashMap<>();
+        for (DisposalGuidelineDTO guidelineDTO : guidelineDTOs) {
+            if (guidelineDTO.getId() == null) {
+                throw new IllegalOperationException("Every guideline in a bulk update needs an id");
+            }
+            if (updatesById.put(guidelineDTO.getId(), guidelineDTO) != null) {
+                throw new IllegalOperationException("Guideline appears more than once: " + guidelineDTO.getId());
+            }
+        }
+        Set<String> titles = requestedTitles(guidelineDTOs);
+
+        // All reads happen before any entity is changed, so the queries do not trigger an early flush
+        Map<Long, DisposalGuideline> guidelines = guidelineRepository.findAllById(updatesById.keySet()).stream()
+                .collect(Collectors.toMap(DisposalGuideline::getId, Function.identity()));
+        Set<Long> missing = new LinkedHashSet<>(updatesById.keySet());
+        missing.removeAll(guidelines.keySet());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Guideline not found with id: " + missing);
+        }
+        guidelineDTOs.forEach(guidelineDTO -> checkVersion(guidelines.get(guidelineDTO.getId()), guidelineDTO.getVersion()));
+
+        // A title may only be kept by the guideline that already has it
+        List<String> takenTitles = guidelineRepository.findByTitleIn(titles).stream()
+                .filter(owner -> {
+                    DisposalGuidelineDTO update = updatesById.get(owner.getId());
+                    return update == null || !owner.getTitle().equals(update.getTitle());
+                })
+                .map(DisposalGuideline::getTitle)
+                .toList();
+        if (!takenTitles.isEmpty()) {
+            throw new DuplicateResourceException("Guidelines with title already exist: " + takenTitles);
+        }
+        Map<Long, WasteCategory> categories = resolveCategories(guidelineDTOs);
+
+        for (DisposalGuidelineDTO guidelineDTO : guidelineDTOs) {
+            DisposalGuideline guideline = guidelines.get(guidelineDTO.getId());
+            guidelineMapper.updateEntity(guideline, guidelineDTO);
+            if (guidelineDTO.getCategoryId() != null) {
+                guidelineMapper.setCategory(guideline, categories.get(guidelineDTO.getCategoryId()));
+            }
+        }
+
+        List<DisposalGuideline> updatedGuidelines = guidelineRepository.saveAll(updatesById.keySet().stream()
+                .map(guidelines::get)
+                .toList());
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.GUIDELINE, null));
+        return updatedGuidelines.stream()
+                .map(guidelineMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
         /**
      * Assigns a guideline to a different category
      * @param guidelineId The ID of the guideline
      * @param categoryId The ID of the new category
+     * @param expectedVersion The version the client last saw, or null to skip the check
      * @return The updated DisposalGuidelineDTO
      * @throws ResourceNotFoundException if either guideline or category is not found
      * @throws IllegalOperationException if the guideline is already assigned to the category
+     * @throws StaleResourceException if the guideline is no longer at the expected version
      */
     @Transactional
-    public DisposalGuidelineDTO assignToCategory(Long guidelineId, Long categoryId) {
+    public DisposalGuidelineDTO assignToCategory(Long guidelineId, Long categoryId, Long expectedVersion) {
         DisposalGuideline guideline = guidelineRepository.findById(guidelineId)
                 .orElseThrow(() -> new ResourceNotFoundException("Guideline not found with id: " + guidelineId));
+        checkVersion(guideline, expectedVersion);
 
         // Validate if already assigned to same category
         if (guideline.getCategory() != null && guideline.getCategory().getId().equals(categoryId)) {
@@ -120,23 +255,28 @@ public class DisposalGuidelineService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
 
         guideline.setCategory(category);
-        DisposalGuideline updatedGuideline = guidelineRepository.save(guideline);
+        DisposalGuideline updatedGuideline = saveAndFlush(guideline);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.GUIDELINE, updatedGuideline.getId()));
         return guidelineMapper.toDTO(updatedGuideline);
     }
 
     /**
      * Unassigns a guideline from its current category
      * @param guidelineId The ID of the guideline to unassign
+     * @param expectedVersion The version the client last saw, or null to skip the check
      * @return The updated DisposalGuidelineDTO
      * @throws ResourceNotFoundException if the guideline is not found
+     * @throws StaleResourceException if the guideline is no longer at the expected version
      */
     @Transactional
-    public DisposalGuidelineDTO unassignGuideline(Long guidelineId) {
+    public DisposalGuidelineDTO unassignGuideline(Long guidelineId, Long expectedVersion) {
         DisposalGuideline guideline = guidelineRepository.findById(guidelineId)
                 .orElseThrow(() -> new ResourceNotFoundException("Guideline not found with id: " + guidelineId));
+        checkVersion(guideline, expectedVersion);
 
         guideline.setCategory(null);
-        DisposalGuideline updatedGuideline = guidelineRepository.save(guideline);
+        DisposalGuideline updatedGuideline = saveAndFlush(guideline);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.GUIDELINE, updatedGuideline.getId()));
         return guidelineMapper.toDTO(updatedGuideline);
     }
 
@@ -153,5 +293,53 @@ public class DisposalGuidelineService {
         }
 
         guidelineRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.GUIDELINE, id));
+    }
+    // Writes the guideline right away, so the title constraint and the version check fail here rather than at commit
+    private DisposalGuideline saveAndFlush(DisposalGuideline guideline) {
+        try {
+            return guidelineRepository.saveAndFlush(guideline);
+        } catch (DataIntegrityViolationException e) {
+            throw ConstraintViolations.translate(e, "Guideline with title already exists: " + guideline.getTitle());
+        } catch (OptimisticLockingFailureException e) {
+            throw new StaleResourceException("Guideline was changed by another request: " + guideline.getId());
+        }
+    }
+
+    // A null expected version means the client did not ask for the check
+    private static void checkVersion(DisposalGuideline guideline, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(guideline.getVersion())) {
+            throw new StaleResourceException("Guideline " + guideline.getId() + " is at version " + guideline.getVersion()
+                    + ", not " + expectedVersion);
+        }
+    }
+
+    // Titles of a bulk request, rejecting any title given twice
+    private Set<String> requestedTitles(List<DisposalGuidelineDTO> guidelineDTOs) {
+        Set<String> titles = new HashSet<>();
+        for (DisposalGuidelineDTO guidelineDTO : guidelineDTOs) {
+            if (!titles.add(guidelineDTO.getTitle())) {
+                throw new DuplicateResourceException("Guideline title repeated in request: " + guidelineDTO.getTitle());
+            }
+        }
+        return titles;
+    }
+
+    // Loads every category a bulk request refers to with one query
+    private Map<Long, WasteCategory> resolveCategories(List<DisposalGuidelineDTO> guidelineDTOs) {
+        Set<Long> categoryIds = guidelineDTOs.stream()
+                .map(DisposalGuidelineDTO::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (categoryIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, WasteCategory> categories = categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(WasteCategory::getId, Function.identity()));
+        categoryIds.removeAll(categories.keySet());
+        if (!categoryIds.isEmpty()) {
+            throw new ResourceNotFoundException("Category not found with id: " + categoryIds);
+        }
+        return categories;
     }
 }
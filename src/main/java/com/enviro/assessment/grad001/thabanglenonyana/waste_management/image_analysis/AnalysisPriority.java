@@ -0,0 +1,7 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+// Scheduling priority for Azure Vision calls, highest first
+public enum AnalysisPriority {
+    INTERACTIVE,
+    BATCH
+}
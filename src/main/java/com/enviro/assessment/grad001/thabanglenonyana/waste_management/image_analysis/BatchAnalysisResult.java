@@ -0,0 +1,40 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one file in a batch analysis. A file that was shed or failed does not fail the batch,
+ * the files analyzed before it are already paid for.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAnalysisResult {
+
+    public enum Status {
+        ANALYZED,
+        // Rejected for lack of Azure Vision capacity, retry after retryAfterSeconds
+        SHED,
+        FAILED
+    }
+
+    private String fileName;
+    private Status status;
+    private ImageAnalysisResponse result;
+    private String error;
+    private Long retryAfterSeconds;
+
+    public static BatchAnalysisResult analyzed(String fileName, ImageAnalysisResponse result) {
+        return new BatchAnalysisResult(fileName, Status.ANALYZED, result, null, null);
+    }
+
+    public static BatchAnalysisResult shed(String fileName, String error, long retryAfterSeconds) {
+        return new BatchAnalysisResult(fileName, Status.SHED, null, error, retryAfterSeconds);
+    }
+
+    public static BatchAnalysisResult failed(String fileName, String error) {
+        return new BatchAnalysisResult(fileName, Status.FAILED, null, error, null);
+    }
+}
@@ -0,0 +1,125 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipMapper;
+
+/**
+ * Precomputed, read-only enrichment data for a waste category: everything the recognition
+ * path attaches to an analysis result. Built once per category by {@link MaterialEnrichmentIndex}.
+ * Holds DTOs mapped while the category was loaded, never entities, and hands out copies of them,
+ * so bundles shared by every request cannot be changed through a response.
+ */
+public final class EnrichmentBundle {
+
+    private static final String NO_INSTRUCTIONS = "No specific instructions available.";
+
+    private final Long categoryId;
+    private final String categoryName;
+    private final String normalizedCategoryName;
+    private final String instructions;
+    private final List<DisposalGuidelineDTO> disposalGuidelines;
+    private final List<RecyclingTipDTO> recyclingTips;
+
+    private EnrichmentBundle(Long categoryId, String categoryName, List<DisposalGuidelineDTO> disposalGuidelines,
+            List<RecyclingTipDTO> recyclingTips) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.normalizedCategoryName = categoryName.toLowerCase();
+        this.disposalGuidelines = disposalGuidelines;
+        this.recyclingTips = recyclingTips;
+        this.instructions = !disposalGuidelines.isEmpty() ? disposalGuidelines.get(0).getInstructions() : NO_INSTRUCTIONS;
+    }
+
+    /**
+     * Snapshots a waste category into a bundle. Call it while the category's persistence context is open,
+     * the guidelines, tips and tip steps are read here.
+     * @param category The category with its guidelines and tips
+     * @param guidelineMapper Maps the guidelines
+     * @param tipMapper Maps the tips
+     * @return The enrichment bundle
+     */
+    public static EnrichmentBundle from(WasteCategory category, DisposalGuidelineMapper guidelineMapper,
+            RecyclingTipMapper tipMapper) {
+        return new EnrichmentBundle(
+                category.getId(),
+                category.getName(),
+                category.getDisposalGuidelines() != null
+                        ? category.getDisposalGuidelines().stream().map(guidelineMapper::toDTO).toList()
+                        : List.of(),
+                category.getRecyclingTips() != null
+                        ? category.getRecyclingTips().stream().map(tipMapper::toDTO).toList()
+                        : List.of());
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    // Lower-cased category name, precomputed for location filtering
+    public String getNormalizedCategoryName() {
+        return normalizedCategoryName;
+    }
+
+    // Instructions of the first disposal guideline, or a default message
+    public String getInstructions() {
+        return instructions;
+    }
+
+    // A fresh copy on every call
+    public List<DisposalGuidelineDTO> getDisposalGuidelines() {
+        List<DisposalGuidelineDTO> copies = new ArrayList<>(disposalGuidelines.size());
+        for (DisposalGuidelineDTO guideline : disposalGuidelines) {
+            DisposalGuidelineDTO copy = new DisposalGuidelineDTO();
+            copy.setId(guideline.getId());
+            copy.setCategoryId(guideline.getCategoryId());
+            copy.setCategory(copyCategoryReference(guideline.getCategory()));
+            copy.setTitle(guideline.getTitle());
+            copy.setInstructions(guideline.getInstructions());
+            copy.setVersion(guideline.getVersion());
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    // A fresh copy on every call
+    public List<RecyclingTipDTO> getRecyclingTips() {
+        List<RecyclingTipDTO> copies = new ArrayList<>(recyclingTips.size());
+        for (RecyclingTipDTO tip : recyclingTips) {
+            RecyclingTipDTO copy = new RecyclingTipDTO();
+            copy.setId(tip.getId());
+            copy.setCategoryId(tip.getCategoryId());
+            copy.setCategory(copyCategoryReference(tip.getCategory()));
+            copy.setTitle(tip.getTitle());
+            copy.setSteps(tip.getSteps() != null ? new ArrayList<>(tip.getSteps()) : null);
+            copy.setDifficulty(tip.getDifficulty());
+            copy.setEnvironmentalImpact(tip.getEnvironmentalImpact());
+            copy.setTimeRequired(tip.getTimeRequired());
+            copy.setRequiredMaterials(tip.getRequiredMaterials());
+            copy.setVersion(tip.getVersion());
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    // The mappers only fill in the id and name of the owning category
+    private static WasteCategoryDTO copyCategoryReference(WasteCategoryDTO category) {
+        if (category == null) {
+            return null;
+        }
+        WasteCategoryDTO copy = new WasteCategoryDTO();
+        copy.setId(category.getId());
+        copy.setName(category.getName());
+        return copy;
+    }
+}
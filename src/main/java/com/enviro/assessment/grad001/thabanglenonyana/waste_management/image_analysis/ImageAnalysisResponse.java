@@ -1,8 +1,8 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocation;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTip;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,6 +15,6 @@ import java.util.List;
 public class ImageAnalysisResponse {
     private RecognizedMaterial material;
     private List<RecyclingLocation> nearbyLocations;
-    private List<DisposalGuideline> disposalGuidelines;
-    private List<RecyclingTip> recyclingTips;
+    private List<DisposalGuidelineDTO> disposalGuidelines;
+    private List<RecyclingTipDTO> recyclingTips;
 }
@@ -5,13 +5,20 @@ package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_an
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.validation.Valid;
+
 import java.io.IOException;
+import java.util.List;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.RateLimitExceededException;
 
 @RestController
 @RequestMapping("/api/image-recognition")
@@ -19,10 +26,13 @@ public class ImageRecognitionController {
 
     private static final Logger logger = LoggerFactory.getLogger(ImageRecognitionController.class);
     private final ImageRecognitionService imageRecognitionService;
+    private final MaterialFeedbackService materialFeedbackService;
 
     @Autowired
-    public ImageRecognitionController(ImageRecognitionService imageRecognitionService) {
+    public ImageRecognitionController(ImageRecognitionService imageRecognitionService,
+            MaterialFeedbackService materialFeedbackService) {
         this.imageRecognitionService = imageRecognitionService;
+        this.materialFeedbackService = materialFeedbackService;
     }
 
     @PostMapping(value = "/analyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -47,6 +57,9 @@ public class ImageRecognitionController {
                     response.getNearbyLocations().size());
             
             return ResponseEntity.ok(response);
+        } catch (RateLimitExceededException e) {
+            logger.warn("Image analysis rejected: {}", e.getMessage());
+            return serviceUnavailable(e);
         } catch (IOException e) {
             logger.error("Error processing image file", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -55,4 +68,56 @@ public class ImageRecognitionController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    // One result per file; 503 only when every file was shed, so the client backs off as a whole
+    @PostMapping(value = "/analyze/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<BatchAnalysisResult>> analyzeImages(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Integer radius) {
+
+        logger.info("Received batch image analysis request for {} files", files.size());
+
+        if (files.isEmpty() || files.stream().anyMatch(MultipartFile::isEmpty)) {
+            logger.warn("Empty file received in batch analysis request");
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<BatchAnalysisResult> results = imageRecognitionService.analyzeImages(files, latitude, longitude, radius);
+        long analyzed = results.stream()
+                .filter(result -> result.getStatus() == BatchAnalysisResult.Status.ANALYZED)
+                .count();
+        logger.info("Batch analysis complete, {} of {} files analyzed", analyzed, results.size());
+
+        if (results.stream().allMatch(result -> result.getStatus() == BatchAnalysisResult.Status.SHED)) {
+            long retryAfterSeconds = results.stream()
+                    .mapToLong(BatchAnalysisResult::getRetryAfterSeconds)
+                    .max()
+                    .orElse(1);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(results);
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    // Users confirm or correct the recognized material; aggregated in the background
+    @PostMapping(value = "/feedback", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> submitFeedback(@Valid @RequestBody MaterialFeedbackDTO feedbackDTO) {
+        try {
+            materialFeedbackService.submitFeedback(feedbackDTO);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        } catch (IllegalOperationException e) {
+            logger.warn("Feedback rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 503 with Retry-After so clients back off instead of hammering the Vision quota
+    private <T> ResponseEntity<T> serviceUnavailable(RateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .build();
+    }
 }
\ No newline at end of file
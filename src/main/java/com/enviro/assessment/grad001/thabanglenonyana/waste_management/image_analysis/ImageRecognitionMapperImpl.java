@@ -1,8 +1,6 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationMapper;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineMapper;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -13,17 +11,10 @@ import java.util.stream.Collectors;
 public class ImageRecognitionMapperImpl implements ImageRecognitionMapper {
     
     private final RecyclingLocationMapper recyclingLocationMapper;
-    private final DisposalGuidelineMapper disposalGuidelineMapper;
-    private final RecyclingTipMapper recyclingTipMapper;
     
     @Autowired
-    public ImageRecognitionMapperImpl(
-            RecyclingLocationMapper recyclingLocationMapper,
-            DisposalGuidelineMapper disposalGuidelineMapper,
-            RecyclingTipMapper recyclingTipMapper) {
+    public ImageRecognitionMapperImpl(RecyclingLocationMapper recyclingLocationMapper) {
         this.recyclingLocationMapper = recyclingLocationMapper;
-        this.disposalGuidelineMapper = disposalGuidelineMapper;
-        this.recyclingTipMapper = recyclingTipMapper;
     }
     
     @Override
@@ -59,15 +50,11 @@ public class ImageRecognitionMapperImpl implements ImageRecognitionMapper {
         }
         
         if (response.getDisposalGuidelines() != null) {
-            dto.setDisposalGuidelines(response.getDisposalGuidelines().stream()
-                .map(disposalGuidelineMapper::toDTO)
-                .collect(Collectors.toList()));
+            dto.setDisposalGuidelines(new ArrayList<>(response.getDisposalGuidelines()));
         }
         
         if (response.getRecyclingTips() != null) {
-            dto.setRecyclingTips(response.getRecyclingTips().stream()
-                .map(recyclingTipMapper::toDTO)
-                .collect(Collectors.toList()));
+            dto.setRecyclingTips(new ArrayList<>(response.getRecyclingTips()));
         } else {
             dto.setRecyclingTips(new ArrayList<>());
         }
@@ -3,13 +3,14 @@ package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_an
 import com.azure.ai.vision.imageanalysis.ImageAnalysisClient;
 import com.azure.ai.vision.imageanalysis.models.*;
 import com.azure.core.util.BinaryData;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.RateLimitExceededException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocation;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationDTO;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationService;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineDTO;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineService;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTip;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.RecognitionMetrics.Stage;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipService;
 
 
@@ -36,6 +37,8 @@ public class ImageRecognitionService {
     private final ImageAnalysisClient imageAnalysisClient;
     private final MaterialMappingService materialMappingService;
     private final RecyclingLocationService recyclingLocationService;
+    private final VisionRequestScheduler visionRequestScheduler;
+    private final RecognitionMetrics recognitionMetrics;
 
 
     @Autowired
@@ -44,54 +47,81 @@ public class ImageRecognitionService {
             MaterialMappingService materialMappingService,
             RecyclingLocationService recyclingLocationService,
             DisposalGuidelineService disposalGuidelineService,
-            RecyclingTipService recyclingTipService) {
+            RecyclingTipService recyclingTipService,
+            VisionRequestScheduler visionRequestScheduler,
+            RecognitionMetrics recognitionMetrics) {
         this.imageAnalysisClient = imageAnalysisClient;
         this.materialMappingService = materialMappingService;
         this.recyclingLocationService = recyclingLocationService;
+        this.visionRequestScheduler = visionRequestScheduler;
+        this.recognitionMetrics = recognitionMetrics;
     }
 
     public ImageAnalysisResponse analyzeImage(MultipartFile file, Double latitude, Double longitude, Integer radius) 
             throws IOException {
+        return analyzeImage(file, latitude, longitude, radius, AnalysisPriority.INTERACTIVE);
+    }
+
+    // Analyzes a set of uploads as a batch job, queued behind interactive requests.
+    // Each file gets its own result, a shed or failed file does not discard the ones already analyzed.
+    public List<BatchAnalysisResult> analyzeImages(List<MultipartFile> files, Double latitude, Double longitude,
+            Integer radius) {
+        List<BatchAnalysisResult> results = new ArrayList<>();
+        for (MultipartFile file : files) {
+            String fileName = file.getOriginalFilename();
+            try {
+                results.add(BatchAnalysisResult.analyzed(fileName,
+                        analyzeImage(file, latitude, longitude, radius, AnalysisPriority.BATCH)));
+            } catch (RateLimitExceededException e) {
+                logger.warn("Batch file {} shed: {}", fileName, e.getMessage());
+                results.add(BatchAnalysisResult.shed(fileName, e.getMessage(), e.getRetryAfterSeconds()));
+            } catch (IOException | RuntimeException e) {
+                logger.error("Batch file {} failed", fileName, e);
+                results.add(BatchAnalysisResult.failed(fileName, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    public ImageAnalysisResponse analyzeImage(MultipartFile file, Double latitude, Double longitude, Integer radius,
+            AnalysisPriority priority) throws IOException {
         logger.info("Analyzing image with coordinates: lat={}, long={}, radius={}km", latitude, longitude, radius);
         
         // Convert MultipartFile to byte array for direct API call
-        byte[] imageBytes = file.getBytes();
+        byte[] imageBytes = recognitionMetrics.record(Stage.READ_BYTES, file::getBytes);
         
-        // Analyze with Azure AI Vision directly
-        ImageAnalysisResult analysisResult = analyzeImage(imageBytes);
+        // Analyze with Azure AI Vision, subject to the request quota
+        ImageAnalysisResult analysisResult = analyzeImage(imageBytes, priority);
         
         // Extract tags
-        List<String> detectedObjects = extractTags(analysisResult);
+        List<String> detectedObjects = recognitionMetrics.record(Stage.TAG_EXTRACTION, () -> extractTags(analysisResult));
         logger.info("Detected objects: {}", detectedObjects);
         
         // Map to material
-        String material = materialMappingService.mapObjectToMaterial(detectedObjects);
+        String material = recognitionMetrics.record(Stage.MATERIAL_MAPPING,
+                () -> materialMappingService.mapObjectToMaterial(detectedObjects));
         boolean recyclable = materialMappingService.isRecyclable(material);
         logger.info("Mapped to material: {}, recyclable: {}", material, recyclable);
         
         // Get highest confidence score
         double confidenceScore = getHighestConfidenceScore(analysisResult);
         
-        // Get waste category for this material
-        WasteCategory wasteCategory = materialMappingService.getWasteCategoryForMaterial(material);
-        logger.info("Waste category: {} (ID: {})", wasteCategory.getName(), wasteCategory.getId());
+        // Get precomputed category enrichment for this material
+        EnrichmentBundle enrichment = recognitionMetrics.record(Stage.CATEGORY_LOAD,
+                () -> materialMappingService.getEnrichmentForMaterial(material));
+        logger.info("Waste category: {} (ID: {})", enrichment.getCategoryName(), enrichment.getCategoryId());
         
         // Get disposal guidelines from waste category
-        List<DisposalGuideline> guidelines = wasteCategory.getDisposalGuidelines() != null ? 
-            wasteCategory.getDisposalGuidelines() : Collections.emptyList();
-        
-        // Get instructions from the first guideline if available
-        String instructions = !guidelines.isEmpty() ? 
-            guidelines.get(0).getInstructions() : "No specific instructions available.";
+        List<DisposalGuidelineDTO> guidelines = enrichment.getDisposalGuidelines();
         
         // Create material object
         RecognizedMaterial recognizedMaterial = new RecognizedMaterial(
                 material,
                 detectedObjects,
                 confidenceScore,
-                instructions,
+                enrichment.getInstructions(),
                 recyclable,
-                wasteCategory.getId()
+                enrichment.getCategoryId()
         );
         
         // Find recycling locations if coordinates provided
@@ -99,23 +129,25 @@ public class ImageRecognitionService {
         if (latitude != null && longitude != null) {
             Double searchRadius = radius != null ? radius : 10.0;
             // Get locations from the service
-            locationDTOs = recyclingLocationService.findNearbyLocations(latitude, longitude, searchRadius);
+            locationDTOs = recognitionMetrics.record(Stage.LOCATION_SEARCH,
+                    () -> recyclingLocationService.findNearbyLocations(latitude, longitude, searchRadius));
             logger.info("Found {} nearby locations within {}km", locationDTOs.size(), searchRadius);
         }
         
         // Improved filtering for locations by waste category
-        List<RecyclingLocation> locations = convertAndFilterLocationsByWasteCategory(locationDTOs, wasteCategory);
+        List<RecyclingLocationDTO> candidates = locationDTOs;
+        List<RecyclingLocation> locations = recognitionMetrics.record(Stage.FILTER,
+                () -> convertAndFilterLocationsByWasteCategory(candidates, enrichment));
         logger.info("After filtering by waste category: {} locations remain", locations.size());
         
         // Get recycling tips directly from waste category
-        List<RecyclingTip> tips = wasteCategory.getRecyclingTips() != null ? 
-            wasteCategory.getRecyclingTips() : Collections.emptyList();
+        List<RecyclingTipDTO> tips = enrichment.getRecyclingTips();
         
         return new ImageAnalysisResponse(recognizedMaterial, locations, guidelines, tips);
     }
     
     // Helper method to analyze image with proper Azure SDK usage
-    private ImageAnalysisResult analyzeImage(byte[] imageBytes) {
+    private ImageAnalysisResult analyzeImage(byte[] imageBytes, AnalysisPriority priority) {
         // Convert byte array to BinaryData
         BinaryData binaryData = BinaryData.fromBytes(imageBytes);
         
@@ -131,24 +163,45 @@ public class ImageRecognitionService {
         );
         
         logger.debug("Calling Azure Vision API for image analysis");
-        // Call the Azure AI Vision service with proper parameters
-        return imageAnalysisClient.analyze(
-            binaryData,
-            visualFeatures,
-            options
-        );
+        // Call the Azure AI Vision service once the scheduler grants a permit. The queue wait and the
+        // Azure request are timed as separate stages, so throttling does not show up as Azure latency.
+        long submitted = System.nanoTime();
+        boolean[] dispatched = new boolean[1];
+        try {
+            return visionRequestScheduler.submit(priority, () -> {
+                dispatched[0] = true;
+                recognitionMetrics.recordDuration(Stage.QUEUE_WAIT, System.nanoTime() - submitted, null);
+                return recognitionMetrics.record(Stage.VISION_CALL, () -> {
+                    try {
+                        ImageAnalysisResult result = imageAnalysisClient.analyze(binaryData, visualFeatures, options);
+                        recognitionMetrics.recordAzureCall(true);
+                        return result;
+                    } catch (RuntimeException e) {
+                        // HTTP errors, timeouts and transport failures alike
+                        recognitionMetrics.recordAzureCall(false);
+                        throw e;
+                    }
+                });
+            });
+        } catch (RateLimitExceededException e) {
+            // Shed by the scheduler before it was sent, a 429 from Azure was already counted above
+            if (!dispatched[0]) {
+                recognitionMetrics.recordDuration(Stage.QUEUE_WAIT, System.nanoTime() - submitted, e);
+            }
+            throw e;
+        }
     }
     
-    // Improved helper method with better waste category matching
-    private List<RecyclingLocation> convertAndFilterLocationsByWasteCategory(
-            List<RecyclingLocationDTO> dtos, WasteCategory wasteCategory) {
+    // Improved helper method with better waste category matching, package-private for benchmarking
+    List<RecyclingLocation> convertAndFilterLocationsByWasteCategory(
+            List<RecyclingLocationDTO> dtos, EnrichmentBundle enrichment) {
         if (dtos == null || dtos.isEmpty()) {
             logger.info("No location DTOs provided to filter");
             return Collections.emptyList();
         }
         
-        String categoryName = wasteCategory.getName().toLowerCase();
-        Long categoryId = wasteCategory.getId();
+        String categoryName = enrichment.getNormalizedCategoryName();
+        Long categoryId = enrichment.getCategoryId();
         
         List<RecyclingLocation> filteredLocations = new ArrayList<>();
         
@@ -221,7 +274,8 @@ public class ImageRecognitionService {
         return location;
     }
 
-    private List<String> extractTags(ImageAnalysisResult analysisResult) {
+    // Package-private for benchmarking
+    List<String> extractTags(ImageAnalysisResult analysisResult) {
         List<String> tags = new ArrayList<>();
         
         // Extract tags
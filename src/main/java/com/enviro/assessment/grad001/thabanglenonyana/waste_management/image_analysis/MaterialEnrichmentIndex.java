@@ -0,0 +1,101 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipMapper;
+
+/**
+ * In-memory index of enrichment bundles keyed by lower-cased category name.
+ * The whole map is rebuilt after any category, guideline or tip change commits and swapped in
+ * atomically, so the recognition path never queries the database for enrichment.
+ */
+@Component
+public class MaterialEnrichmentIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaterialEnrichmentIndex.class);
+
+    private final WasteCategoryRepository wasteCategoryRepository;
+    private final TransactionTemplate readTransaction;
+    private final RecognitionMetrics recognitionMetrics;
+    private final DisposalGuidelineMapper guidelineMapper;
+    private final RecyclingTipMapper tipMapper;
+
+    private volatile Map<String, EnrichmentBundle> bundlesByCategoryName;
+
+    @Autowired
+    public MaterialEnrichmentIndex(WasteCategoryRepository wasteCategoryRepository,
+            @Qualifier(ReadTransactionConfig.REFRESH_READ_TRANSACTION) TransactionTemplate readTransaction,
+            RecognitionMetrics recognitionMetrics,
+            DisposalGuidelineMapper guidelineMapper, RecyclingTipMapper tipMapper) {
+        this.wasteCategoryRepository = wasteCategoryRepository;
+        this.recognitionMetrics = recognitionMetrics;
+        this.guidelineMapper = guidelineMapper;
+        this.tipMapper = tipMapper;
+        this.readTransaction = readTransaction;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryContentChanged(CategoryContentChangedEvent event) {
+        logger.debug("Rebuilding enrichment bundles after {} {} changed", event.getContentType(), event.getContentId());
+        rebuild();
+    }
+
+    /**
+     * Looks up the enrichment bundle for a category
+     * @param categoryName The category name, case-insensitive
+     * @return The bundle, or null if no such category exists
+     */
+    public EnrichmentBundle findByCategoryName(String categoryName) {
+        Map<String, EnrichmentBundle> bundles = bundlesByCategoryName;
+        boolean warm = bundles != null;
+        if (!warm) {
+            bundles = rebuild();
+        }
+        EnrichmentBundle bundle = bundles.get(categoryName.toLowerCase());
+        recognitionMetrics.recordEnrichmentLookup(warm && bundle != null);
+        return bundle;
+    }
+
+    /**
+     * Reloads all categories with their guidelines and tips and publishes a new snapshot.
+     * Synchronized so that a slow rebuild can never overwrite a newer one.
+     * @return The newly published snapshot
+     */
+    public synchronized Map<String, EnrichmentBundle> rebuild() {
+        Map<String, EnrichmentBundle> bundles = readTransaction.execute(status -> {
+            List<WasteCategory> categories = wasteCategoryRepository.findAllWithContent();
+            Map<String, EnrichmentBundle> snapshot = new HashMap<>();
+            // Mapped inside the transaction, lazy tip steps are loaded here rather than during serialization
+            for (WasteCategory category : categories) {
+                snapshot.put(category.getName().toLowerCase(),
+                        EnrichmentBundle.from(category, guidelineMapper, tipMapper));
+            }
+            return Map.copyOf(snapshot);
+        });
+        bundlesByCategoryName = bundles;
+        logger.info("Enrichment bundles rebuilt for {} waste categories", bundles.size());
+        return bundles;
+    }
+}
@@ -0,0 +1,56 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * Entity class representing a user's confirmation or correction of a recognized material.
+ * Rows are folded into {@link TagMaterialCount} aggregates by {@link MaterialFeedbackService}.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "material_feedback", indexes = @Index(name = "idx_feedback_aggregated", columnList = "aggregated"))
+public class MaterialFeedback {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Tags and object names returned by Azure Vision for the analyzed image
+    @ElementCollection
+    @CollectionTable(name = "material_feedback_tags", joinColumns = @JoinColumn(name = "feedback_id"))
+    @Column(name = "tag", nullable = false, length = 100)
+    private List<String> detectedTags = new ArrayList<>();
+
+    @Column(length = 50)
+    private String predictedMaterial;
+
+    @Column(nullable = false, length = 50)
+    private String confirmedMaterial;
+
+    @Column(nullable = false)
+    private boolean aggregated = false;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MaterialFeedbackDTO {
+
+    // Detected objects as returned in the analysis response
+    @NotEmpty(message = "Detected tags are required")
+    private List<String> detectedTags;
+
+    // Material the service recognized, if any
+    private String predictedMaterial;
+
+    @NotBlank(message = "Confirmed material is required")
+    private String confirmedMaterial;
+}
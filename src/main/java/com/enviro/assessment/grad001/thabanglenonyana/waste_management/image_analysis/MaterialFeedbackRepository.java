@@ -0,0 +1,11 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MaterialFeedbackRepository extends JpaRepository<MaterialFeedback, Long> {
+    List<MaterialFeedback> findTop500ByAggregatedFalseOrderByIdAsc();
+}
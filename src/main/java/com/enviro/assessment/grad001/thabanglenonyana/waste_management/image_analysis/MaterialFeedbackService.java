@@ -0,0 +1,153 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
+
+/**
+ * Service class for the image analysis feedback loop.
+ * Users confirm or correct the recognized material; a background job folds that feedback into
+ * tag to material co-occurrence counts and hot-swaps the learned mappings into
+ * {@link MaterialMappingService}. The recognition path itself does no extra work.
+ */
+@Service
+public class MaterialFeedbackService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaterialFeedbackService.class);
+    private static final int MAX_TAG_LENGTH = 100;
+
+    private final MaterialFeedbackRepository feedbackRepository;
+    private final TagMaterialCountRepository tagMaterialCountRepository;
+    private final MaterialMappingService materialMappingService;
+    private final long minSupport;
+    private final double minShare;
+
+    @Autowired
+    public MaterialFeedbackService(
+            MaterialFeedbackRepository feedbackRepository,
+            TagMaterialCountRepository tagMaterialCountRepository,
+            MaterialMappingService materialMappingService,
+            @Value("${image-analysis.feedback.min-support:3}") long minSupport,
+            @Value("${image-analysis.feedback.min-share:0.6}") double minShare) {
+        this.feedbackRepository = feedbackRepository;
+        this.tagMaterialCountRepository = tagMaterialCountRepository;
+        this.materialMappingService = materialMappingService;
+        this.minSupport = minSupport;
+        this.minShare = minShare;
+    }
+
+    /**
+     * Records a user's confirmation or correction of an analysis result
+     * @param feedbackDTO The detected tags and the material the user confirmed
+     * @throws IllegalOperationException if the confirmed material is not one the pipeline knows
+     */
+    @Transactional
+    public void submitFeedback(MaterialFeedbackDTO feedbackDTO) {
+        String confirmedMaterial = feedbackDTO.getConfirmedMaterial().trim().toLowerCase();
+        if (!materialMappingService.getKnownMaterials().contains(confirmedMaterial)) {
+            throw new IllegalOperationException("Unknown material: " + feedbackDTO.getConfirmedMaterial());
+        }
+
+        MaterialFeedback feedback = new MaterialFeedback();
+        feedback.setDetectedTags(normalizeTags(feedbackDTO.getDetectedTags()));
+        feedback.setPredictedMaterial(feedbackDTO.getPredictedMaterial());
+        feedback.setConfirmedMaterial(confirmedMaterial);
+        feedbackRepository.save(feedback);
+    }
+
+    /**
+     * Folds pending feedback into the co-occurrence table and refreshes the learned mappings.
+     * Runs in the background; each run handles one batch of pending feedback.
+     */
+    @Scheduled(fixedDelayString = "${image-analysis.feedback.aggregation-interval-ms:60000}")
+    @Transactional
+    public void aggregateFeedback() {
+        List<MaterialFeedback> pending = feedbackRepository.findTop500ByAggregatedFalseOrderByIdAsc();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Count the batch in memory first so each tag/material row is written once. Only feedback the built-in
+        // table could not explain is counted, otherwise every generic tag next to a known object collects votes.
+        Map<String, Map<String, Long>> batchCounts = new HashMap<>();
+        for (MaterialFeedback feedback : pending) {
+            if (feedback.getDetectedTags().stream().noneMatch(materialMappingService::hasBuiltInMapping)) {
+                for (String tag : feedback.getDetectedTags()) {
+                    batchCounts.computeIfAbsent(tag, t -> new HashMap<>())
+                            .merge(feedback.getConfirmedMaterial(), 1L, Long::sum);
+                }
+            }
+            feedback.setAggregated(true);
+        }
+
+        Map<String, TagMaterialCount> existing = tagMaterialCountRepository.findByTagIn(batchCounts.keySet()).stream()
+                .collect(Collectors.toMap(count -> key(count.getTag(), count.getMaterial()), count -> count));
+        batchCounts.forEach((tag, materials) -> materials.forEach((material, occurrences) -> {
+            TagMaterialCount count = existing.computeIfAbsent(key(tag, material), k -> new TagMaterialCount(tag, material));
+            count.setOccurrences(count.getOccurrences() + occurrences);
+        }));
+        tagMaterialCountRepository.saveAll(existing.values());
+        feedbackRepository.saveAll(pending);
+
+        logger.info("Aggregated {} feedback entries across {} tags", pending.size(), batchCounts.size());
+        refreshLearnedMappings();
+    }
+
+    /**
+     * Rebuilds the learned mapping table from the co-occurrence counts and swaps it in.
+     * A tag is mapped once it has enough feedback and one material clearly dominates.
+     * @return The learned tag to material mappings
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public Map<String, String> refreshLearnedMappings() {
+        Map<String, List<TagMaterialCount>> countsByTag = tagMaterialCountRepository.findAll().stream()
+                .collect(Collectors.groupingBy(TagMaterialCount::getTag));
+
+        Map<String, String> learned = new HashMap<>();
+        countsByTag.forEach((tag, counts) -> {
+            long total = counts.stream().mapToLong(TagMaterialCount::getOccurrences).sum();
+            TagMaterialCount best = counts.stream()
+                    .max(Comparator.comparingLong(TagMaterialCount::getOccurrences))
+                    .orElseThrow();
+            if (best.getOccurrences() >= minSupport && best.getOccurrences() >= minShare * total) {
+                learned.put(tag, best.getMaterial());
+            }
+        });
+
+        materialMappingService.applyLearnedMappings(learned);
+        logger.info("Learned material mappings refreshed: {} tags", learned.size());
+        return learned;
+    }
+
+    private List<String> normalizeTags(List<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (tag != null && !tag.isBlank() && tag.length() <= MAX_TAG_LENGTH) {
+                normalized.add(tag.trim().toLowerCase());
+            }
+        }
+        return new ArrayList<>(normalized);
+    }
+
+    private static String key(String tag, String material) {
+        return tag + '\u0000' + material;
+    }
+}
@@ -1,91 +1,138 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
 
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class MaterialMappingService {
     
-    private final Map<String, String> objectToMaterialMap = new HashMap<>();
-    private final WasteCategoryService wasteCategoryService;
+    private final Map<String, String> builtInMappings = new HashMap<>();
+    private final Set<String> knownMaterials;
+    private final MaterialEnrichmentIndex materialEnrichmentIndex;
+    
+    // Mappings learned from user feedback for tags without a built-in entry, replaced as a whole on refresh
+    private volatile Map<String, String> learnedMappings = Map.of();
     
     @Autowired
-    public MaterialMappingService(WasteCategoryService wasteCategoryService) {
-        this.wasteCategoryService = wasteCategoryService;
+    public MaterialMappingService(MaterialEnrichmentIndex materialEnrichmentIndex) {
+        this.materialEnrichmentIndex = materialEnrichmentIndex;
         initializeObjectToMaterialMap();
+        this.knownMaterials = Set.copyOf(builtInMappings.values());
     }
     
     private void initializeObjectToMaterialMap() {
         // Plastic items
-        objectToMaterialMap.put("plastic bottle", "plastic");
-        objectToMaterialMap.put("water bottle", "plastic");
-        objectToMaterialMap.put("soda bottle", "plastic");
-        objectToMaterialMap.put("plastic container", "plastic");
+        builtInMappings.put("plastic bottle", "plastic");
+        builtInMappings.put("water bottle", "plastic");
+        builtInMappings.put("soda bottle", "plastic");
+        builtInMappings.put("plastic container", "plastic");
         
         // Paper items
-        objectToMaterialMap.put("newspaper", "paper");
-        objectToMaterialMap.put("cardboard", "paper");
-        objectToMaterialMap.put("cardboard box", "paper");
-        objectToMaterialMap.put("magazine", "paper");
+        builtInMappings.put("newspaper", "paper");
+        builtInMappings.put("cardboard", "paper");
+        builtInMappings.put("cardboard box", "paper");
+        builtInMappings.put("magazine", "paper");
         
         // Glass items
-        objectToMaterialMap.put("glass bottle", "glass");
-        objectToMaterialMap.put("wine bottle", "glass");
-        objectToMaterialMap.put("beer bottle", "glass");
-        objectToMaterialMap.put("glass jar", "glass");
+        builtInMappings.put("glass bottle", "glass");
+        builtInMappings.put("wine bottle", "glass");
+        builtInMappings.put("beer bottle", "glass");
+        builtInMappings.put("glass jar", "glass");
         
         // Metal items
-        objectToMaterialMap.put("can", "metal");
-        objectToMaterialMap.put("aluminum can", "metal");
-        objectToMaterialMap.put("tin can", "metal");
-        objectToMaterialMap.put("soda can", "metal");
+        builtInMappings.put("can", "metal");
+        builtInMappings.put("aluminum can", "metal");
+        builtInMappings.put("tin can", "metal");
+        builtInMappings.put("soda can", "metal");
         
         // Electronic items
-        objectToMaterialMap.put("phone", "electronic");
-        objectToMaterialMap.put("computer", "electronic");
-        objectToMaterialMap.put("laptop", "electronic");
-        objectToMaterialMap.put("television", "electronic");
+        builtInMappings.put("phone", "electronic");
+        builtInMappings.put("computer", "electronic");
+        builtInMappings.put("laptop", "electronic");
+        builtInMappings.put("television", "electronic");
         
         // Organic items
-        objectToMaterialMap.put("food", "organic");
-        objectToMaterialMap.put("fruit", "organic");
-        objectToMaterialMap.put("vegetable", "organic");
+        builtInMappings.put("food", "organic");
+        builtInMappings.put("fruit", "organic");
+        builtInMappings.put("vegetable", "organic");
     }
     
+    // A built-in match anywhere in the list wins over a learned one, so a learned generic tag cannot shadow an object
     public String mapObjectToMaterial(List<String> detectedObjects) {
         for (String object : detectedObjects) {
-            String material = objectToMaterialMap.get(object.toLowerCase());
+            String material = builtInMappings.get(object.toLowerCase());
+            if (material != null) {
+                return material;
+            }
+        }
+        Map<String, String> learned = learnedMappings;
+        for (String object : detectedObjects) {
+            String material = learned.get(object.toLowerCase());
             if (material != null) {
                 return material;
             }
         }
         return "unknown";
     }
+
+    /**
+     * @param tag A lower-cased tag
+     * @return true if the tag has a built-in mapping, which feedback can never change
+     */
+    public boolean hasBuiltInMapping(String tag) {
+        return builtInMappings.containsKey(tag);
+    }
     
-    public WasteCategory getWasteCategoryForMaterial(String material) {
-        // Map material to a waste category from database
+    // Served from the in-memory enrichment index, no database access on the recognition path
+    public EnrichmentBundle getEnrichmentForMaterial(String material) {
+        String categoryName = getCategoryNameForMaterial(material);
+        EnrichmentBundle enrichment = materialEnrichmentIndex.findByCategoryName(categoryName);
+        if (enrichment == null) {
+            throw new ResourceNotFoundException("Category not found with name: " + categoryName);
+        }
+        return enrichment;
+    }
+    
+    public String getCategoryNameForMaterial(String material) {
+        // Map material to a waste category name
         switch (material.toLowerCase()) {
             case "plastic":
             case "glass":
             case "metal":
-                return wasteCategoryService.findByCategoryName("recyclable");
+                return "recyclable";
             case "paper":
-                return wasteCategoryService.findByCategoryName("paper");
+                return "paper";
             case "organic":
-                return wasteCategoryService.findByCategoryName("organic");
+                return "organic";
             case "electronic":
-                return wasteCategoryService.findByCategoryName("e-waste");
+                return "e-waste";
             default:
-                return wasteCategoryService.findByCategoryName("general waste");
+                return "general waste";
         }
     }
     
+    /**
+     * Atomically replaces the learned part of the mapping table
+     * @param learnedMappings Lower-cased tag to material entries derived from user feedback,
+     *        entries for tags with a built-in mapping are ignored
+     */
+    public void applyLearnedMappings(Map<String, String> learnedMappings) {
+        Map<String, String> learned = new HashMap<>(learnedMappings);
+        learned.keySet().removeAll(builtInMappings.keySet());
+        this.learnedMappings = Map.copyOf(learned);
+    }
+    
+    // Materials the recognition pipeline can produce, used to validate feedback
+    public Set<String> getKnownMaterials() {
+        return knownMaterials;
+    }
+    
     public boolean isRecyclable(String material) {
         return !material.equals("unknown");
     }
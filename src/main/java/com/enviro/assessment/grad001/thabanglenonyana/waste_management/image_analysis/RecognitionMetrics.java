@@ -0,0 +1,131 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer instrumentation for the image recognition pipeline.
+ * Each stage of an analysis gets its own latency histogram, so a slow /analyze call can be
+ * attributed to the upload, throttling, Azure, the category lookup or the location search.
+ * Exposed through the Actuator Prometheus endpoint.
+ */
+@Component
+public class RecognitionMetrics {
+
+    public enum Stage {
+        READ_BYTES("read_bytes"),
+        // Waiting for a permit from the request scheduler, before the request is sent to Azure
+        QUEUE_WAIT("queue_wait"),
+        // The Azure Vision request alone
+        VISION_CALL("vision_call"),
+        TAG_EXTRACTION("tag_extraction"),
+        MATERIAL_MAPPING("material_mapping"),
+        CATEGORY_LOAD("category_load"),
+        LOCATION_SEARCH("location_search"),
+        FILTER("filter");
+
+        private final String tagValue;
+
+        Stage(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    // A unit of work timed as one stage, may throw a checked exception such as IOException
+    @FunctionalInterface
+    public interface StageCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Counter azureCallsSucceeded;
+    private final Counter azureCallsFailed;
+    private final Counter enrichmentHits;
+    private final Counter enrichmentMisses;
+
+    @Autowired
+    public RecognitionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("recognition.stage.duration")
+                    .description("Latency of each image recognition stage")
+                    .tag("stage", stage.tagValue)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.azureCallsSucceeded = azureCallCounter("success");
+        this.azureCallsFailed = azureCallCounter("error");
+        this.enrichmentHits = enrichmentCounter("hit");
+        this.enrichmentMisses = enrichmentCounter("miss");
+    }
+
+    /**
+     * Runs a stage and records its latency; a failure is also counted against the stage
+     * @param stage The pipeline stage
+     * @param call The work done in the stage
+     * @return The result of the stage
+     */
+    public <T, E extends Exception> T record(Stage stage, StageCall<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return call.call();
+        } catch (Exception e) {
+            recordError(stage, e);
+            throw e;
+        } finally {
+            sample.stop(stageTimers.get(stage));
+        }
+    }
+
+    /**
+     * Records the latency of a stage measured by the caller
+     * @param stage The pipeline stage
+     * @param nanos The time spent in the stage
+     * @param failure The reason the stage failed, null if it succeeded
+     */
+    public void recordDuration(Stage stage, long nanos, Exception failure) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            recordError(stage, failure);
+        }
+    }
+
+    // Counts a request that actually reached Azure Vision
+    public void recordAzureCall(boolean succeeded) {
+        (succeeded ? azureCallsSucceeded : azureCallsFailed).increment();
+    }
+
+    // Counts an enrichment lookup served from, or missing in, the in-memory index
+    public void recordEnrichmentLookup(boolean hit) {
+        (hit ? enrichmentHits : enrichmentMisses).increment();
+    }
+
+    private void recordError(Stage stage, Exception e) {
+        meterRegistry.counter("recognition.errors",
+                "stage", stage.tagValue,
+                "exception", e.getClass().getSimpleName()).increment();
+    }
+
+    private Counter azureCallCounter(String outcome) {
+        return Counter.builder("recognition.azure.calls")
+                .description("Requests sent to Azure AI Vision")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter enrichmentCounter(String result) {
+        return Counter.builder("recognition.enrichment.lookups")
+                .description("Category enrichment lookups against the in-memory index")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
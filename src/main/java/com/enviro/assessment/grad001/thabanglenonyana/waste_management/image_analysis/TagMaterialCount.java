@@ -0,0 +1,43 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity class holding how often users confirmed a material for images carrying a given tag.
+ * The learned tag to material mapping is derived from these co-occurrence counts.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tag_material_counts",
+       uniqueConstraints = @UniqueConstraint(name = "uk_tag_material", columnNames = {"tag", "material"}))
+public class TagMaterialCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String tag;
+
+    @Column(nullable = false, length = 50)
+    private String material;
+
+    @Column(nullable = false)
+    private long occurrences;
+
+    public TagMaterialCount(String tag, String material) {
+        this.tag = tag;
+        this.material = material;
+    }
+}
@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TagMaterialCountRepository extends JpaRepository<TagMaterialCount, Long> {
+    List<TagMaterialCount> findByTagIn(Collection<String> tags);
+}
@@ -0,0 +1,199 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpHeaderName;
+import com.azure.core.http.HttpResponse;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.RateLimitExceededException;
+
+/**
+ * Token-bucket scheduler placed in front of the Azure Vision client.
+ * Waiting callers are ordered by priority (interactive uploads before batch jobs) and then
+ * by arrival. A caller whose estimated wait exceeds its queue deadline is rejected up front
+ * with a {@link RateLimitExceededException} instead of being sent to Azure and failing with a 429.
+ */
+@Component
+public class VisionRequestScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VisionRequestScheduler.class);
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final double permitsPerSecond;
+    private final double burstCapacity;
+    private final long interactiveMaxWaitNanos;
+    private final long batchMaxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queueChanged = lock.newCondition();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>();
+
+    // Guarded by lock
+    private double availablePermits;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+    private long nextSequence;
+
+    @Autowired
+    public VisionRequestScheduler(
+            @Value("${azure.vision.rate-limit.requests-per-second:10}") double permitsPerSecond,
+            @Value("${azure.vision.rate-limit.burst:10}") double burstCapacity,
+            @Value("${azure.vision.rate-limit.interactive-max-wait-ms:5000}") long interactiveMaxWaitMillis,
+            @Value("${azure.vision.rate-limit.batch-max-wait-ms:60000}") long batchMaxWaitMillis) {
+        if (permitsPerSecond <= 0 || burstCapacity < 1) {
+            throw new IllegalArgumentException("Azure Vision rate limit must allow at least one request");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burstCapacity = burstCapacity;
+        this.interactiveMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(interactiveMaxWaitMillis);
+        this.batchMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(batchMaxWaitMillis);
+        this.availablePermits = burstCapacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.blockedUntilNanos = lastRefillNanos;
+    }
+
+    /**
+     * Runs an Azure Vision call once a permit is available for the given priority
+     * @param priority The scheduling priority of the caller
+     * @param call The Azure Vision call to execute
+     * @return The result of the call
+     * @throws RateLimitExceededException if the call cannot be scheduled before its deadline,
+     *         or Azure itself reports the quota as exhausted
+     */
+    public <T> T submit(AnalysisPriority priority, Supplier<T> call) {
+        acquire(priority);
+        try {
+            return call.get();
+        } catch (HttpResponseException e) {
+            HttpResponse response = e.getResponse();
+            if (response == null || response.getStatusCode() != TOO_MANY_REQUESTS) {
+                throw e;
+            }
+            long retryAfterSeconds = parseRetryAfter(response.getHeaderValue(HttpHeaderName.RETRY_AFTER));
+            backOff(retryAfterSeconds);
+            logger.warn("Azure Vision returned 429, pausing dispatch for {}s", retryAfterSeconds);
+            throw new RateLimitExceededException("Azure Vision quota exceeded", retryAfterSeconds);
+        }
+    }
+
+    private void acquire(AnalysisPriority priority) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long deadline = now + (priority == AnalysisPriority.INTERACTIVE ? interactiveMaxWaitNanos : batchMaxWaitNanos);
+            refill(now);
+
+            Ticket ticket = new Ticket(priority, nextSequence++);
+            long estimatedWait = estimateWaitNanos(ticket, now);
+            if (now + estimatedWait > deadline) {
+                throw shed(priority, estimatedWait);
+            }
+
+            waiting.add(ticket);
+            try {
+                while (true) {
+                    if (waiting.peek() == ticket && availablePermits >= 1.0 && now >= blockedUntilNanos) {
+                        waiting.poll();
+                        availablePermits -= 1.0;
+                        return;
+                    }
+                    if (now >= deadline) {
+                        throw shed(priority, estimateWaitNanos(ticket, now));
+                    }
+                    queueChanged.awaitNanos(Math.min(deadline - now, nanosUntilNextPermit(now)));
+                    now = System.nanoTime();
+                    refill(now);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RateLimitExceededException("Interrupted while waiting for Azure Vision capacity", 1);
+            } finally {
+                waiting.remove(ticket);
+                queueChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void backOff(long retryAfterSeconds) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            blockedUntilNanos = Math.max(blockedUntilNanos, now + TimeUnit.SECONDS.toNanos(retryAfterSeconds));
+            availablePermits = 0;
+            lastRefillNanos = blockedUntilNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        if (now <= lastRefillNanos) {
+            return;
+        }
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        availablePermits = Math.min(burstCapacity, availablePermits + elapsedSeconds * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+
+    // Time until the given ticket would be dispatched if everything queued ahead of it goes first
+    private long estimateWaitNanos(Ticket ticket, long now) {
+        long ahead = waiting.stream().filter(other -> other != ticket && other.compareTo(ticket) < 0).count();
+        double permitsShort = ahead + 1 - availablePermits;
+        long refillWait = permitsShort <= 0 ? 0 : (long) (permitsShort / permitsPerSecond * 1_000_000_000L);
+        return Math.max(0, blockedUntilNanos - now) + refillWait;
+    }
+
+    private long nanosUntilNextPermit(long now) {
+        if (now < blockedUntilNanos) {
+            return blockedUntilNanos - now;
+        }
+        double missing = Math.max(0, 1.0 - availablePermits);
+        return Math.max(TimeUnit.MILLISECONDS.toNanos(1), (long) (missing / permitsPerSecond * 1_000_000_000L));
+    }
+
+    private RateLimitExceededException shed(AnalysisPriority priority, long estimatedWaitNanos) {
+        long retryAfterSeconds = (long) Math.ceil(estimatedWaitNanos / 1_000_000_000.0);
+        logger.warn("Shedding {} image analysis request, estimated queue wait {}ms exceeds deadline",
+                priority, TimeUnit.NANOSECONDS.toMillis(estimatedWaitNanos));
+        return new RateLimitExceededException("Azure Vision capacity exhausted, retry later", retryAfterSeconds);
+    }
+
+    private long parseRetryAfter(String headerValue) {
+        if (headerValue == null || headerValue.isBlank()) {
+            return 1;
+        }
+        try {
+            return Long.parseLong(headerValue.trim());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static final class Ticket implements Comparable<Ticket> {
+        private final AnalysisPriority priority;
+        private final long sequence;
+
+        private Ticket(AnalysisPriority priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Ticket other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
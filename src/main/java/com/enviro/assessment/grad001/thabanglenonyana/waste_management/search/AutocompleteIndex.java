@@ -0,0 +1,191 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationsChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository.LocationName;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.search.Suggestion.Type;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTip;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.TextNormalizer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Typeahead suggestions for category names, tip and guideline titles, location names and cities.
+ * Holds two immutable {@link SuggestionTrie}s, one for the content and one for the locations and cities,
+ * each rebuilt only when its own data changes and swapped in atomically, so lookups never touch the database
+ * and a tip edit does not reload every location name.
+ */
+@Component
+public class AutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+    private final WasteCategoryRepository categoryRepository;
+    private final RecyclingTipRepository tipRepository;
+    private final DisposalGuidelineRepository guidelineRepository;
+    private final RecyclingLocationRepository locationRepository;
+    private final TransactionTemplate readTransaction;
+    private final Timer lookupTimer;
+    // A slow rebuild of one trie can never overwrite a newer one, nor hold up the other trie
+    private final Object contentLock = new Object();
+    private final Object locationLock = new Object();
+
+    // Categories, tips and guidelines
+    private volatile SuggestionTrie contentTrie = SuggestionTrie.build(List.of());
+    // Locations and cities
+    private volatile SuggestionTrie locationTrie = SuggestionTrie.build(List.of());
+
+    @Autowired
+    public AutocompleteIndex(WasteCategoryRepository categoryRepository, RecyclingTipRepository tipRepository,
+            DisposalGuidelineRepository guidelineRepository, RecyclingLocationRepository locationRepository,
+            @Qualifier(ReadTransactionConfig.REFRESH_READ_TRANSACTION) TransactionTemplate readTransaction,
+            MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.tipRepository = tipRepository;
+        this.guidelineRepository = guidelineRepository;
+        this.locationRepository = locationRepository;
+        this.readTransaction = readTransaction;
+        this.lookupTimer = Timer.builder("search.autocomplete.duration")
+                .description("Latency of autocomplete lookups against the in-memory suggestion trie")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryContentChanged(CategoryContentChangedEvent event) {
+        logger.debug("Rebuilding content suggestions after {} {} changed", event.getContentType(),
+                event.getContentId());
+        rebuildContent();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationsChanged(LocationsChangedEvent event) {
+        logger.debug("Rebuilding location suggestions after {} locations changed", event.getChangedCount());
+        rebuildLocations();
+    }
+
+    /**
+     * Completes a prefix
+     * @param prefix What the user has typed so far, matched against the start of any word
+     * @param limit The maximum number of suggestions, at most {@link SuggestionTrie#MAX_SUGGESTIONS}
+     * @return The suggestions, most popular first
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        return lookupTimer.record(() -> SuggestionTrie.merge(
+                contentTrie.complete(prefix, limit), locationTrie.complete(prefix, limit), limit));
+    }
+
+    /**
+     * Reloads all names and publishes new tries
+     * @return The number of suggestions in the new tries
+     */
+    public int rebuild() {
+        return rebuildContent() + rebuildLocations();
+    }
+
+    /**
+     * Reloads the category names and tip and guideline titles and publishes a new content trie
+     * @return The number of suggestions in the new trie
+     */
+    public int rebuildContent() {
+        synchronized (contentLock) {
+            List<Suggestion> suggestions = readTransaction.execute(status -> loadContentSuggestions());
+            contentTrie = SuggestionTrie.build(suggestions);
+            logger.info("Autocomplete content rebuilt with {} suggestions", suggestions.size());
+            return suggestions.size();
+        }
+    }
+
+    /**
+     * Reloads the location names and cities and publishes a new location trie
+     * @return The number of suggestions in the new trie
+     */
+    public int rebuildLocations() {
+        synchronized (locationLock) {
+            List<Suggestion> suggestions = readTransaction.execute(status -> loadLocationSuggestions());
+            locationTrie = SuggestionTrie.build(suggestions);
+            logger.info("Autocomplete locations rebuilt with {} suggestions", suggestions.size());
+            return suggestions.size();
+        }
+    }
+
+    private List<Suggestion> loadContentSuggestions() {
+        List<Suggestion> suggestions = new ArrayList<>();
+        Map<Long, Long> contentPerCategory = new HashMap<>();
+
+        for (RecyclingTip tip : tipRepository.findAll()) {
+            suggestions.add(suggestion(Type.TIP, tip.getId(), tip.getTitle(), null, 1));
+            if (tip.getCategory() != null) {
+                contentPerCategory.merge(tip.getCategory().getId(), 1L, Long::sum);
+            }
+        }
+        for (DisposalGuideline guideline : guidelineRepository.findAll()) {
+            suggestions.add(suggestion(Type.GUIDELINE, guideline.getId(), guideline.getTitle(), null, 1));
+            if (guideline.getCategory() != null) {
+                contentPerCategory.merge(guideline.getCategory().getId(), 1L, Long::sum);
+            }
+        }
+        for (WasteCategory category : categoryRepository.findAll()) {
+            suggestions.add(suggestion(Type.CATEGORY, category.getId(), category.getName(), null,
+                    1 + contentPerCategory.getOrDefault(category.getId(), 0L)));
+        }
+        return suggestions;
+    }
+
+    private List<Suggestion> loadLocationSuggestions() {
+        List<Suggestion> suggestions = new ArrayList<>();
+        // Cities are grouped case-insensitively and keep the first spelling seen
+        Map<String, String> cityNames = new LinkedHashMap<>();
+        Map<String, Long> locationsPerCity = new HashMap<>();
+        for (LocationName location : locationRepository.findAllNames()) {
+            suggestions.add(suggestion(Type.LOCATION, location.getId(), location.getName(), location.getCity(), 1));
+            String cityKey = TextNormalizer.normalize(location.getCity());
+            if (!cityKey.isEmpty()) {
+                cityNames.putIfAbsent(cityKey, location.getCity().trim());
+                locationsPerCity.merge(cityKey, 1L, Long::sum);
+            }
+        }
+        cityNames.forEach((cityKey, city) ->
+                suggestions.add(suggestion(Type.CITY, null, city, null, locationsPerCity.get(cityKey))));
+        return suggestions;
+    }
+
+    private static Suggestion suggestion(Type type, Long id, String text, String detail, long popularity) {
+        return Suggestion.builder()
+                .type(type)
+                .id(id)
+                .text(text)
+                .detail(detail)
+                .popularity(popularity)
+                .build();
+    }
+}
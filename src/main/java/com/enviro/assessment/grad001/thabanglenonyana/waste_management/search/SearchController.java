@@ -0,0 +1,69 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.search;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for full-text search over recycling tips and disposal guidelines,
+ * and for typeahead suggestions of category, tip, guideline, location and city names
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Full-text search and autocomplete APIs")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+
+    // Search tips and guidelines
+    @Operation(
+        summary = "Search tips and guidelines",
+        description = "Ranked full-text search over tip titles, steps, environmental impact and required materials "
+            + "and over guideline titles and instructions. Words also match longer words they start with, "
+            + "and words with a typo or two when nothing matches exactly."
+    )
+    @ApiResponse(responseCode = "200", description = "Hits found, best first; may be empty")
+    @ApiResponse(responseCode = "400", description = "Blank query or invalid limit")
+    @GetMapping
+    public ResponseEntity<List<SearchHit>> search(
+            @Parameter(description = "Search text") @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of hits, at most 100") @RequestParam(defaultValue = "20") int limit) {
+        if (query.isBlank() || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(searchIndex.search(query, Math.min(limit, MAX_LIMIT)));
+    }
+
+    // Suggest names as the user types
+    @Operation(
+        summary = "Autocomplete names",
+        description = "Suggests categories, tips, guidelines, locations and cities having a word that starts with the "
+            + "typed prefix, most popular first. Categories rank by how many tips and guidelines they hold, "
+            + "cities by how many locations they have."
+    )
+    @ApiResponse(responseCode = "200", description = "Suggestions found; may be empty")
+    @ApiResponse(responseCode = "400", description = "Blank prefix or invalid limit")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<Suggestion>> autocomplete(
+            @Parameter(description = "Typed prefix") @RequestParam("q") String prefix,
+            @Parameter(description = "Maximum number of suggestions, at most 10") @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank() || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(autocompleteIndex.complete(prefix, limit));
+    }
+}
@@ -0,0 +1,27 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.search;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent.ContentType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ranked result of a full-text search, pointing at a recycling tip or a disposal guideline.
+ * The snippet is the title, step or instruction text that matched best.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+
+    private ContentType type;
+    private Long id;
+    private String title;
+    private Long categoryId;
+    private String categoryName;
+    private String snippet;
+    private double score;
+}
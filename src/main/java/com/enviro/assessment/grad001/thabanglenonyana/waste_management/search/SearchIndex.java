@@ -0,0 +1,363 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent.ContentType;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTip;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+
+/**
+ * In-memory inverted index over recycling tip titles, steps, environmental impact and required
+ * materials, and over disposal guideline titles and instructions.
+ * Results are ranked with BM25, title terms weigh more than body terms, and every query term also
+ * matches longer terms starting with it and, when it matches nothing, terms one or two typos away.
+ * A committed change to a single tip or guideline re-indexes just that document; category changes
+ * and bulk writes rebuild the index, since they can touch many documents at once.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    // BM25 term frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final double TITLE_WEIGHT = 3.0;
+
+    // Expanded terms count for less than the term that was actually typed
+    private static final double PREFIX_FACTOR = 0.6;
+    private static final double TYPO_FACTOR = 0.4;
+
+    // Bounds the work of very short prefixes such as "p"
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final RecyclingTipRepository tipRepository;
+    private final DisposalGuidelineRepository guidelineRepository;
+    private final TransactionTemplate readTransaction;
+    private final Timer queryTimer;
+
+    private volatile Segment segment = new Segment();
+
+    @Autowired
+    public SearchIndex(RecyclingTipRepository tipRepository, DisposalGuidelineRepository guidelineRepository,
+            @Qualifier(ReadTransactionConfig.REFRESH_READ_TRANSACTION) TransactionTemplate readTransaction,
+            MeterRegistry meterRegistry) {
+        this.tipRepository = tipRepository;
+        this.guidelineRepository = guidelineRepository;
+        this.readTransaction = readTransaction;
+        this.queryTimer = Timer.builder("search.query.duration")
+                .description("Latency of full-text queries against the in-memory search index")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryContentChanged(CategoryContentChangedEvent event) {
+        Long id = event.getContentId();
+        if (id == null || event.getContentType() == ContentType.CATEGORY) {
+            rebuild();
+        } else if (event.getContentType() == ContentType.TIP) {
+            reindexTip(id);
+        } else {
+            reindexGuideline(id);
+        }
+    }
+
+    /**
+     * Searches tips and guidelines
+     * @param query Free text, matched term by term
+     * @param limit The maximum number of hits to return
+     * @return The hits, best first; empty if the query has no searchable terms
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return queryTimer.record(() -> rank(query, limit));
+    }
+
+    // Number of indexed tips and guidelines
+    public int size() {
+        return segment.documents.size();
+    }
+
+    /**
+     * Reloads every tip and guideline and publishes a new index.
+     * Synchronized with the single document updates so a rebuild never loses one of them.
+     * @return The number of indexed documents
+     */
+    public synchronized int rebuild() {
+        Segment fresh = new Segment();
+        readTransaction.executeWithoutResult(status -> {
+            tipRepository.findAllWithCategory().forEach(tip -> fresh.put(toDocument(tip)));
+            guidelineRepository.findAllWithCategory().forEach(guideline -> fresh.put(toDocument(guideline)));
+        });
+        segment = fresh;
+        logger.info("Search index rebuilt with {} documents", fresh.documents.size());
+        return fresh.documents.size();
+    }
+
+    private synchronized void reindexTip(Long id) {
+        IndexedDocument document = readTransaction.execute(status -> tipRepository.findWithCategoryById(id)
+                .map(SearchIndex::toDocument)
+                .orElse(null));
+        replace(new DocumentKey(ContentType.TIP, id), document);
+    }
+
+    private synchronized void reindexGuideline(Long id) {
+        IndexedDocument document = readTransaction.execute(status -> guidelineRepository.findWithCategoryById(id)
+                .map(SearchIndex::toDocument)
+                .orElse(null));
+        replace(new DocumentKey(ContentType.GUIDELINE, id), document);
+    }
+
+    // Swaps in the new version of a document, or drops it when it was deleted
+    private void replace(DocumentKey key, IndexedDocument document) {
+        if (document != null) {
+            segment.put(document);
+        } else {
+            segment.remove(key);
+        }
+    }
+
+    private List<SearchHit> rank(String query, int limit) {
+        List<String> queryTerms = TextAnalyzer.terms(query).stream().distinct().toList();
+        Segment current = segment;
+        if (queryTerms.isEmpty() || current.documents.isEmpty()) {
+            return List.of();
+        }
+
+        Map<DocumentKey, Double> scores = new HashMap<>();
+        Map<DocumentKey, Integer> matchedTerms = new HashMap<>();
+        for (String term : queryTerms) {
+            scoreTerm(current, term).forEach((key, score) -> {
+                scores.merge(key, score, Double::sum);
+                matchedTerms.merge(key, 1, Integer::sum);
+            });
+        }
+
+        // Documents matching only some of the query terms are ranked down in proportion
+        List<SearchHit> hits = new ArrayList<>();
+        scores.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(),
+                        entry.getValue() * matchedTerms.get(entry.getKey()) / queryTerms.size()))
+                .sorted(Map.Entry.<DocumentKey, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> {
+                    IndexedDocument document = current.documents.get(entry.getKey());
+                    if (document != null) {
+                        hits.add(document.toHit(entry.getValue(), queryTerms));
+                    }
+                });
+        return hits;
+    }
+
+    // Best contribution of one query term per document, over the term itself and its prefix and typo expansions
+    private static Map<DocumentKey, Double> scoreTerm(Segment current, String term) {
+        Map<DocumentKey, Double> best = new HashMap<>();
+        Map<DocumentKey, Double> exact = current.postings.get(term);
+        if (exact != null) {
+            accumulate(current, exact, 1.0, best);
+        }
+
+        int expansions = 0;
+        for (Map<DocumentKey, Double> postings : current.postings
+                .subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+            if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            accumulate(current, postings, PREFIX_FACTOR, best);
+        }
+
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (best.isEmpty() && maxEdits > 0) {
+            // Only terms with the same first letter are compared, typos rarely hit the first character
+            String first = term.substring(0, 1);
+            current.postings.subMap(first, true, first + Character.MAX_VALUE, false).forEach((candidate, postings) -> {
+                if (TextAnalyzer.withinEditDistance(term, candidate, maxEdits)) {
+                    accumulate(current, postings, TYPO_FACTOR, best);
+                }
+            });
+        }
+        return best;
+    }
+
+    private static void accumulate(Segment current, Map<DocumentKey, Double> postings, double factor,
+            Map<DocumentKey, Double> best) {
+        double documentCount = current.documents.size();
+        double idf = Math.log(1 + (documentCount - postings.size() + 0.5) / (postings.size() + 0.5));
+        double averageLength = current.averageLength();
+        postings.forEach((key, frequency) -> {
+            IndexedDocument document = current.documents.get(key);
+            if (document == null) {
+                return;
+            }
+            double norm = K1 * (1 - B + B * document.length / averageLength);
+            double score = factor * idf * frequency * (K1 + 1) / (frequency + norm);
+            best.merge(key, score, Math::max);
+        });
+    }
+
+    private static IndexedDocument toDocument(RecyclingTip tip) {
+        List<String> body = new ArrayList<>(tip.getSteps());
+        body.add(tip.getEnvironmentalImpact());
+        body.add(tip.getRequiredMaterials());
+        return IndexedDocument.of(new DocumentKey(ContentType.TIP, tip.getId()), tip.getTitle(), tip.getCategory(), body);
+    }
+
+    private static IndexedDocument toDocument(DisposalGuideline guideline) {
+        return IndexedDocument.of(new DocumentKey(ContentType.GUIDELINE, guideline.getId()), guideline.getTitle(),
+                guideline.getCategory(), List.of(guideline.getInstructions()));
+    }
+
+    @Value
+    private static class DocumentKey {
+        ContentType type;
+        long id;
+    }
+
+    // One indexed tip or guideline: what a hit shows, and the term frequencies needed to score and unindex it
+    private static final class IndexedDocument {
+
+        private final DocumentKey key;
+        private final String title;
+        private final Long categoryId;
+        private final String categoryName;
+        private final List<String> passages;
+        private final Map<String, Double> termFrequencies;
+        private final int length;
+
+        private IndexedDocument(DocumentKey key, String title, Long categoryId, String categoryName,
+                List<String> passages, Map<String, Double> termFrequencies, int length) {
+            this.key = key;
+            this.title = title;
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+            this.passages = passages;
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+
+        static IndexedDocument of(DocumentKey key, String title, WasteCategory category, List<String> body) {
+            Map<String, Double> termFrequencies = new HashMap<>();
+            List<String> passages = new ArrayList<>();
+            passages.add(title);
+            int length = 0;
+            for (String term : TextAnalyzer.terms(title)) {
+                termFrequencies.merge(term, TITLE_WEIGHT, Double::sum);
+                length++;
+            }
+            for (String passage : body) {
+                if (passage == null || passage.isBlank()) {
+                    continue;
+                }
+                passages.add(passage);
+                for (String term : TextAnalyzer.terms(passage)) {
+                    termFrequencies.merge(term, 1.0, Double::sum);
+                    length++;
+                }
+            }
+            return new IndexedDocument(key, title,
+                    category != null ? category.getId() : null,
+                    category != null ? category.getName() : null,
+                    List.copyOf(passages), Map.copyOf(termFrequencies), length);
+        }
+
+        SearchHit toHit(double score, List<String> queryTerms) {
+            return SearchHit.builder()
+                    .type(key.getType())
+                    .id(key.getId())
+                    .title(title)
+                    .categoryId(categoryId)
+                    .categoryName(categoryName)
+                    .snippet(snippet(queryTerms))
+                    .score(score)
+                    .build();
+        }
+
+        // The passage containing the most query terms, the title when no passage does better
+        private String snippet(List<String> queryTerms) {
+            String best = title;
+            int bestMatches = 0;
+            for (String passage : passages) {
+                List<String> passageTerms = TextAnalyzer.terms(passage);
+                int matches = 0;
+                for (String queryTerm : queryTerms) {
+                    if (passageTerms.stream().anyMatch(term -> term.startsWith(queryTerm))) {
+                        matches++;
+                    }
+                }
+                if (matches > bestMatches) {
+                    best = passage;
+                    bestMatches = matches;
+                }
+            }
+            return best;
+        }
+    }
+
+    // Documents and postings of one index generation; a rebuild swaps in a new segment, single updates edit it in place
+    private static final class Segment {
+
+        private final Map<DocumentKey, IndexedDocument> documents = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<String, Map<DocumentKey, Double>> postings = new ConcurrentSkipListMap<>();
+        private final AtomicLong totalLength = new AtomicLong();
+
+        void put(IndexedDocument document) {
+            remove(document.key);
+            documents.put(document.key, document);
+            totalLength.addAndGet(document.length);
+            document.termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(document.key, frequency));
+        }
+
+        void remove(DocumentKey key) {
+            IndexedDocument document = documents.remove(key);
+            if (document == null) {
+                return;
+            }
+            totalLength.addAndGet(-document.length);
+            for (String term : document.termFrequencies.keySet()) {
+                postings.computeIfPresent(term, (t, documentsWithTerm) -> {
+                    documentsWithTerm.remove(key);
+                    return documentsWithTerm.isEmpty() ? null : documentsWithTerm;
+                });
+            }
+        }
+
+        double averageLength() {
+            int count = documents.size();
+            return count == 0 ? 1.0 : Math.max(1.0, (double) totalLength.get() / count);
+        }
+    }
+}
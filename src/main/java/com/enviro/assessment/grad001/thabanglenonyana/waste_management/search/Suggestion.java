@@ -0,0 +1,31 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One autocomplete suggestion. Popularity is the number of things the suggestion stands for:
+ * tips and guidelines in a category, locations in a city, and 1 for a single tip, guideline or location.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+
+    public enum Type {
+        CATEGORY,
+        TIP,
+        GUIDELINE,
+        LOCATION,
+        CITY
+    }
+
+    private Type type;
+    private Long id; // null for cities
+    private String text;
+    private String detail; // the city of a location
+    private long popularity;
+}
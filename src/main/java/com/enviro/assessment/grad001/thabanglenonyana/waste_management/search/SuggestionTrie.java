@@ -0,0 +1,193 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.TextNormalizer;
+
+/**
+ * Immutable compressed prefix trie (radix tree) of suggestion texts.
+ * Every word start of a text is a key, so "bott" completes "Plastic Bottle Planters", and every node
+ * holds the top suggestions of its subtree, so a lookup costs one walk down the prefix and no ranking.
+ * Keys are lower-cased with accents and punctuation removed, see {@link TextNormalizer#normalize(String)}.
+ */
+public final class SuggestionTrie {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong(Suggestion::getPopularity).reversed()
+            .thenComparing(Suggestion::getText, String.CASE_INSENSITIVE_ORDER);
+
+    private static final Node EMPTY = new Node(new char[0], new String[0], new Node[0], new Suggestion[0]);
+
+    private final Node root;
+    private final int keyCount;
+
+    private SuggestionTrie(Node root, int keyCount) {
+        this.root = root;
+        this.keyCount = keyCount;
+    }
+
+    /**
+     * Builds a trie over the given suggestions
+     * @param suggestions The suggestions, texts need not be unique
+     * @return The trie
+     */
+    public static SuggestionTrie build(Collection<Suggestion> suggestions) {
+        List<Key> keys = new ArrayList<>();
+        for (Suggestion suggestion : suggestions) {
+            String text = TextNormalizer.normalize(suggestion.getText());
+            for (int i = 0; i < text.length(); i++) {
+                if (i == 0 || text.charAt(i - 1) == ' ') {
+                    keys.add(new Key(text.substring(i), suggestion));
+                }
+            }
+        }
+        keys.sort(Comparator.comparing(key -> key.text));
+        Node root = keys.isEmpty() ? EMPTY : build(keys, 0, keys.size(), 0);
+        return new SuggestionTrie(root, keys.size());
+    }
+
+    /**
+     * Looks up the most popular suggestions having a word that starts with the prefix
+     * @param prefix What the user has typed so far
+     * @param limit The maximum number of suggestions, at most {@link #MAX_SUGGESTIONS}
+     * @return The suggestions, most popular first; empty for a blank prefix
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        String key = TextNormalizer.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = Arrays.binarySearch(node.firstChars, key.charAt(position));
+            if (index < 0) {
+                return List.of();
+            }
+            String label = node.labels[index];
+            int remaining = key.length() - position;
+            if (remaining <= label.length()) {
+                // The prefix ends inside this edge, the child's subtree holds all completions
+                return label.regionMatches(0, key, position, remaining) ? top(node.children[index], limit) : List.of();
+            }
+            if (!key.startsWith(label, position)) {
+                return List.of();
+            }
+            node = node.children[index];
+            position += label.length();
+        }
+        return top(node, limit);
+    }
+
+    // Number of word-start keys in the trie
+    public int size() {
+        return keyCount;
+    }
+
+    /**
+     * Merges the completions of two tries holding different suggestions into one ranking
+     * @param first Completions of one trie, most popular first
+     * @param second Completions of the other trie, most popular first
+     * @param limit The maximum number of suggestions, at most {@link #MAX_SUGGESTIONS}
+     * @return The most popular suggestions of both
+     */
+    public static List<Suggestion> merge(List<Suggestion> first, List<Suggestion> second, int limit) {
+        List<Suggestion> merged = new ArrayList<>(first.size() + second.size());
+        merged.addAll(first);
+        merged.addAll(second);
+        merged.sort(RANKING);
+        return List.copyOf(merged.subList(0, Math.min(Math.min(limit, MAX_SUGGESTIONS), merged.size())));
+    }
+
+    private static List<Suggestion> top(Node node, int limit) {
+        int count = Math.min(Math.min(limit, MAX_SUGGESTIONS), node.top.length);
+        return List.of(node.top).subList(0, count);
+    }
+
+    // Builds the node for keys[from, to), which all share their first depth characters; keys are sorted
+    private static Node build(List<Key> keys, int from, int to, int depth) {
+        List<Suggestion> candidates = new ArrayList<>();
+        int i = from;
+        // Keys ending at this node sort before their longer siblings
+        while (i < to && keys.get(i).text.length() == depth) {
+            candidates.add(keys.get(i).suggestion);
+            i++;
+        }
+
+        List<Character> firstChars = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+        while (i < to) {
+            char first = keys.get(i).text.charAt(depth);
+            int end = i + 1;
+            while (end < to && keys.get(end).text.charAt(depth) == first) {
+                end++;
+            }
+            // In a sorted run the first and last keys share the shortest common prefix
+            int edgeEnd = commonPrefixEnd(keys.get(i).text, keys.get(end - 1).text, depth + 1);
+            Node child = build(keys, i, end, edgeEnd);
+            firstChars.add(first);
+            labels.add(keys.get(i).text.substring(depth, edgeEnd));
+            children.add(child);
+            candidates.addAll(Arrays.asList(child.top));
+            i = end;
+        }
+
+        char[] firstCharArray = new char[firstChars.size()];
+        for (int c = 0; c < firstCharArray.length; c++) {
+            firstCharArray[c] = firstChars.get(c);
+        }
+        return new Node(firstCharArray, labels.toArray(new String[0]), children.toArray(new Node[0]), rank(candidates));
+    }
+
+    // The best distinct suggestions; one text can reach a node through several of its words
+    private static Suggestion[] rank(List<Suggestion> candidates) {
+        Set<Suggestion> distinct = new LinkedHashSet<>(candidates);
+        return distinct.stream()
+                .sorted(RANKING)
+                .limit(MAX_SUGGESTIONS)
+                .toArray(Suggestion[]::new);
+    }
+
+    private static int commonPrefixEnd(String a, String b, int from) {
+        int end = from;
+        int max = Math.min(a.length(), b.length());
+        while (end < max && a.charAt(end) == b.charAt(end)) {
+            end++;
+        }
+        return end;
+    }
+
+    private static final class Key {
+        private final String text;
+        private final Suggestion suggestion;
+
+        private Key(String text, Suggestion suggestion) {
+            this.text = text;
+            this.suggestion = suggestion;
+        }
+    }
+
+    // Children are ordered by the first character of their edge label, for binary search
+    private static final class Node {
+        private final char[] firstChars;
+        private final String[] labels;
+        private final Node[] children;
+        private final Suggestion[] top;
+
+        private Node(char[] firstChars, String[] labels, Node[] children, Suggestion[] top) {
+            this.firstChars = firstChars;
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+    }
+}
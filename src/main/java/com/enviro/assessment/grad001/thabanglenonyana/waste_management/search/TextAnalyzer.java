@@ -0,0 +1,114 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns tip and guideline text into index terms: lower-cased letter/digit runs with common
+ * English stop words dropped and plurals folded to their singular form.
+ * The same analysis is applied to documents and queries so both sides produce the same terms.
+ */
+public final class TextAnalyzer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "if", "in", "into", "is", "it",
+        "its", "of", "on", "or", "so", "that", "the", "then", "them", "this", "to", "up", "with", "you", "your"
+    );
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Splits text into index terms, in order of appearance and including repeats
+     * @param text The text to analyze, may be null
+     * @return The terms, empty if the text has none
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(terms, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Checks whether two terms are within a number of edits of each other, counting an insertion,
+     * deletion, substitution or swap of two neighbouring characters as one edit
+     * @param a The first term
+     * @param b The second term
+     * @param maxEdits The largest distance still considered a match
+     * @return true if the distance is at most maxEdits
+     */
+    public static boolean withinEditDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return false;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previousPrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMinimum = Math.min(rowMinimum, distance);
+            }
+            // No cell in this row is close enough, so no later row can be either
+            if (rowMinimum > maxEdits) {
+                return false;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private static void addTerm(List<String> terms, String word) {
+        if (word.length() < MIN_TERM_LENGTH || STOP_WORDS.contains(word)) {
+            return;
+        }
+        terms.add(singular(word));
+    }
+
+    // Light plural folding, enough for "bottles" to match "bottle" and "batteries" to match "battery"
+    private static String singular(String word) {
+        if (word.length() <= 3 || Character.isDigit(word.charAt(word.length() - 1))) {
+            return word;
+        }
+        if (word.endsWith("ies") && word.length() > 4) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.endsWith("sses") || word.endsWith("shes") || word.endsWith("ches") || word.endsWith("xes")) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
@@ -1,26 +1,42 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip;
 
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
@@ -33,14 +49,20 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
  * Provides helpful information about recycling specific types of waste.
  */
 @Entity
+@NamedEntityGraph(name = RecyclingTip.GRAPH_WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "recycling_tips")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recyclingTip")
 public class RecyclingTip {
 
+    public static final String GRAPH_WITH_CATEGORY = "RecyclingTip.withCategory";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY, so inserts can be sent in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recycling_tips_seq")
+    @SequenceGenerator(name = "recycling_tips_seq", sequenceName = "recycling_tips_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -48,10 +70,15 @@ public class RecyclingTip {
     @Column(unique = true, nullable = false, length = 100)
     private String title;
 
-    @NotBlank(message = "Steps are required")
-    @Column(columnDefinition = "json")
-    @Convert(converter = JsonConverter.class)
-    private List<String> steps;
+    // One row per step in recycling_tip_steps, loaded for all tips of a query in a single subselect
+    @NotEmpty(message = "Steps are required")
+    @ElementCollection
+    @CollectionTable(name = "recycling_tip_steps", joinColumns = @JoinColumn(name = "tip_id"))
+    @OrderColumn(name = "step_order")
+    @Column(name = "step", nullable = false, length = 500)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recyclingTip.steps")
+    private List<String> steps = new ArrayList<>();
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -67,7 +94,9 @@ public class RecyclingTip {
     private String requiredMaterials;
 
     @JsonBackReference
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private WasteCategory category;
 
@@ -77,5 +106,11 @@ public class RecyclingTip {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // Optimistic lock, checked in the WHERE clause of every update and served as the resource's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
 
@@ -1,14 +1,27 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,13 +31,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedList;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedListResponseWriter;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.VersionTag;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.StaleResourceException;
 
 /**
  * Controller for managing recycling tips
@@ -36,24 +55,54 @@ import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception
 @Tag(name = "Recycling Tips", description = "Recycling tip management APIs")
 public class RecyclingTipController {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORT_FIELDS = Set.of("id", "title", "difficulty", "timeRequired");
+
     private final RecyclingTipService tipService;
+    private final CachedListResponseWriter responseWriter;
 
     // Get all recycling tips
     @Operation(
         summary = "Get all recycling tips",
         description = "Retrieves a list of all recycling tips"
     )
-    @ApiResponse(responseCode = "200", description = "Tips found successfully")
+    @ApiResponse(responseCode = "200", description = "Tips found successfully",
+        content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = RecyclingTipDTO.class))))
+    @ApiResponse(responseCode = "304", description = "Tips unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "500", description = "Internal server error")
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<RecyclingTipDTO>> getAllRecyclingTips() {
+    public void getAllRecyclingTips(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CachedList<RecyclingTipDTO> tips;
         try {
-            List<RecyclingTipDTO> tips = tipService.getAllTips();
-            return ResponseEntity.ok(tips);
+            tips = tipService.getCachedTips();
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
         }
+        responseWriter.write(tips, request, response);
+    }
+
+    // Get one page of recycling tips
+    @Operation(
+        summary = "Get a page of recycling tips",
+        description = "Retrieves recycling tips one page at a time, optionally filtered by difficulty, category and time required"
+    )
+    @ApiResponse(responseCode = "200", description = "Page of tips found successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid page, size, sort or filter")
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<Page<RecyclingTipSummaryDTO>> getTipPage(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field: id, title, difficulty or timeRequired") @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Difficulty filter") @RequestParam(required = false) DifficultyLevel difficulty,
+            @Parameter(description = "Category filter") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Time required filter, e.g. 30 minutes") @RequestParam(required = false) String timeRequired) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE || !SORT_FIELDS.contains(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sort, "id"));
+        return ResponseEntity.ok(tipService.getTipPage(difficulty, categoryId, timeRequired, pageable));
     }
 
     // Get recycling tip by ID
@@ -61,14 +110,14 @@ public class RecyclingTipController {
         summary = "Get recycling tip by ID",
         description = "Retrieves a specific recycling tip using its ID"
     )
-    @ApiResponse(responseCode = "200", description = "Tip found")
+    @ApiResponse(responseCode = "200", description = "Tip found, its version in the ETag header")
     @ApiResponse(responseCode = "404", description = "Tip not found")
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<RecyclingTipDTO> findById(@PathVariable Long id) {
         try {
             RecyclingTipDTO tip = tipService.getTipById(id);
-            return ResponseEntity.ok(tip);
+            return ResponseEntity.ok().eTag(VersionTag.of(tip.getVersion())).body(tip);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -95,19 +144,81 @@ public class RecyclingTipController {
         }
     }
 
+    // Create several recycling tips at once
+    @Operation(
+        summary = "Create recycling tips in bulk",
+        description = "Creates up to 1000 recycling tips in one transaction; if any of them is rejected none are created"
+    )
+    @ApiResponse(responseCode = "201", description = "Tips created successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "404", description = "Category not found")
+    @ApiResponse(responseCode = "409", description = "Tip title already exists or is repeated in the request")
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<List<RecyclingTipDTO>> createBulk(@RequestBody List<RecyclingTipDTO> tipDTOs) {
+        try {
+            List<RecyclingTipDTO> created = tipService.createTips(tipDTOs);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (DuplicateResourceException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ConstraintViolationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Update several recycling tips at once
+    @Operation(
+        summary = "Update recycling tips in bulk",
+        description = "Updates up to 1000 recycling tips, identified by their ids, in one transaction; if any of them is rejected none are changed"
+    )
+    @ApiResponse(responseCode = "200", description = "Tips updated successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid input, a missing id or an id given twice")
+    @ApiResponse(responseCode = "404", description = "Tip or category not found")
+    @ApiResponse(responseCode = "409", description = "Tip title already taken or repeated in the request")
+    @PutMapping("/bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<RecyclingTipDTO>> updateBulk(@RequestBody List<RecyclingTipDTO> tipDTOs) {
+        try {
+            List<RecyclingTipDTO> updated = tipService.updateTips(tipDTOs);
+            return ResponseEntity.ok(updated);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (DuplicateResourceException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ConstraintViolationException | IllegalOperationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Update recycling tip
+    @Operation(
+        summary = "Update recycling tip",
+        description = "Updates an existing recycling tip; send the ETag from a previous read in If-Match to reject the update when the tip changed since"
+    )
+    @ApiResponse(responseCode = "200", description = "Tip updated successfully, its new version in the ETag header")
+    @ApiResponse(responseCode = "404", description = "Tip not found")
+    @ApiResponse(responseCode = "409", description = "Tip title already exists, or the tip was changed concurrently")
+    @ApiResponse(responseCode = "412", description = "Tip no longer matches If-Match")
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<RecyclingTipDTO> update(
             @PathVariable Long id, 
-            @Valid @RequestBody RecyclingTipDTO tipDTO) {
+            @Valid @RequestBody RecyclingTipDTO tipDTO,
+            @Parameter(description = "ETag of the tip as last read") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
+            if (ifMatch != null) {
+                tipDTO.setVersion(VersionTag.parse(ifMatch));
+            }
             RecyclingTipDTO updated = tipService.updateTip(id, tipDTO);
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok().eTag(VersionTag.of(updated.getVersion())).body(updated);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         } catch (DuplicateResourceException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (StaleResourceException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         }
     }
 
@@ -128,26 +239,33 @@ public class RecyclingTipController {
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<RecyclingTipDTO> assignToCategory(
             @PathVariable Long tipId,
-            @PathVariable Long categoryId) {
+            @PathVariable Long categoryId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            RecyclingTipDTO updated = tipService.assignToCategory(tipId, categoryId);
-            return ResponseEntity.ok(updated);
+            RecyclingTipDTO updated = tipService.assignToCategory(tipId, categoryId, VersionTag.parse(ifMatch));
+            return ResponseEntity.ok().eTag(VersionTag.of(updated.getVersion())).body(updated);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         } catch (IllegalOperationException e) {
             return ResponseEntity.badRequest().build();
+        } catch (StaleResourceException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         }
     }
 
     // Unassign tip from current category
     @PatchMapping("/{tipId}/unassign")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<RecyclingTipDTO> unassignTip(@PathVariable Long tipId) {
+    public ResponseEntity<RecyclingTipDTO> unassignTip(
+            @PathVariable Long tipId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            RecyclingTipDTO updated = tipService.unassignTip(tipId);
-            return ResponseEntity.ok(updated);
+            RecyclingTipDTO updated = tipService.unassignTip(tipId, VersionTag.parse(ifMatch));
+            return ResponseEntity.ok().eTag(VersionTag.of(updated.getVersion())).body(updated);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (StaleResourceException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         }
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.util.List;
@@ -18,7 +19,7 @@ public class RecyclingTipDTO {
     private String title;
     
     @NotEmpty(message = "Steps are required")
-    private List<String> steps;
+    private List<@NotBlank(message = "Steps must not be blank") @Size(max = 500, message = "Steps must be at most 500 characters") String> steps;
     
     @NotNull(message = "Difficulty level is required")
     private DifficultyLevel difficulty;
@@ -31,6 +32,9 @@ public class RecyclingTipDTO {
     private String requiredMaterials;
     
     private Long categoryId;
+
+    // Version the client last saw, compared on update like If-Match
+    private Long version;
     
     
 }
\ No newline at end of file
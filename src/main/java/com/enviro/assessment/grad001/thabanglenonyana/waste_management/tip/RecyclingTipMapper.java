@@ -1,5 +1,8 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
@@ -24,11 +27,12 @@ public class RecyclingTipMapper {
         RecyclingTipDTO dto = new RecyclingTipDTO();
         dto.setId(tip.getId());
         dto.setTitle(tip.getTitle());
-        dto.setSteps(tip.getSteps()); // Direct assignment since both use List<String>
+        dto.setSteps(tip.getSteps() != null ? new ArrayList<>(tip.getSteps()) : null); // Copied so the DTO does not hold the Hibernate collection
         dto.setDifficulty(tip.getDifficulty());
         dto.setEnvironmentalImpact(tip.getEnvironmentalImpact());
         dto.setTimeRequired(tip.getTimeRequired());
         dto.setRequiredMaterials(tip.getRequiredMaterials());
+        dto.setVersion(tip.getVersion());
         
         // Safe category mapping with null checks
         if (tip.getCategory() != null) {
@@ -43,6 +47,26 @@ public class RecyclingTipMapper {
         return dto;
     }
 
+    /**
+     * Converts a projected tip row and its steps to the paged listing representation
+     * @param summary The projected tip row
+     * @param steps The tip's steps, in order
+     * @return RecyclingTipSummaryDTO with mapped data
+     */
+    public RecyclingTipSummaryDTO toSummaryDTO(RecyclingTipSummary summary, List<String> steps) {
+        RecyclingTipSummaryDTO dto = new RecyclingTipSummaryDTO();
+        dto.setId(summary.getId());
+        dto.setTitle(summary.getTitle());
+        dto.setSteps(steps);
+        dto.setDifficulty(summary.getDifficulty());
+        dto.setEnvironmentalImpact(summary.getEnvironmentalImpact());
+        dto.setTimeRequired(summary.getTimeRequired());
+        dto.setRequiredMaterials(summary.getRequiredMaterials());
+        dto.setCategoryId(summary.getCategoryId());
+        dto.setCategoryName(summary.getCategoryName());
+        return dto;
+    }
+
     /**
      * Creates a new RecyclingTip entity from DTO data
      * @param dto The DTO containing the tip data
@@ -56,7 +80,7 @@ public class RecyclingTipMapper {
         RecyclingTip tip = new RecyclingTip();
         tip.setId(dto.getId());
         tip.setTitle(dto.getTitle());
-        tip.setSteps(dto.getSteps()); // Direct assignment since both use List<String>
+        tip.setSteps(dto.getSteps() != null ? new ArrayList<>(dto.getSteps()) : null);
         tip.setDifficulty(dto.getDifficulty());
         tip.setEnvironmentalImpact(dto.getEnvironmentalImpact());
         tip.setTimeRequired(dto.getTimeRequired());
@@ -81,8 +105,9 @@ public class RecyclingTipMapper {
         if (dto.getTitle() != null) {
             tip.setTitle(dto.getTitle());
         }
-        if (dto.getSteps() != null) {
-            tip.setSteps(dto.getSteps()); // Direct assignment since both use List<String>
+        // Unchanged steps keep the loaded collection, replacing it would rewrite every step row
+        if (dto.getSteps() != null && !dto.getSteps().equals(tip.getSteps())) {
+            tip.setSteps(new ArrayList<>(dto.getSteps()));
         }
         if (dto.getDifficulty() != null) {
             tip.setDifficulty(dto.getDifficulty());
@@ -1,9 +1,54 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RecyclingTipRepository extends JpaRepository<RecyclingTip, Long> {
-    boolean existsByTitle(String title);
-}
\ No newline at end of file
+
+    // Bulk writes check every title of a request in one query
+    List<RecyclingTip> findByTitleIn(Collection<String> titles);
+
+    // Tip views show the category name, join it in the same select
+    @EntityGraph(RecyclingTip.GRAPH_WITH_CATEGORY)
+    @Query("SELECT t FROM RecyclingTip t ORDER BY t.id")
+    List<RecyclingTip> findAllWithCategory();
+
+    @EntityGraph(RecyclingTip.GRAPH_WITH_CATEGORY)
+    @Query("SELECT t FROM RecyclingTip t WHERE t.id = :id")
+    Optional<RecyclingTip> findWithCategoryById(Long id);
+
+    // One page of tips as flat rows, the category name is read through a join instead of loading the category
+    @Query(value = "SELECT t.id AS id, t.title AS title, t.difficulty AS difficulty, "
+            + "t.environmentalImpact AS environmentalImpact, t.timeRequired AS timeRequired, "
+            + "t.requiredMaterials AS requiredMaterials, c.id AS categoryId, c.name AS categoryName "
+            + "FROM RecyclingTip t LEFT JOIN t.category c "
+            + "WHERE (:difficulty IS NULL OR t.difficulty = :difficulty) "
+            + "AND (:categoryId IS NULL OR c.id = :categoryId) "
+            + "AND (:timeRequired IS NULL OR LOWER(t.timeRequired) = LOWER(:timeRequired))",
+            countQuery = "SELECT COUNT(t) FROM RecyclingTip t "
+            + "WHERE (:difficulty IS NULL OR t.difficulty = :difficulty) "
+            + "AND (:categoryId IS NULL OR t.category.id = :categoryId) "
+            + "AND (:timeRequired IS NULL OR LOWER(t.timeRequired) = LOWER(:timeRequired))")
+    Page<RecyclingTipSummary> findSummaries(@Param("difficulty") DifficultyLevel difficulty,
+            @Param("categoryId") Long categoryId, @Param("timeRequired") String timeRequired, Pageable pageable);
+
+    // Steps of the given tips only, in tip and step order
+    @Query("SELECT t.id AS tipId, s AS step FROM RecyclingTip t JOIN t.steps s "
+            + "WHERE t.id IN :tipIds ORDER BY t.id, INDEX(s)")
+    List<TipStep> findStepsByTipIdIn(@Param("tipIds") Collection<Long> tipIds);
+
+    interface TipStep {
+        Long getTipId();
+        String getStep();
+    }
+}
@@ -1,20 +1,44 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedList;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent.ContentType;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache.ListKey;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ConstraintViolations;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.StaleResourceException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipRepository.TipStep;
 
 /**
  * Service class for managing recycling tips
@@ -25,19 +49,54 @@ import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception
 @Validated
 public class RecyclingTipService {
 
+    // Upper bound on one bulk request, keeps the IN lists and the transaction a sensible size
+    static final int MAX_BULK_SIZE = 1000;
+
     private final RecyclingTipRepository tipRepository;
     private final WasteCategoryRepository categoryRepository;
     private final RecyclingTipMapper tipMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * Retrieves all recycling tips
      * @return List of RecyclingTipDTO
      */
-    @Transactional(readOnly = true)
     public List<RecyclingTipDTO> getAllTips() {
-        return tipRepository.findAll().stream()
+        return referenceDataCache.copyOf(getCachedTips(), RecyclingTipDTO.class);
+    }
+
+    /**
+     * Retrieves all recycling tips from the reference data cache, loading them on a miss
+     * @return The cached tip list and its ETag
+     */
+    public CachedList<RecyclingTipDTO> getCachedTips() {
+        return referenceDataCache.get(ListKey.TIPS, () -> tipRepository.findAllWithCategory().stream()
                 .map(tipMapper::toDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Retrieves one page of recycling tips, optionally filtered
+     * Runs the projected page query, its count query when needed, and one query for the steps of the page's tips
+     * @param difficulty Only tips of this difficulty, or null for all
+     * @param categoryId Only tips in this category, or null for all
+     * @param timeRequired Only tips with this time requirement (case-insensitive), or null for all
+     * @param pageable The page to return
+     * @return The page of tips with their steps
+     */
+    @Transactional(readOnly = true)
+    public Page<RecyclingTipSummaryDTO> getTipPage(DifficultyLevel difficulty, Long categoryId, String timeRequired,
+            Pageable pageable) {
+        Page<RecyclingTipSummary> summaries = tipRepository.findSummaries(difficulty, categoryId, timeRequired, pageable);
+        List<Long> tipIds = summaries.map(RecyclingTipSummary::getId).getContent();
+
+        Map<Long, List<String>> stepsByTip = tipIds.isEmpty() ? Collections.emptyMap()
+                : tipRepository.findStepsByTipIdIn(tipIds).stream()
+                        .collect(Collectors.groupingBy(TipStep::getTipId,
+                                Collectors.mapping(TipStep::getStep, Collectors.toList())));
+        return summaries.map(summary -> tipMapper.toSummaryDTO(summary,
+                stepsByTip.getOrDefault(summary.getId(), new ArrayList<>())));
     }
 
     /**
@@ -48,7 +107,7 @@ public class RecyclingTipService {
      */
     @Transactional(readOnly = true)
     public RecyclingTipDTO getTipById(Long id) {
-        return tipRepository.findById(id)
+        return tipRepository.findWithCategoryById(id)
                 .map(tipMapper::toDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Recycling tip not found with id: " + id));
     }
@@ -61,12 +120,8 @@ public class RecyclingTipService {
      */
     @Transactional
     public RecyclingTipDTO createTip(@Valid RecyclingTipDTO tipDTO) {
-        // Validate title uniqueness
-        if (tipRepository.existsByTitle(tipDTO.getTitle())) {
-            throw new DuplicateResourceException("Recycling tip with title already exists: " + tipDTO.getTitle());
-        }
-
         RecyclingTip tip = tipMapper.toEntity(tipDTO);
+        tip.setId(null); // Always inserted, a client supplied id must not turn into a merge
         
         // If categoryId is provided, set the category
         if (tipDTO.getCategoryId() != null) {
@@ -75,46 +130,151 @@ public class RecyclingTipService {
             tipMapper.setCategory(tip, category);
         }
 
-        RecyclingTip savedTip = tipRepository.save(tip);
+        RecyclingTip savedTip = saveAndFlush(tip);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.TIP, savedTip.getId()));
         return tipMapper.toDTO(savedTip);
     }
 
     /**
      * Updates an existing recycling tip
+     * The tip is usually served by the second-level cache, leaving the versioned UPDATE as the only statement
      * @param id The ID of the tip to update
-     * @param tipDTO The updated tip details
+     * @param tipDTO The updated tip details, with the version the client last saw or a null version to skip the check
      * @return The updated RecyclingTipDTO
      * @throws ResourceNotFoundException if the tip is not found
      * @throws DuplicateResourceException if a tip with the same title already exists
+     * @throws StaleResourceException if the tip is no longer at the given version
      */
     @Transactional
     public RecyclingTipDTO updateTip(Long id, @Valid RecyclingTipDTO tipDTO) {
         RecyclingTip tip = tipRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Recycling tip not found with id: " + id));
-
-        // Check title uniqueness if changed
-        if (!tip.getTitle().equals(tipDTO.getTitle()) &&
-                tipRepository.existsByTitle(tipDTO.getTitle())) {
-            throw new DuplicateResourceException("Recycling tip with title already exists: " + tipDTO.getTitle());
-        }
+        checkVersion(tip, tipDTO.getVersion());
 
         tipMapper.updateEntity(tip, tipDTO);
-        RecyclingTip updatedTip = tipRepository.save(tip);
+        RecyclingTip updatedTip = saveAndFlush(tip);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.TIP, updatedTip.getId()));
         return tipMapper.toDTO(updatedTip);
     }
 
+    /**
+     * Creates several recycling tips in one transaction, either all of them or none
+     * Titles are checked and categories resolved with one query each, the inserts are sent in JDBC batches
+     * @param tipDTOs The tips to create
+     * @return The created tips, in request order
+     * @throws DuplicateResourceException if a title is repeated in the request or already exists
+     * @throws ResourceNotFoundException if a referenced category is not found
+     */
+    @Transactional
+    public List<RecyclingTipDTO> createTips(
+            @NotEmpty(message = "At least one tip is required")
+            @Size(max = MAX_BULK_SIZE, message = "At most " + MAX_BULK_SIZE + " tips per request")
+            List<@Valid RecyclingTipDTO> tipDTOs) {
+        Set<String> titles = requestedTitles(tipDTOs);
+        List<String> existingTitles = tipRepository.findByTitleIn(titles).stream()
+                .map(RecyclingTip::getTitle)
+                .toList();
+        if (!existingTitles.isEmpty()) {
+            throw new DuplicateResourceException("Recycling tips with title already exist: " + existingTitles);
+        }
+        Map<Long, WasteCategory> categories = resolveCategories(tipDTOs);
+
+        List<RecyclingTip> tips = new ArrayList<>(tipDTOs.size());
+        for (RecyclingTipDTO tipDTO : tipDTOs) {
+            RecyclingTip tip = tipMapper.toEntity(tipDTO);
+            tip.setId(null); // Always inserted, a client supplied id must not turn into a merge
+            tipMapper.setCategory(tip, categories.get(tipDTO.getCategoryId()));
+            tips.add(tip);
+        }
+
+        List<RecyclingTip> savedTips = tipRepository.saveAll(tips);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.TIP, null));
+        return savedTips.stream()
+                .map(tipMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Updates several recycling tips in one transaction, either all of them or none
+     * A category is only changed for entries that carry a categoryId
+     * @param tipDTOs The updated tips, each with its id
+     * @return The updated tips, in request order
+     * @throws IllegalOperationException if an entry has no id or an id is repeated
+     * @throws ResourceNotFoundException if a tip or a referenced category is not found
+     * @throws DuplicateResourceException if a title is repeated in the request or belongs to another tip
+     * @throws StaleResourceException if an entry carries a version the tip is no longer at
+     */
+    @Transactional
+    public List<RecyclingTipDTO> updateTips(
+            @NotEmpty(message = "At least one tip is required")
+            @Size(max = MAX_BULK_SIZE, message = "At most " + MAX_BULK_SIZE + " tips per request")
+            List<@Valid RecyclingTipDTO> tipDTOs) {
+        Map<Long, RecyclingTipDTO> updatesById = new LinkedHashMap<>();
+        for (RecyclingTipDTO tipDTO : tipDTOs) {
+            if (tipDTO.getId() == null) {
+                throw new IllegalOperationException("Every recycling tip in a bulk update needs an id");
+            }
+            if (updatesById.put(tipDTO.getId(), tipDTO) != null) {
+                throw new IllegalOperationException("Recycling tip appears more than once: " + tipDTO.getId());
+            }
+        }
+        Set<String> titles = requestedTitles(tipDTOs);
+
+        // All reads happen before any entity is changed, so the queries do not trigger an early flush
+        Map<Long, RecyclingTip> tips = tipRepository.findAllById(updatesById.keySet()).stream()
+                .collect(Collectors.toMap(RecyclingTip::getId, Function.identity()));
+        Set<Long> missing = new LinkedHashSet<>(updatesById.keySet());
+        missing.removeAll(tips.keySet());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Recycling tip not found with id: " + missing);
+        }
+        tipDTOs.forEach(tipDTO -> checkVersion(tips.get(tipDTO.getId()), tipDTO.getVersion()));
+
+        // A title may only be kept by the tip that already has it
+        List<String> takenTitles = tipRepository.findByTitleIn(titles).stream()
+                .filter(owner -> {
+                    RecyclingTipDTO update = updatesById.get(owner.getId());
+                    return update == null || !owner.getTitle().equals(update.getTitle());
+                })
+                .map(RecyclingTip::getTitle)
+                .toList();
+        if (!takenTitles.isEmpty()) {
+            throw new DuplicateResourceException("Recycling tips with title already exist: " + takenTitles);
+        }
+        Map<Long, WasteCategory> categories = resolveCategories(tipDTOs);
+
+        for (RecyclingTipDTO tipDTO : tipDTOs) {
+            RecyclingTip tip = tips.get(tipDTO.getId());
+            tipMapper.updateEntity(tip, tipDTO);
+            if (tipDTO.getCategoryId() != null) {
+                tipMapper.setCategory(tip, categories.get(tipDTO.getCategoryId()));
+            }
+        }
+
+        List<RecyclingTip> updatedTips = tipRepository.saveAll(updatesById.keySet().stream()
+                .map(tips::get)
+                .toList());
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.TIP, null));
+        return updatedTips.stream()
+                .map(tipMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Assigns a tip to a category
      * @param tipId The ID of the tip
      * @param categoryId The ID of the category
+     * @param expectedVersion The version the client last saw, or null to skip the check
      * @return The updated RecyclingTipDTO
      * @throws ResourceNotFoundException if either tip or category is not found
      * @throws IllegalOperationException if the tip is already assigned to the category
+     * @throws StaleResourceException if the tip is no longer at the expected version
      */
     @Transactional
-    public RecyclingTipDTO assignToCategory(Long tipId, Long categoryId) {
+    public RecyclingTipDTO assignToCategory(Long tipId, Long categoryId, Long expectedVersion) {
         RecyclingTip tip = tipRepository.findById(tipId)
                 .orElseThrow(() -> new ResourceNotFoundException("Recycling tip not found with id: " + tipId));
+        checkVersion(tip, expectedVersion);
 
         // Validate if already assigned to same category
         if (tip.getCategory() != null && tip.getCategory().getId().equals(categoryId)) {
@@ -125,23 +285,28 @@ public class RecyclingTipService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
 
         tipMapper.setCategory(tip, category);
-        RecyclingTip updatedTip = tipRepository.save(tip);
+        RecyclingTip updatedTip = saveAndFlush(tip);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.TIP, updatedTip.getId()));
         return tipMapper.toDTO(updatedTip);
     }
 
     /**
      * Unassigns a tip from its current category
      * @param tipId The ID of the tip to unassign
+     * @param expectedVersion The version the client last saw, or null to skip the check
      * @return The updated RecyclingTipDTO
      * @throws ResourceNotFoundException if the tip is not found
+     * @throws StaleResourceException if the tip is no longer at the expected version
      */
     @Transactional
-    public RecyclingTipDTO unassignTip(Long tipId) {
+    public RecyclingTipDTO unassignTip(Long tipId, Long expectedVersion) {
         RecyclingTip tip = tipRepository.findById(tipId)
                 .orElseThrow(() -> new ResourceNotFoundException("Recycling tip not found with id: " + tipId));
+        checkVersion(tip, expectedVersion);
 
         tipMapper.setCategory(tip, null);
-        RecyclingTip updatedTip = tipRepository.save(tip);
+        RecyclingTip updatedTip = saveAndFlush(tip);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.TIP, updatedTip.getId()));
         return tipMapper.toDTO(updatedTip);
     }
 
@@ -157,5 +322,54 @@ public class RecyclingTipService {
         }
         
         tipRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryContentChangedEvent(ContentType.TIP, id));
+    }
+
+    // Writes the tip right away, so the title constraint and the version check fail here rather than at commit
+    private RecyclingTip saveAndFlush(RecyclingTip tip) {
+        try {
+            return tipRepository.saveAndFlush(tip);
+        } catch (DataIntegrityViolationException e) {
+            throw ConstraintViolations.translate(e, "Recycling tip with title already exists: " + tip.getTitle());
+        } catch (OptimisticLockingFailureException e) {
+            throw new StaleResourceException("Recycling tip was changed by another request: " + tip.getId());
+        }
+    }
+
+    // A null expected version means the client did not ask for the check
+    private static void checkVersion(RecyclingTip tip, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(tip.getVersion())) {
+            throw new StaleResourceException("Recycling tip " + tip.getId() + " is at version " + tip.getVersion()
+                    + ", not " + expectedVersion);
+        }
+    }
+
+    // Titles of a bulk request, rejecting any title given twice
+    private Set<String> requestedTitles(List<RecyclingTipDTO> tipDTOs) {
+        Set<String> titles = new HashSet<>();
+        for (RecyclingTipDTO tipDTO : tipDTOs) {
+            if (!titles.add(tipDTO.getTitle())) {
+                throw new DuplicateResourceException("Recycling tip title repeated in request: " + tipDTO.getTitle());
+            }
+        }
+        return titles;
+    }
+
+    // Loads every category a bulk request refers to with one query
+    private Map<Long, WasteCategory> resolveCategories(List<RecyclingTipDTO> tipDTOs) {
+        Set<Long> categoryIds = tipDTOs.stream()
+                .map(RecyclingTipDTO::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (categoryIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, WasteCategory> categories = categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(WasteCategory::getId, Function.identity()));
+        categoryIds.removeAll(categories.keySet());
+        if (!categoryIds.isEmpty()) {
+            throw new ResourceNotFoundException("Category not found with id: " + categoryIds);
+        }
+        return categories;
     }
 }
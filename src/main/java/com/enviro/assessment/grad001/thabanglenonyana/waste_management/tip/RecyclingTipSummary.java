@@ -0,0 +1,23 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip;
+
+/**
+ * Projection of a recycling tip row for paged listings, with the category flattened to its id and name
+ */
+public interface RecyclingTipSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    DifficultyLevel getDifficulty();
+
+    String getEnvironmentalImpact();
+
+    String getTimeRequired();
+
+    String getRequiredMaterials();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+}
@@ -0,0 +1,23 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A recycling tip in a paged listing. Unlike {@link RecyclingTipDTO} the category is flattened
+ * to its id and name instead of a nested category object.
+ */
+@Data
+public class RecyclingTipSummaryDTO {
+
+    private Long id;
+    private String title;
+    private List<String> steps;
+    private DifficultyLevel difficulty;
+    private String environmentalImpact;
+    private String timeRequired;
+    private String requiredMaterials;
+    private Long categoryId;
+    private String categoryName;
+}
@@ -0,0 +1,146 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reads RFC 4180 CSV records one at a time from a character stream.
+ * Quoted fields may contain commas, line breaks and doubled quotes. Input is read through a fixed
+ * char buffer without regular expressions, and the field builder and field array are reused across records,
+ * so a record only allocates the strings of its own fields. Not thread safe.
+ */
+public class CsvRecordReader implements RecordReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder(64);
+    private String[] fields = new String[32];
+    private int fieldCount;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        fieldCount = 0;
+        if (position == limit && !fill()) {
+            return false;
+        }
+        while (true) {
+            readField();
+            int c = read();
+            if (c == SEPARATOR) {
+                continue;
+            }
+            if (c == '\r' && peek() == '\n') {
+                position++;
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public int size() {
+        return fieldCount;
+    }
+
+    @Override
+    public String get(int index) {
+        return index < fieldCount ? fields[index] : "";
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Reads one field up to, not including, its separator or line break
+    private void readField() throws IOException {
+        field.setLength(0);
+        if (peek() == QUOTE) {
+            position++;
+            readQuoted();
+        }
+        while (true) {
+            int start = position;
+            while (position < limit && !isDelimiter(buffer[position])) {
+                position++;
+            }
+            if (position < limit) {
+                // The common case, an unquoted field lying within the buffer, is copied straight out of it
+                addField(field.length() == 0
+                    ? new String(buffer, start, position - start)
+                    : field.append(buffer, start, position - start).toString());
+                return;
+            }
+            field.append(buffer, start, position - start);
+            if (!fill()) {
+                addField(field.toString());
+                return;
+            }
+        }
+    }
+
+    // Appends a quoted field up to its closing quote, a doubled quote stands for one quote character.
+    // Anything between the closing quote and the delimiter is kept as is, as is an unterminated quote.
+    private void readQuoted() throws IOException {
+        int c;
+        while ((c = read()) >= 0) {
+            if (c == QUOTE) {
+                if (peek() != QUOTE) {
+                    return;
+                }
+                position++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    private void addField(String value) {
+        if (fieldCount == fields.length) {
+            fields = Arrays.copyOf(fields, fieldCount * 2);
+        }
+        fields[fieldCount++] = value;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == SEPARATOR || c == '\n' || c == '\r';
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            endOfInput = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -1,109 +1,119 @@
 package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
 
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocation;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationDataHealthIndicator;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationsChangedEvent;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository;
+
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Loads mapData.csv into recycling_locations on a dedicated thread once the application has started.
+ * The loader commits every batch on its own, so no connection or lock is held for the whole file,
+ * and location readiness stays DOWN until the data and the indexes built from it are in place.
+ * A refresh that fails leaves the previous locations in place, readiness then reports UP with the error.
+ */
 @Service
 @Slf4j
 @Profile("prod")
 public class DataMigrationService {
 
     private final RecyclingLocationRepository recyclingLocationRepository;
+    private final RecyclingLocationCsvLoader csvLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LocationDataHealthIndicator readiness;
+    private final boolean incremental;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "location-migration");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Autowired
-    public DataMigrationService(RecyclingLocationRepository recyclingLocationRepository) {
+    public DataMigrationService(RecyclingLocationRepository recyclingLocationRepository,
+            RecyclingLocationCsvLoader csvLoader, ApplicationEventPublisher eventPublisher,
+            LocationDataHealthIndicator readiness,
+            @Value("${locations.import.incremental:false}") boolean incremental) {
         this.recyclingLocationRepository = recyclingLocationRepository;
+        this.csvLoader = csvLoader;
+        this.eventPublisher = eventPublisher;
+        this.readiness = readiness;
+        this.incremental = incremental;
+        // Not ready from the moment the context starts until the migration has run
+        readiness.loading();
     }
 
     @EventListener(ApplicationReadyEvent.class)
-    @Transactional
+    public void onApplicationReady() {
+        executor.execute(this::migrateRecyclingLocations);
+    }
+
     public void migrateRecyclingLocations() {
         log.info("Checking if recycling locations need to be migrated...");
         
-        if (recyclingLocationRepository.count() > 0) {
+        boolean empty = recyclingLocationRepository.count() == 0;
+        if (!empty && !incremental) {
             log.info("Recycling locations data already exists. Skipping migration.");
+            readiness.ready();
             return;
         }
         
-        log.info("Starting recycling locations data migration from CSV");
-        List<RecyclingLocation> locations = new ArrayList<>();
-        
+        log.info("Starting recycling locations data {} from CSV", empty ? "migration" : "refresh");
         try {
-            ClassPathResource resource = new ClassPathResource("mapData.csv");
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
-                String line;
-                
-                while ((line = reader.readLine()) != null) {
-                    String[] values = line.split(",");
-                    
-                    // Skip invalid lines
-                    if (values.length < 10) {
-                        continue;
-                    }
-                    
-                    try {
-                        RecyclingLocation location = new RecyclingLocation();
-                        location.setId(Long.parseLong(values[0]));
-                        location.setLatitude(Double.parseDouble(values[1]));
-                        location.setLongitude(Double.parseDouble(values[2]));
-                        location.setName(values[3]);
-                        
-                        if (values.length > 4) location.setMunicipality(values[4]);
-                        if (values.length > 5) location.setCity(values[5]);
-                        if (values.length > 6) location.setType(values[6]);
-                        if (values.length > 7) location.setOperation(values[7]);
-                        if (values.length > 8) location.setGroupName(values[8]);
-                        if (values.length > 9) location.setWebsite(values[9]);
-                        if (values.length > 10) location.setOther(values[10]);
-                        
-                        // Process boolean fields
-                        if (values.length > 11) location.setAcceptsCans("y".equalsIgnoreCase(values[11]));
-                        if (values.length > 12) location.setAcceptsCardboard("y".equalsIgnoreCase(values[12]));
-                        if (values.length > 13) location.setAcceptsCartons("y".equalsIgnoreCase(values[13]));
-                        if (values.length > 14) location.setIsDropoffSite("yes".equalsIgnoreCase(values[14]));
-                        if (values.length > 15) location.setAcceptsEWaste("y".equalsIgnoreCase(values[15]));
-                        if (values.length > 16) location.setAcceptsMetal("y".equalsIgnoreCase(values[16]));
-                        if (values.length > 17) location.setAcceptsMotorOil("y".equalsIgnoreCase(values[17]));
-                        if (values.length > 18) location.setIsPaid("yes".equalsIgnoreCase(values[18]));
-                        if (values.length > 19) location.setAcceptsPaper("y".equalsIgnoreCase(values[19]));
-                        if (values.length > 20) location.setAcceptsPlastic("y".equalsIgnoreCase(values[20]));
-                        
-                        location.setCreatedAt(LocalDateTime.now());
-                        location.setUpdatedAt(LocalDateTime.now());
-                        
-                        locations.add(location);
-                    } catch (NumberFormatException e) {
-                        log.warn("Error parsing location data: {}", line, e);
-                    }
-                }
+            ClassPathResource csv = new ClassPathResource("mapData.csv");
+            // A refresh only writes the rows whose content hash changed
+            LocationLoadReport report = empty
+                    ? csvLoader.load(csv, readiness::progress)
+                    : csvLoader.refresh(csv, readiness::progress);
+            if (report.getSkipped() > 0) {
+                log.warn("{} recycling locations quarantined {}, see location_quarantine rows of import {}",
+                        report.getSkipped(), report.getQuarantined(), report.getImportId());
             }
-            
-            if (!locations.isEmpty()) {
-                recyclingLocationRepository.saveAll(locations);
-                log.info("Successfully migrated {} recycling locations to Azure SQL Database", locations.size());
-            } else {
+            if (report.getChanged() > 0) {
+                // Listeners rebuild their indexes before this returns
+                eventPublisher.publishEvent(new LocationsChangedEvent(report.getChanged()));
+                log.info("Successfully migrated {} recycling location changes to Azure SQL Database", report.getChanged());
+            } else if (report.getRows() == 0) {
                 log.warn("No valid locations found in CSV file");
+            } else {
+                log.info("Recycling locations are up to date with the CSV file");
             }
-            
-        } catch (IOException e) {
-            log.error("Error reading mapData.csv: {}", e.getMessage(), e);
+            readiness.ready();
         } catch (Exception e) {
-            log.error("Unexpected error during data migration: {}", e.getMessage(), e);
+            log.error("Error during recycling locations data migration: {}", e.getMessage(), e);
+            if (empty) {
+                removePartialLoad();
+                readiness.failed(e.getMessage());
+            } else {
+                // The locations from before the refresh are still in place and served
+                readiness.stale(e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Batches committed before the failure are removed, so the next start finds an empty table and loads again.
+    // A failed refresh needs no cleanup, the next refresh writes whatever is still different.
+    private void removePartialLoad() {
+        try {
+            recyclingLocationRepository.deleteAllInBatch();
+        } catch (RuntimeException e) {
+            log.error("Could not remove partially migrated recycling locations: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
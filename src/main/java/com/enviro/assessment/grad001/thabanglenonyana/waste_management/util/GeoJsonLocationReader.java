@@ -0,0 +1,105 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads the features of a GeoJSON FeatureCollection as location records in the column order of mapData.csv,
+ * so both formats go through the same row mapping. The collection is streamed and only one feature is held
+ * as a tree at a time. Point coordinates give the longitude and latitude, the id comes from the feature or its
+ * properties, and the other columns from properties named like the table columns (name, city, accepts_paper, ...).
+ * Boolean properties are read as y/n. A feature without a Point geometry gets empty coordinates and is skipped.
+ */
+public class GeoJsonLocationReader implements RecordReader {
+
+    // Property names of CSV columns 3 onwards
+    private static final String[] PROPERTY_COLUMNS = {
+        "name", "municipality", "city", "type", "operation", "group_name", "website", "other",
+        "accepts_cans", "accepts_cardboard", "accepts_cartons", "is_dropoff_site", "accepts_ewaste",
+        "accepts_metal", "accepts_motor_oil", "is_paid", "accepts_paper", "accepts_plastic"
+    };
+
+    private final JsonParser parser;
+    private final String[] fields = new String[3 + PROPERTY_COLUMNS.length];
+    private boolean inFeatures;
+    private boolean exhausted;
+
+    public GeoJsonLocationReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        this.parser = objectMapper.createParser(in);
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (exhausted || (!inFeatures && !seekFeatures())) {
+            exhausted = true;
+            return false;
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            exhausted = true;
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a feature object at " + parser.currentLocation());
+        }
+        toFields(parser.readValueAsTree());
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return fields.length;
+    }
+
+    @Override
+    public String get(int index) {
+        return index < fields.length ? fields[index] : "";
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    // Moves the parser into the features array, skipping the other members of the collection
+    private boolean seekFeatures() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("GeoJSON input must be a FeatureCollection object");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String member = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("features".equals(member) && value == JsonToken.START_ARRAY) {
+                inFeatures = true;
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private void toFields(JsonNode feature) {
+        JsonNode properties = feature.path("properties");
+        JsonNode geometry = feature.path("geometry");
+        JsonNode coordinates = "Point".equals(geometry.path("type").asText()) ? geometry.path("coordinates") : null;
+
+        fields[0] = text(feature.has("id") ? feature.get("id") : properties.path("id"));
+        fields[1] = coordinates == null ? "" : text(coordinates.path(1));
+        fields[2] = coordinates == null ? "" : text(coordinates.path(0));
+        for (int i = 0; i < PROPERTY_COLUMNS.length; i++) {
+            fields[3 + i] = text(properties.path(PROPERTY_COLUMNS[i]));
+        }
+    }
+
+    private static String text(JsonNode value) {
+        if (value.isBoolean()) {
+            return value.booleanValue() ? "y" : "n";
+        }
+        return value.isValueNode() && !value.isNull() ? value.asText() : "";
+    }
+}
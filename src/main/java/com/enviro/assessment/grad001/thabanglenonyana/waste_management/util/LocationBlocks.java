@@ -0,0 +1,35 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Parsed location rows handed to the writer block by block, in file order
+ */
+interface LocationBlocks extends Closeable {
+
+    /**
+     * @return The next block, or null once the input is exhausted
+     * @throws IOException if the input cannot be read
+     */
+    LocationColumns next() throws IOException;
+
+    // Fills blocks of up to blockSize valid rows from a record reader on the calling thread
+    static LocationBlocks sequential(RecordReader records, int blockSize) {
+        return new LocationBlocks() {
+            @Override
+            public LocationColumns next() throws IOException {
+                LocationColumns block = new LocationColumns(blockSize);
+                while (block.size() < blockSize && records.next()) {
+                    block.add(records);
+                }
+                return block.records() == 0 ? null : block;
+            }
+
+            @Override
+            public void close() throws IOException {
+                records.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,280 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A block of parsed location rows held column by column: ids, coordinates, flags and hashes in primitive arrays,
+ * the text columns in one array each. Rows are only boxed into statement parameters when they are written.
+ * Records are in the column order of mapData.csv. Records that fail the {@link LocationQuality} rules are kept aside
+ * as rejects, and city and type values are normalised before the content hash is taken.
+ */
+final class LocationColumns {
+
+    // Columns up to and including the website must be present for a row to be loaded
+    private static final int MIN_COLUMNS = 10;
+    private static final int TEXT_COLUMNS_START = 3;
+    private static final int TEXT_COLUMNS = 8;
+    private static final int FLAG_COLUMNS_START = TEXT_COLUMNS_START + TEXT_COLUMNS;
+    private static final int FLAG_COLUMNS = 10;
+    // Text column indexes of the values LocationQuality normalises
+    private static final int NAME = 0;
+    private static final int CITY = 2;
+    private static final int TYPE = 3;
+
+    // Insert parameters: id, coordinates, text, flags, hash and the two timestamps
+    private static final int INSERT_PARAMETERS = 3 + TEXT_COLUMNS + FLAG_COLUMNS + 3;
+    // Staging parameters: import id, change type, id, coordinates, text, flags and hash
+    private static final int STAGE_PARAMETERS = 5 + TEXT_COLUMNS + FLAG_COLUMNS + 1;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private final String[][] texts = new String[TEXT_COLUMNS][];
+    private int[] flags;
+    private long[] hashes;
+    private int[] recordNumbers;
+    private int size;
+    private int records;
+    private final List<Reject> rejects = new ArrayList<>();
+
+    LocationColumns(int capacity) {
+        int initial = Math.max(16, capacity);
+        ids = new long[initial];
+        latitudes = new double[initial];
+        longitudes = new double[initial];
+        for (int c = 0; c < TEXT_COLUMNS; c++) {
+            texts[c] = new String[initial];
+        }
+        flags = new int[initial];
+        hashes = new long[initial];
+        recordNumbers = new int[initial];
+    }
+
+    /**
+     * Appends the current record of the reader
+     * @return false if the record is too short, has a malformed id or coordinate or lies out of bounds,
+     *         it then only counts as read and is kept as a reject
+     */
+    boolean add(RecordReader record) {
+        records++;
+        if (record.size() < MIN_COLUMNS) {
+            return reject(null, QuarantineReason.MALFORMED,
+                    "Expected at least " + MIN_COLUMNS + " columns, found " + record.size(), record);
+        }
+        long id;
+        double latitude;
+        double longitude;
+        try {
+            id = Long.parseLong(record.get(0).trim());
+            latitude = Double.parseDouble(record.get(1).trim());
+            longitude = Double.parseDouble(record.get(2).trim());
+        } catch (NumberFormatException e) {
+            return reject(null, QuarantineReason.MALFORMED, "Id or coordinate is not a number", record);
+        }
+        QuarantineReason outOfBounds = LocationQuality.checkBounds(latitude, longitude);
+        if (outOfBounds != null) {
+            return reject(id, outOfBounds, "Coordinates " + latitude + ", " + longitude + " are outside South Africa",
+                    record);
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        for (int c = 0; c < TEXT_COLUMNS; c++) {
+            int column = TEXT_COLUMNS_START + c;
+            texts[c][size] = column < record.size() ? record.get(column) : null;
+        }
+        texts[CITY][size] = LocationQuality.normalizeCity(texts[CITY][size]);
+        texts[TYPE][size] = LocationQuality.normalizeType(texts[TYPE][size]);
+        int rowFlags = 0;
+        for (int f = 0; f < FLAG_COLUMNS; f++) {
+            String flag = record.get(FLAG_COLUMNS_START + f);
+            // Drop-off and paid columns say yes/no, the material columns y/n
+            if ("y".equalsIgnoreCase(flag) || "yes".equalsIgnoreCase(flag)) {
+                rowFlags |= 1 << f;
+            }
+        }
+        flags[size] = rowFlags;
+        hashes[size] = contentHash(size);
+        recordNumbers[size] = records;
+        size++;
+        return true;
+    }
+
+    // Valid rows in the block
+    int size() {
+        return size;
+    }
+
+    // Records read into the block, valid or not
+    int records() {
+        return records;
+    }
+
+    int skipped() {
+        return records - size;
+    }
+
+    // Records not added, in the order they were read
+    List<Reject> rejects() {
+        return rejects;
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    long hash(int row) {
+        return hashes[row];
+    }
+
+    // Position of the row's record in the block, from 1
+    int record(int row) {
+        return recordNumbers[row];
+    }
+
+    double latitude(int row) {
+        return latitudes[row];
+    }
+
+    double longitude(int row) {
+        return longitudes[row];
+    }
+
+    String name(int row) {
+        return texts[NAME][row];
+    }
+
+    // The row as a CSV line of its parsed values, for quarantining a row rejected after parsing
+    String raw(int row) {
+        StringBuilder line = new StringBuilder();
+        line.append(ids[row]).append(',').append(latitudes[row]).append(',').append(longitudes[row]);
+        for (int c = 0; c < TEXT_COLUMNS; c++) {
+            appendField(line.append(','), texts[c][row]);
+        }
+        for (int f = 0; f < FLAG_COLUMNS; f++) {
+            line.append(',').append((flags[row] & (1 << f)) != 0 ? 'y' : 'n');
+        }
+        return line.toString();
+    }
+
+    // Parameters of RecyclingLocationCsvLoader.INSERT_LOCATION
+    Object[] insertRow(int row, Timestamp now) {
+        Object[] values = new Object[INSERT_PARAMETERS];
+        values[0] = ids[row];
+        int next = copyValues(row, values, 1);
+        values[next] = now;
+        values[next + 1] = now;
+        return values;
+    }
+
+    // Parameters of RecyclingLocationCsvLoader.STAGE_UPSERT
+    Object[] stageRow(int row, String importId, String changeType) {
+        Object[] values = new Object[STAGE_PARAMETERS];
+        values[0] = importId;
+        values[1] = changeType;
+        values[2] = ids[row];
+        copyValues(row, values, 3);
+        return values;
+    }
+
+    // Coordinates, text, flags and hash from the given index on, returns the index after the hash
+    private int copyValues(int row, Object[] values, int start) {
+        int i = start;
+        values[i++] = latitudes[row];
+        values[i++] = longitudes[row];
+        for (int c = 0; c < TEXT_COLUMNS; c++) {
+            values[i++] = texts[c][row];
+        }
+        for (int f = 0; f < FLAG_COLUMNS; f++) {
+            values[i++] = (flags[row] & (1 << f)) != 0;
+        }
+        values[i++] = hashes[row];
+        return i;
+    }
+
+    // 64-bit FNV-1a over the parsed column values, so formatting-only edits such as Y for y do not count as changes
+    private long contentHash(int row) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, Double.toString(latitudes[row]));
+        hash = hash(hash, Double.toString(longitudes[row]));
+        for (int c = 0; c < TEXT_COLUMNS; c++) {
+            hash = hash(hash, String.valueOf(texts[c][row]));
+        }
+        for (int f = 0; f < FLAG_COLUMNS; f++) {
+            hash = hash(hash, (flags[row] & (1 << f)) != 0 ? "true" : "false");
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String value) {
+        for (int c = 0; c < value.length(); c++) {
+            hash = (hash ^ value.charAt(c)) * FNV_PRIME;
+        }
+        // Separator, so moving text between adjacent columns changes the hash
+        return (hash ^ 0x1f) * FNV_PRIME;
+    }
+
+    private boolean reject(Long id, QuarantineReason reason, String detail, RecordReader record) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < record.size(); i++) {
+            appendField(i == 0 ? line : line.append(','), record.get(i));
+        }
+        rejects.add(new Reject(records, id, reason, detail, line.toString()));
+        return false;
+    }
+
+    // Quotes a field holding a separator, quote or line break as in RFC 4180
+    private static void appendField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+        } else {
+            line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        for (int c = 0; c < TEXT_COLUMNS; c++) {
+            texts[c] = Arrays.copyOf(texts[c], capacity);
+        }
+        flags = Arrays.copyOf(flags, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        recordNumbers = Arrays.copyOf(recordNumbers, capacity);
+    }
+
+    /**
+     * A record that was read but not added
+     */
+    static final class Reject {
+        // Position of the record in its block, from 1
+        final int record;
+        // Null when the id could not be parsed
+        final Long id;
+        final QuarantineReason reason;
+        final String detail;
+        final String raw;
+
+        Reject(int record, Long id, QuarantineReason reason, String detail, String raw) {
+            this.record = record;
+            this.id = id;
+            this.reason = reason;
+            this.detail = detail;
+            this.raw = raw;
+        }
+    }
+}
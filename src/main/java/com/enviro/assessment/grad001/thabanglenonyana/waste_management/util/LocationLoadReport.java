@@ -0,0 +1,38 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Outcome of loading or refreshing recycling locations from a CSV file
+ */
+@Data
+public class LocationLoadReport {
+
+    // Identifies the rows this import wrote to location_quarantine
+    private final String importId;
+    private final int inserted;
+    private final int updated;
+    private final int deleted;
+    private final int unchanged;
+    // Records not loaded, all of them quarantined
+    private final int skipped;
+    private final Map<QuarantineReason, Integer> quarantined;
+    private final long elapsedMillis;
+
+    // Valid rows read from the file
+    public int getRows() {
+        return inserted + updated + unchanged;
+    }
+
+    // Rows written to or removed from the table
+    public int getChanged() {
+        return inserted + updated + deleted;
+    }
+
+    // Rows read per second of wall time, the whole file counted when it took under a millisecond
+    public double getRowsPerSecond() {
+        return getRows() * 1000.0 / Math.max(1, elapsedMillis);
+    }
+}
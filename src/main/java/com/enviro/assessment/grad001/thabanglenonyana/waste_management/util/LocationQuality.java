@@ -0,0 +1,95 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Data-quality rules applied to every imported location: coordinates must lie within South Africa
+ * (Lesotho and eSwatini included), and city and type values are normalised so spelling variants
+ * of the same value group together in filters and suggestions.
+ */
+final class LocationQuality {
+
+    static final double MIN_LATITUDE = -35.0;
+    static final double MAX_LATITUDE = -22.0;
+    static final double MIN_LONGITUDE = 16.0;
+    static final double MAX_LONGITUDE = 33.0;
+
+    // Canonical facility types, matched ignoring case, spaces and punctuation
+    private static final List<String> TYPES = List.of(
+            "BuyBack", "Collector", "Collector & Recycler", "Drop-off (recycling)", "Landfill",
+            "Movable buy back centre", "Municipal drop-off", "Municipal drop-off & recycling", "Recycler",
+            "Reverse vending machine", "Transfer Station", "Transfer Station & recycling");
+
+    private static final Map<String, String> TYPES_BY_KEY = new HashMap<>();
+
+    static {
+        for (String type : TYPES) {
+            TYPES_BY_KEY.put(key(type), type);
+        }
+    }
+
+    private LocationQuality() {
+    }
+
+    /**
+     * @return null if the coordinates lie within the bounds, otherwise why they do not
+     */
+    static QuarantineReason checkBounds(double latitude, double longitude) {
+        if (inBounds(latitude, longitude)) {
+            return null;
+        }
+        return inBounds(longitude, latitude) ? QuarantineReason.SWAPPED_COORDINATES : QuarantineReason.OUT_OF_BOUNDS;
+    }
+
+    // Collapses whitespace and title-cases a city written all in upper or lower case, e.g. "PORT  ELIZABETH"
+    static String normalizeCity(String city) {
+        String collapsed = collapse(city);
+        if (collapsed == null || (!collapsed.equals(collapsed.toUpperCase(Locale.ROOT))
+                && !collapsed.equals(collapsed.toLowerCase(Locale.ROOT)))) {
+            return collapsed;
+        }
+        StringBuilder titled = new StringBuilder(collapsed.length());
+        boolean wordStart = true;
+        for (int i = 0; i < collapsed.length(); i++) {
+            char c = collapsed.charAt(i);
+            titled.append(wordStart ? Character.toUpperCase(c) : Character.toLowerCase(c));
+            wordStart = c == ' ' || c == '-';
+        }
+        return titled.toString();
+    }
+
+    // Maps known types to their canonical spelling, e.g. "drop off recycling", other values only have whitespace collapsed
+    static String normalizeType(String type) {
+        String collapsed = collapse(type);
+        return collapsed == null ? null : TYPES_BY_KEY.getOrDefault(key(collapsed), collapsed);
+    }
+
+    // Lower case with runs of whitespace collapsed, for comparing names
+    static String nameKey(String name) {
+        String collapsed = collapse(name);
+        return collapsed == null ? "" : collapsed.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean inBounds(double latitude, double longitude) {
+        return latitude >= MIN_LATITUDE && latitude <= MAX_LATITUDE
+                && longitude >= MIN_LONGITUDE && longitude <= MAX_LONGITUDE;
+    }
+
+    private static String collapse(String value) {
+        return value == null ? null : value.trim().replaceAll("\\s+", " ");
+    }
+
+    private static String key(String value) {
+        StringBuilder key = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+}
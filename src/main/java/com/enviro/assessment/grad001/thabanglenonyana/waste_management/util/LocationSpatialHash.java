@@ -0,0 +1,79 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds near-duplicate locations: a record with the same name as an earlier one within a radius.
+ * Locations are hashed into a grid of cells at least one radius wide, so a candidate only has to be
+ * compared with the locations in its own and the eight neighbouring cells. Not thread safe.
+ */
+final class LocationSpatialHash {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    private final double radiusMeters;
+    private final double latitudeCell;
+    private final double longitudeCell;
+    private final Map<Long, List<Site>> cells = new HashMap<>();
+
+    LocationSpatialHash(double radiusMeters) {
+        this.radiusMeters = radiusMeters;
+        this.latitudeCell = radiusMeters / METERS_PER_DEGREE;
+        // A degree of longitude is shortest at the edge of the bounds furthest from the equator
+        this.longitudeCell = latitudeCell / Math.cos(Math.toRadians(-LocationQuality.MIN_LATITUDE));
+    }
+
+    /**
+     * Adds a location unless it duplicates one added before
+     * @return The id of the earlier location it duplicates, or null if it was added
+     */
+    Long addUnlessDuplicate(long id, double latitude, double longitude, String name) {
+        String nameKey = LocationQuality.nameKey(name);
+        long row = (long) Math.floor(latitude / latitudeCell);
+        long column = (long) Math.floor(longitude / longitudeCell);
+        for (long r = row - 1; r <= row + 1; r++) {
+            for (long c = column - 1; c <= column + 1; c++) {
+                for (Site site : cells.getOrDefault(cell(r, c), List.of())) {
+                    if (site.nameKey.equals(nameKey)
+                            && distanceMeters(latitude, longitude, site.latitude, site.longitude) <= radiusMeters) {
+                        return site.id;
+                    }
+                }
+            }
+        }
+        cells.computeIfAbsent(cell(row, column), key -> new ArrayList<>(2))
+                .add(new Site(id, latitude, longitude, nameKey));
+        return null;
+    }
+
+    private static long cell(long row, long column) {
+        return (row << 32) ^ (column & 0xffffffffL);
+    }
+
+    private static double distanceMeters(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double latDistance = Math.toRadians(toLatitude - fromLatitude);
+        double lonDistance = Math.toRadians(toLongitude - fromLongitude);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static final class Site {
+        final long id;
+        final double latitude;
+        final double longitude;
+        final String nameKey;
+
+        Site(long id, double latitude, double longitude, String nameKey) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.nameKey = nameKey;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses a memory-mapped UTF-8 CSV file on a ForkJoinPool, one chunk of bytes per task, and hands the parsed
+ * blocks back in file order. Chunk boundaries are moved forward to the next line break outside quotes:
+ * the quotes of every chunk are counted in parallel first, and their running parity tells whether a chunk
+ * starts inside a quoted field. Only a window of chunks is parsed ahead of the writer, so memory stays
+ * bounded by that window rather than the file size. Line breaks must include a line feed.
+ */
+final class ParallelLocationParser implements LocationBlocks {
+
+    // Roughly how many bytes a location row takes, used to size a chunk's column arrays
+    private static final int BYTES_PER_ROW_ESTIMATE = 150;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer file;
+    private final int size;
+    private final int chunkBytes;
+    private final int chunkCount;
+    private final boolean[] startsInQuotes;
+    private final ForkJoinPool pool;
+    private final int window;
+    private final ArrayDeque<ForkJoinTask<LocationColumns>> parsing = new ArrayDeque<>();
+    private int nextChunk;
+
+    /**
+     * Maps the file and starts parsing the first chunks
+     * @param path A CSV file of at most 2 GB
+     * @param pool The pool the chunks are parsed on
+     * @param chunkBytes The target chunk size, chunks end at the first line break after it
+     * @param window The number of chunks parsed ahead of the writer
+     * @throws IOException if the file cannot be mapped
+     */
+    ParallelLocationParser(Path path, ForkJoinPool pool, int chunkBytes, int window) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + length + " bytes");
+            }
+            this.size = (int) length;
+            this.file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.pool = pool;
+        this.chunkBytes = Math.max(1, chunkBytes);
+        this.window = Math.max(1, window);
+        this.chunkCount = size == 0 ? 0 : (int) ((size + (long) this.chunkBytes - 1) / this.chunkBytes);
+        this.startsInQuotes = quoteParity();
+        while (nextChunk < chunkCount && parsing.size() < this.window) {
+            submitNext();
+        }
+    }
+
+    @Override
+    public LocationColumns next() {
+        ForkJoinTask<LocationColumns> chunk = parsing.poll();
+        if (chunk == null) {
+            return null;
+        }
+        LocationColumns block = chunk.join();
+        if (nextChunk < chunkCount) {
+            submitNext();
+        }
+        return block;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parsing.forEach(chunk -> chunk.cancel(false));
+        parsing.clear();
+        channel.close();
+    }
+
+    private void submitNext() {
+        int chunk = nextChunk++;
+        parsing.add(pool.submit(() -> parse(chunk)));
+    }
+
+    // Whether each raw chunk start lies inside a quoted field, from a parallel count of the quotes before it
+    private boolean[] quoteParity() {
+        List<ForkJoinTask<Integer>> counts = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int from = rawStart(chunk);
+            int to = rawStart(chunk + 1);
+            counts.add(pool.submit(() -> countQuotes(from, to)));
+        }
+        boolean[] parity = new boolean[chunkCount + 1];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            parity[chunk + 1] = parity[chunk] ^ ((counts.get(chunk).join() & 1) == 1);
+        }
+        return parity;
+    }
+
+    private int countQuotes(int from, int to) {
+        int quotes = 0;
+        for (int i = from; i < to; i++) {
+            if (file.get(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    private int rawStart(int chunk) {
+        return (int) Math.min(size, (long) chunk * chunkBytes);
+    }
+
+    // First byte of the first record starting at or after the raw chunk start
+    private int recordStart(int chunk) {
+        if (chunk == 0) {
+            return 0;
+        }
+        if (chunk >= chunkCount) {
+            return size;
+        }
+        boolean quoted = startsInQuotes[chunk];
+        for (int i = rawStart(chunk); i < size; i++) {
+            byte b = file.get(i);
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted) {
+                return i + 1;
+            }
+        }
+        return size;
+    }
+
+    private LocationColumns parse(int chunk) throws IOException {
+        int start = recordStart(chunk);
+        int end = Math.max(start, recordStart(chunk + 1));
+        LocationColumns block = new LocationColumns((end - start) / BYTES_PER_ROW_ESTIMATE);
+        if (start == end) {
+            return block;
+        }
+        // Chunks start after a line feed, so they never split a UTF-8 sequence
+        ByteBuffer bytes = file.slice(start, end - start);
+        CharBuffer chars = StandardCharsets.UTF_8.decode(bytes);
+        try (RecordReader records = new CsvRecordReader(
+                new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()))) {
+            while (records.next()) {
+                block.add(records);
+            }
+        }
+        return block;
+    }
+}
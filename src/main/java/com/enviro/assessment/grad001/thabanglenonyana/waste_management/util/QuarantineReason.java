@@ -0,0 +1,15 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+/**
+ * Why an imported location record was not loaded but kept in location_quarantine
+ */
+public enum QuarantineReason {
+    // Too few columns, or an id or coordinate that is not a number
+    MALFORMED,
+    // Coordinates outside South Africa
+    OUT_OF_BOUNDS,
+    // Latitude and longitude in each other's column
+    SWAPPED_COORDINATES,
+    // Same name as an earlier record within the duplicate radius
+    DUPLICATE
+}
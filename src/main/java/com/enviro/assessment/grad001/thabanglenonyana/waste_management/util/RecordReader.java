@@ -0,0 +1,28 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sequential reader of flat records, one record at a time, with fields addressed by column index
+ */
+public interface RecordReader extends Closeable {
+
+    /**
+     * Advances to the next record
+     * @return false once the input is exhausted
+     * @throws IOException if the input cannot be read or is malformed
+     */
+    boolean next() throws IOException;
+
+    /**
+     * @return The number of fields in the current record
+     */
+    int size();
+
+    /**
+     * @param index Zero-based column index
+     * @return The field, or an empty string if the record has fewer columns
+     */
+    String get(int index);
+}
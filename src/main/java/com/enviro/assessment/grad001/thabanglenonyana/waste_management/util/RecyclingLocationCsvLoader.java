@@ -0,0 +1,427 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.StagedLocation.ChangeType;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams recycling locations from a CSV file into recycling_locations.
+ * Records are parsed one at a time with {@link CsvRecordReader}, so quoted fields holding commas keep their columns,
+ * or come from any other {@link RecordReader} that yields the same columns, such as {@link GeoJsonLocationReader},
+ * and sent as JDBC batch inserts of a fixed chunk size, so memory stays bounded by one chunk however large the file is.
+ * Files on disk are instead memory-mapped and parsed in parallel chunks by {@link ParallelLocationParser},
+ * while the calling thread writes the parsed blocks in file order.
+ * Each row stores a hash of its column values, which a refresh compares to write only the rows that changed.
+ * A refresh stages those rows in location_import_staging, then swaps them into recycling_locations with one MERGE
+ * and one DELETE in a single short transaction, so readers see either the old or the new dataset.
+ * Records that are malformed, lie outside South Africa or repeat a site with the same name within
+ * the duplicate radius are not loaded but written to location_quarantine with the reason and the source they were
+ * read from. A completed import removes the quarantine of earlier imports of the same source, which it supersedes.
+ * Inside a caller's transaction an import is atomic. Without one every batch commits in its own short transaction,
+ * so no connection or lock on recycling_locations is held for the whole file.
+ */
+@Component
+@Slf4j
+public class RecyclingLocationCsvLoader {
+
+    static final String INSERT_LOCATION = "INSERT INTO recycling_locations (id, latitude, longitude, name, "
+            + "municipality, city, type, operation, group_name, website, other, accepts_cans, accepts_cardboard, "
+            + "accepts_cartons, is_dropoff_site, accepts_ewaste, accepts_metal, accepts_motor_oil, is_paid, "
+            + "accepts_paper, accepts_plastic, content_hash, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // The columns recycling_locations and location_import_staging share, in the order of INSERT_LOCATION
+    private static final String LOCATION_COLUMNS = "latitude, longitude, name, municipality, city, type, operation, "
+            + "group_name, website, other, accepts_cans, accepts_cardboard, accepts_cartons, is_dropoff_site, "
+            + "accepts_ewaste, accepts_metal, accepts_motor_oil, is_paid, accepts_paper, accepts_plastic, content_hash";
+
+    static final String STAGE_UPSERT = "INSERT INTO location_import_staging (import_id, change_type, location_id, "
+            + LOCATION_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String STAGE_DELETE = "INSERT INTO location_import_staging (import_id, change_type, location_id) "
+            + "VALUES (?, ?, ?)";
+
+    // Standard MERGE, which H2 and SQL Server both run; SQL Server requires the terminating semicolon
+    static final String MERGE_STAGED = "MERGE INTO recycling_locations l USING (SELECT location_id, "
+            + LOCATION_COLUMNS + " FROM location_import_staging WHERE import_id = ? AND change_type = ?) s "
+            + "ON l.id = s.location_id "
+            + "WHEN MATCHED THEN UPDATE SET " + assignments(LOCATION_COLUMNS) + ", updated_at = ? "
+            + "WHEN NOT MATCHED THEN INSERT (id, " + LOCATION_COLUMNS + ", created_at, updated_at) "
+            + "VALUES (s.location_id, s." + LOCATION_COLUMNS.replace(", ", ", s.") + ", ?, ?);";
+
+    static final String DELETE_STAGED = "DELETE FROM recycling_locations WHERE id IN "
+            + "(SELECT location_id FROM location_import_staging WHERE import_id = ? AND change_type = ?)";
+
+    static final String CLEAR_STAGING = "DELETE FROM location_import_staging WHERE import_id = ?";
+
+    static final String INSERT_QUARANTINE = "INSERT INTO location_quarantine (import_id, source, record_number, "
+            + "location_id, reason, detail, raw_record, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String PURGE_QUARANTINE = "DELETE FROM location_quarantine WHERE source = ? AND import_id <> ?";
+
+    private static final String SELECT_HASHES = "SELECT id, content_hash FROM recycling_locations";
+
+    private static final IntConsumer NO_PROGRESS = records -> { };
+
+    private static final String UPSERT = ChangeType.UPSERT.name();
+    private static final String DELETE = ChangeType.DELETE.name();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final int chunkSize;
+    private final int parseChunkBytes;
+    private final double duplicateRadiusMeters;
+    private final ForkJoinPool parsePool;
+
+    @Autowired
+    public RecyclingLocationCsvLoader(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${locations.import.chunk-size:1000}") int chunkSize,
+            @Value("${locations.import.parse-chunk-bytes:1048576}") int parseChunkBytes,
+            @Value("${locations.import.parallelism:0}") int parallelism,
+            @Value("${locations.import.duplicate-radius-meters:25}") double duplicateRadiusMeters) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parseChunkBytes = parseChunkBytes;
+        this.duplicateRadiusMeters = duplicateRadiusMeters;
+        this.parsePool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsePool.shutdownNow();
+    }
+
+    /**
+     * Inserts every valid row of the file into an empty table
+     * @param csv The CSV file, without a header row
+     * @return The number of rows inserted and skipped, and the time taken
+     * @throws IOException if the file cannot be read
+     */
+    public LocationLoadReport load(Resource csv) throws IOException {
+        return load(csv, NO_PROGRESS);
+    }
+
+    /**
+     * Inserts every valid row of the file into an empty table, see {@link #load(Resource)}
+     * @param csv The CSV file, without a header row
+     * @param progress Told the number of records read so far after each block of records
+     * @return The number of rows inserted and skipped, and the time taken
+     * @throws IOException if the file cannot be read
+     */
+    public LocationLoadReport load(Resource csv, IntConsumer progress) throws IOException {
+        try (LocationBlocks blocks = blocks(csv)) {
+            return importRows(blocks, null, csv.getFilename(), progress);
+        }
+    }
+
+    /**
+     * Brings the table in line with the file: new ids are inserted, rows whose content hash differs are updated
+     * and ids missing from the file are deleted. Unchanged rows are not written.
+     * @param csv The CSV file, without a header row
+     * @return The number of rows inserted, updated, deleted, unchanged and skipped, and the time taken
+     * @throws IOException if the file cannot be read
+     */
+    public LocationLoadReport refresh(Resource csv) throws IOException {
+        return refresh(csv, NO_PROGRESS);
+    }
+
+    /**
+     * Refreshes the table from the file, see {@link #refresh(Resource)}
+     * @param csv The CSV file, without a header row
+     * @param progress Told the number of records read so far after each block of records
+     * @return The number of rows inserted, updated, deleted, unchanged and skipped, and the time taken
+     * @throws IOException if the file cannot be read
+     */
+    public LocationLoadReport refresh(Resource csv, IntConsumer progress) throws IOException {
+        try (LocationBlocks blocks = blocks(csv)) {
+            return importRows(blocks, storedHashes(), csv.getFilename(), progress);
+        }
+    }
+
+    /**
+     * Refreshes the table from records of any format, see {@link #refresh(Resource)}
+     * @param records Location records in the column order of the CSV file
+     * @param source Name of the dataset the records come from, null if it has none
+     * @param progress Told the number of records read so far after each block of records
+     * @return The number of rows inserted, updated, deleted, unchanged and skipped, and the time taken
+     * @throws IOException if the records cannot be read
+     */
+    public LocationLoadReport refresh(RecordReader records, String source, IntConsumer progress) throws IOException {
+        return importRows(LocationBlocks.sequential(records, chunkSize), storedHashes(), source, progress);
+    }
+
+    /**
+     * Refreshes the table from a CSV file on disk, parsed in parallel, see {@link #refresh(Resource)}
+     * @param csv The CSV file, without a header row
+     * @param source Name of the dataset the file holds, null if it has none
+     * @param progress Told the number of records read so far after each parsed chunk
+     * @return The number of rows inserted, updated, deleted, unchanged and skipped, and the time taken
+     * @throws IOException if the file cannot be read
+     */
+    public LocationLoadReport refresh(Path csv, String source, IntConsumer progress) throws IOException {
+        try (LocationBlocks blocks = blocks(csv)) {
+            return importRows(blocks, storedHashes(), source, progress);
+        }
+    }
+
+    /**
+     * Reads every record without touching the database, so a dataset can be rejected before it is applied
+     * @param records Location records in the column order of the CSV file
+     * @param progress Told the number of records read so far after each block of records
+     * @return The number of valid rows, those that would not be quarantined
+     * @throws IOException if the records cannot be read
+     * @throws IllegalOperationException if no row is valid or an id appears more than once
+     */
+    public int validate(RecordReader records, IntConsumer progress) throws IOException {
+        return validate(LocationBlocks.sequential(records, chunkSize), progress);
+    }
+
+    /**
+     * Validates a CSV file on disk, parsed in parallel, see {@link #validate(RecordReader, IntConsumer)}
+     * @param csv The CSV file, without a header row
+     * @param progress Told the number of records read so far after each parsed chunk
+     * @return The number of valid rows
+     * @throws IOException if the file cannot be read
+     * @throws IllegalOperationException if no row is valid or an id appears more than once
+     */
+    public int validate(Path csv, IntConsumer progress) throws IOException {
+        try (LocationBlocks blocks = blocks(csv)) {
+            return validate(blocks, progress);
+        }
+    }
+
+    private int validate(LocationBlocks blocks, IntConsumer progress) throws IOException {
+        Set<Long> ids = new HashSet<>();
+        LocationSpatialHash sites = new LocationSpatialHash(duplicateRadiusMeters);
+        int valid = 0;
+        int records = 0;
+        LocationColumns block;
+        while ((block = blocks.next()) != null) {
+            for (int i = 0; i < block.size(); i++) {
+                if (!ids.add(block.id(i))) {
+                    throw new IllegalOperationException("Location id " + block.id(i) + " appears more than once");
+                }
+                if (duplicateOf(sites, block, i) == null) {
+                    valid++;
+                }
+            }
+            records += block.records();
+            progress.accept(records);
+        }
+        if (valid == 0) {
+            throw new IllegalOperationException("No valid locations found in " + records + " records");
+        }
+        return valid;
+    }
+
+    // Without stored hashes every row is inserted, otherwise rows are matched on id, the inserts and updates are
+    // staged as upserts and the ids left over as deletes, and the stage is swapped in at the end.
+    // Quarantined rows are not matched, so a refresh deletes a stored row that is now rejected.
+    private LocationLoadReport importRows(LocationBlocks blocks, Map<Long, Long> storedHashes, String source,
+            IntConsumer progress) throws IOException {
+        long started = System.nanoTime();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String importId = UUID.randomUUID().toString();
+        String writeSql = storedHashes == null ? INSERT_LOCATION : STAGE_UPSERT;
+        LocationSpatialHash sites = new LocationSpatialHash(duplicateRadiusMeters);
+        List<Object[]> writes = new ArrayList<>(chunkSize);
+        List<Object[]> rejects = new ArrayList<>(chunkSize);
+        Map<QuarantineReason, Integer> quarantined = new EnumMap<>(QuarantineReason.class);
+        int inserted = 0;
+        int updated = 0;
+        int deleted = 0;
+        int unchanged = 0;
+        int records = 0;
+
+        try {
+            LocationColumns block;
+            while ((block = blocks.next()) != null) {
+                for (LocationColumns.Reject reject : block.rejects()) {
+                    rejects.add(new Object[] { importId, source, records + reject.record, reject.id,
+                        reject.reason.name(), reject.detail, reject.raw, now });
+                    quarantined.merge(reject.reason, 1, Integer::sum);
+                }
+                for (int i = 0; i < block.size(); i++) {
+                    long id = block.id(i);
+                    Long original = duplicateOf(sites, block, i);
+                    Object[] write = null;
+                    if (original != null) {
+                        rejects.add(new Object[] { importId, source, records + block.record(i), id,
+                            QuarantineReason.DUPLICATE.name(), "Same name as location " + original + " within "
+                                + Math.round(duplicateRadiusMeters) + " m", block.raw(i), now });
+                        quarantined.merge(QuarantineReason.DUPLICATE, 1, Integer::sum);
+                    } else if (storedHashes == null) {
+                        write = block.insertRow(i, now);
+                        inserted++;
+                    } else if (!storedHashes.containsKey(id)) {
+                        write = block.stageRow(i, importId, UPSERT);
+                        inserted++;
+                    } else if (Objects.equals(storedHashes.remove(id), block.hash(i))) {
+                        unchanged++;
+                    } else {
+                        write = block.stageRow(i, importId, UPSERT);
+                        updated++;
+                    }
+                    if (write != null) {
+                        writes.add(write);
+                        if (writes.size() == chunkSize) {
+                            flush(writeSql, writes);
+                        }
+                    }
+                }
+                if (rejects.size() >= chunkSize) {
+                    flush(INSERT_QUARANTINE, rejects);
+                }
+                records += block.records();
+                progress.accept(records);
+            }
+            flush(writeSql, writes);
+            flush(INSERT_QUARANTINE, rejects);
+            if (storedHashes != null) {
+                deleted = stageDeletes(importId, storedHashes.keySet());
+                swap(importId, now);
+            }
+            if (source != null) {
+                inTransaction(() -> jdbcTemplate.update(PURGE_QUARANTINE, source, importId));
+            }
+        } catch (IOException | RuntimeException e) {
+            if (storedHashes != null) {
+                discardStaged(importId);
+            }
+            throw e;
+        }
+        int skipped = quarantined.values().stream().mapToInt(Integer::intValue).sum();
+
+        LocationLoadReport report = new LocationLoadReport(importId, inserted, updated, deleted, unchanged, skipped,
+                quarantined, (System.nanoTime() - started) / 1_000_000);
+        log.info("Imported {} recycling locations ({} inserted, {} updated, {} deleted, {} unchanged, {} rows "
+                + "quarantined {}) in {} ms, {} rows/s", report.getRows(), inserted, updated, deleted, unchanged,
+                skipped, quarantined, report.getElapsedMillis(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    // The id of an earlier row with the same name within the duplicate radius, or null when the row is new
+    private static Long duplicateOf(LocationSpatialHash sites, LocationColumns block, int row) {
+        return sites.addUnlessDuplicate(block.id(row), block.latitude(row), block.longitude(row), block.name(row));
+    }
+
+    private Map<Long, Long> storedHashes() {
+        Map<Long, Long> storedHashes = new HashMap<>();
+        jdbcTemplate.query(SELECT_HASHES, rs -> {
+            long hash = rs.getLong(2);
+            storedHashes.put(rs.getLong(1), rs.wasNull() ? null : hash);
+        });
+        return storedHashes;
+    }
+
+    // A file on disk is parsed in parallel, anything else (such as a resource inside the jar) is streamed
+    private LocationBlocks blocks(Resource csv) throws IOException {
+        if (csv.isFile()) {
+            return blocks(csv.getFile().toPath());
+        }
+        return LocationBlocks.sequential(
+                new CsvRecordReader(new InputStreamReader(csv.getInputStream(), StandardCharsets.UTF_8)), chunkSize);
+    }
+
+    // Two chunks per thread are parsed ahead of the writer, so no thread waits while the writer drains one
+    private LocationBlocks blocks(Path csv) throws IOException {
+        if (Files.size(csv) > Integer.MAX_VALUE) {
+            return LocationBlocks.sequential(
+                    new CsvRecordReader(Files.newBufferedReader(csv, StandardCharsets.UTF_8)), chunkSize);
+        }
+        return new ParallelLocationParser(csv, parsePool, parseChunkBytes, parsePool.getParallelism() * 2);
+    }
+
+    // One JDBC batch per chunk, committed on its own when the caller has no transaction; the chunk is reused
+    private int flush(String sql, List<Object[]> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        inTransaction(() -> jdbcTemplate.batchUpdate(sql, chunk));
+        int size = chunk.size();
+        chunk.clear();
+        return size;
+    }
+
+    private int stageDeletes(String importId, Iterable<Long> ids) {
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        int deleted = 0;
+        for (Long id : ids) {
+            chunk.add(new Object[] { importId, DELETE, id });
+            if (chunk.size() == chunkSize) {
+                deleted += flush(STAGE_DELETE, chunk);
+            }
+        }
+        return deleted + flush(STAGE_DELETE, chunk);
+    }
+
+    // The only statements of a refresh that touch recycling_locations, the MERGE takes upserts for ids that
+    // were removed in the meantime as inserts
+    private void swap(String importId, Timestamp now) {
+        inTransaction(() -> {
+            jdbcTemplate.update(MERGE_STAGED, importId, UPSERT, now, now, now);
+            jdbcTemplate.update(DELETE_STAGED, importId, DELETE);
+            jdbcTemplate.update(CLEAR_STAGING, importId);
+        });
+    }
+
+    // Inside a caller's transaction the rollback removes the staged rows
+    private void discardStaged(String importId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        try {
+            inTransaction(() -> jdbcTemplate.update(CLEAR_STAGING, importId));
+        } catch (RuntimeException e) {
+            log.warn("Could not remove the staged rows of import {}: {}", importId, e.getMessage());
+        }
+    }
+
+    private void inTransaction(Runnable work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            work.run();
+        } else {
+            batchTransaction.executeWithoutResult(status -> work.run());
+        }
+    }
+
+    // "a, b" becomes "a = s.a, b = s.b"
+    private static String assignments(String columns) {
+        return Arrays.stream(columns.split(", "))
+                .map(column -> column + " = s." + column)
+                .collect(Collectors.joining(", "));
+    }
+}
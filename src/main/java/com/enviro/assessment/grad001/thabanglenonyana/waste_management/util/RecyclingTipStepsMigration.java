@@ -0,0 +1,121 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-time migration of recycling tip steps from the legacy JSON column recycling_tips.steps
+ * into the recycling_tip_steps table.
+ * Legacy values are either a JSON array or a JSON string holding the array (double-encoded),
+ * both are normalised here so the entity never has to parse JSON again. The legacy column is
+ * dropped once every tip has been copied, which makes later startups a single metadata query.
+ * Runs while the context starts, before the web server accepts requests or any cache is filled.
+ */
+@Component
+@Slf4j
+@DependsOn("entityManagerFactory")
+public class RecyclingTipStepsMigration {
+
+    private static final String LEGACY_COLUMN_QUERY = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+            + "WHERE UPPER(TABLE_NAME) = 'RECYCLING_TIPS' AND UPPER(COLUMN_NAME) = 'STEPS'";
+    private static final String UNMIGRATED_TIPS_QUERY = "SELECT t.id, t.steps FROM recycling_tips t "
+            + "WHERE t.steps IS NOT NULL AND NOT EXISTS (SELECT 1 FROM recycling_tip_steps s WHERE s.tip_id = t.id)";
+    private static final String INSERT_STEP = "INSERT INTO recycling_tip_steps (tip_id, step_order, step) VALUES (?, ?, ?)";
+    private static final String DROP_LEGACY_COLUMN = "ALTER TABLE recycling_tips DROP COLUMN steps";
+
+    // A double-encoded value is unwrapped at most this many times
+    private static final int MAX_ENCODING_DEPTH = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RecyclingTipStepsMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void migrateOnStartup() {
+        try {
+            migrate();
+        } catch (DataAccessException e) {
+            // Rolled back, the legacy column is kept and the migration is retried on the next start
+            log.error("Recycling tip steps migration failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copies the steps of every tip that still only has the legacy column, then drops the column
+     * @return The number of tips migrated, 0 when there is no legacy column
+     */
+    public int migrate() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(LEGACY_COLUMN_QUERY, Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            log.debug("No legacy recycling_tips.steps column, nothing to migrate");
+            return 0;
+        }
+
+        Integer migrated = transactionTemplate.execute(status -> {
+            List<Object[]> rows = new ArrayList<>();
+            int[] tips = {0};
+            jdbcTemplate.query(UNMIGRATED_TIPS_QUERY, rs -> {
+                long tipId = rs.getLong(1);
+                tips[0]++;
+                List<String> steps = parseLegacySteps(tipId, rs.getString(2));
+                for (int i = 0; i < steps.size(); i++) {
+                    rows.add(new Object[] {tipId, i, steps.get(i)});
+                }
+            });
+            jdbcTemplate.batchUpdate(INSERT_STEP, rows);
+            jdbcTemplate.execute(DROP_LEGACY_COLUMN);
+            return tips[0];
+        });
+        log.info("Migrated steps of {} recycling tips to recycling_tip_steps and dropped the legacy column", migrated);
+        return migrated;
+    }
+
+    private List<String> parseLegacySteps(long tipId, String value) {
+        List<String> steps = new ArrayList<>();
+        try {
+            JsonNode node = objectMapper.readTree(value);
+            for (int depth = 0; node.isTextual() && depth < MAX_ENCODING_DEPTH; depth++) {
+                node = objectMapper.readTree(node.asText());
+            }
+            if (node.isArray()) {
+                node.forEach(step -> addStep(steps, step.asText()));
+            } else {
+                addStep(steps, node.asText());
+            }
+        } catch (JsonProcessingException e) {
+            // Not JSON at all, keep the text as a single step rather than losing it
+            log.warn("Steps of recycling tip {} are not JSON, migrating them as one step", tipId);
+            addStep(steps, value);
+        }
+        return steps;
+    }
+
+    private static void addStep(List<String> steps, String step) {
+        if (step != null && !step.isBlank()) {
+            steps.add(step.trim());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normalizes free text for matching, shared by the autocomplete trie and the geocoder
+ * so that a name typed one way matches the same name stored another way.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Normalizes text for matching: lower case, accents removed, and every run of characters
+     * other than letters and digits collapsed to a single space
+     * @param text The text to normalize
+     * @return The normalized text, without leading or trailing spaces
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Normalizes each comma-separated part of an address on its own, see {@link #normalize(String)}
+     * @param text The text to split and normalize
+     * @return The normalized parts in order, empty parts left out
+     */
+    public static List<String> normalizeParts(String text) {
+        List<String> parts = new ArrayList<>();
+        if (text == null) {
+            return parts;
+        }
+        for (String part : text.split(",")) {
+            String normalized = normalize(part);
+            if (!normalized.isEmpty()) {
+                parts.add(normalized);
+            }
+        }
+        return parts;
+    }
+}
@@ -1,31 +1,36 @@
+-- Id sequences, the entities allocate ids in pooled blocks of 50 so inserts can be batched
+CREATE SEQUENCE IF NOT EXISTS waste_categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS disposal_guidelines_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS recycling_tips_seq START WITH 1 INCREMENT BY 50;
 
 -- Create waste categories table with relationships
 CREATE TABLE IF NOT EXISTS waste_categories (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name VARCHAR(50) NOT NULL,
     description VARCHAR(510),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT uk_category_name UNIQUE (name)
 );
 
 -- Create disposal guidelines table with relationship to waste_categories
 CREATE TABLE IF NOT EXISTS disposal_guidelines (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     title VARCHAR(100) NOT NULL,
     instructions TEXT NOT NULL,
     category_id BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT DEFAULT 0 NOT NULL,
     FOREIGN KEY (category_id) REFERENCES waste_categories(id) ON DELETE SET NULL,
     CONSTRAINT uk_guideline_title UNIQUE (title)
 );
 
 -- Create recycling tips table with relationship to waste_categories
 CREATE TABLE IF NOT EXISTS recycling_tips (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     title VARCHAR(100) NOT NULL UNIQUE,
-    steps TEXT NOT NULL,
     difficulty VARCHAR(10) NOT NULL,
     environmental_impact TEXT,
     time_required VARCHAR(50) NOT NULL,
@@ -33,10 +38,20 @@ CREATE TABLE IF NOT EXISTS recycling_tips (
     category_id BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT DEFAULT 0 NOT NULL,
     FOREIGN KEY (category_id) REFERENCES waste_categories(id) ON DELETE SET NULL,
     CONSTRAINT uk_tip_title UNIQUE (title)
 );
 
+-- Create recycling tip steps table, one row per step in display order
+CREATE TABLE IF NOT EXISTS recycling_tip_steps (
+    tip_id BIGINT NOT NULL,
+    step_order INT NOT NULL,
+    step VARCHAR(500) NOT NULL,
+    PRIMARY KEY (tip_id, step_order),
+    FOREIGN KEY (tip_id) REFERENCES recycling_tips(id) ON DELETE CASCADE
+);
+
 -- Create recycling locations table
 /*CREATE TABLE IF NOT EXISTS recycling_locations (
     id BIGINT PRIMARY KEY,
@@ -1,69 +1,92 @@
 -- Insert waste categories with improved descriptions
-INSERT INTO waste_categories (name, description, created_at, updated_at) VALUES
-    ('Plastic', 'Includes single-use and reusable plastic items such as PET bottles, HDPE containers, plastic bags, packaging materials, and synthetic fabric items. Requires careful sorting by plastic type for effective recycling.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Paper', 'Encompasses all paper-based products including office paper, newspapers, magazines, cardboard boxes, paper bags, and packaging materials. Clean and dry items are ideal for recycling.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Glass', 'Clear, green, and brown glass containers, bottles, jars, and broken glass items. Must be separated by color for recycling. Excludes window glass, mirrors, and ceramics.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Electronic', 'Includes computers, smartphones, tablets, TVs, printers, and other electronic devices. Contains valuable recoverable materials but also hazardous components requiring special handling.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Metal', 'Ferrous and non-ferrous metals including steel cans, aluminum containers, scrap metal, wire, and appliances. Highly recyclable materials that can be processed indefinitely.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Organic', 'Biodegradable materials including food scraps, yard waste, wood, and natural fibers. Can be composted to create nutrient-rich soil amendments.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Construction', 'Building and renovation waste including concrete, wood, metals, drywall, and insulation materials. Many components can be recycled or repurposed.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Medical', 'Healthcare-related items including sharps, medications, bandages, and contaminated materials. Requires specialized handling and disposal methods to prevent health risks.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Battery', 'Both single-use and rechargeable batteries of all sizes and types. Contains hazardous materials requiring proper disposal through authorized recycling programs.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+INSERT INTO waste_categories (id, name, description, created_at, updated_at) VALUES
+    (1, 'Plastic', 'Includes single-use and reusable plastic items such as PET bottles, HDPE containers, plastic bags, packaging materials, and synthetic fabric items. Requires careful sorting by plastic type for effective recycling.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (2, 'Paper', 'Encompasses all paper-based products including office paper, newspapers, magazines, cardboard boxes, paper bags, and packaging materials. Clean and dry items are ideal for recycling.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (3, 'Glass', 'Clear, green, and brown glass containers, bottles, jars, and broken glass items. Must be separated by color for recycling. Excludes window glass, mirrors, and ceramics.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (4, 'Electronic', 'Includes computers, smartphones, tablets, TVs, printers, and other electronic devices. Contains valuable recoverable materials but also hazardous components requiring special handling.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (5, 'Metal', 'Ferrous and non-ferrous metals including steel cans, aluminum containers, scrap metal, wire, and appliances. Highly recyclable materials that can be processed indefinitely.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (6, 'Organic', 'Biodegradable materials including food scraps, yard waste, wood, and natural fibers. Can be composted to create nutrient-rich soil amendments.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (7, 'Construction', 'Building and renovation waste including concrete, wood, metals, drywall, and insulation materials. Many components can be recycled or repurposed.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (8, 'Medical', 'Healthcare-related items including sharps, medications, bandages, and contaminated materials. Requires specialized handling and disposal methods to prevent health risks.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (9, 'Battery', 'Both single-use and rechargeable batteries of all sizes and types. Contains hazardous materials requiring proper disposal through authorized recycling programs.', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
 
 -- Insert disposal guidelines
-INSERT INTO disposal_guidelines (title, instructions, category_id, created_at, updated_at) VALUES
-    ('Plastic Bottle Recycling', 'Remove caps, rinse thoroughly, crush to save space, check bottom for recycling number, place in designated recycling bin.', 1, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Paper Sorting Guide', 'Keep paper clean and dry, remove plastic wrapping, separate by type (newspaper, cardboard, office paper), flatten boxes.', 2, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Safe Glass Disposal', 'Rinse containers, remove metal caps and cork, sort by color, wrap broken glass in paper before disposal.', 3, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('E-Waste Handling', 'Back up and wipe data, remove batteries, package securely, deliver to certified e-waste recycling center.', 4, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Metal Can Preparation', 'Clean thoroughly, remove labels when possible, crush to save space, check for local recycling requirements.', 5, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Composting Basics', 'Layer green and brown materials, maintain moisture, turn regularly, monitor temperature, avoid meat and dairy.', 6, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Construction Waste Sorting', 'Separate materials by type, remove hazardous materials, arrange proper disposal through certified handlers.', 7, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Medical Waste Protocol', 'Use approved containers, seal properly, label clearly, arrange collection by authorized medical waste handlers.', 8, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
-    ('Battery Recycling Steps', 'Sort by type, tape terminal ends, store in dry place, deliver to authorized collection points.', 9, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+INSERT INTO disposal_guidelines (id, title, instructions, category_id, created_at, updated_at) VALUES
+    (1, 'Plastic Bottle Recycling', 'Remove caps, rinse thoroughly, crush to save space, check bottom for recycling number, place in designated recycling bin.', 1, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (2, 'Paper Sorting Guide', 'Keep paper clean and dry, remove plastic wrapping, separate by type (newspaper, cardboard, office paper), flatten boxes.', 2, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (3, 'Safe Glass Disposal', 'Rinse containers, remove metal caps and cork, sort by color, wrap broken glass in paper before disposal.', 3, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (4, 'E-Waste Handling', 'Back up and wipe data, remove batteries, package securely, deliver to certified e-waste recycling center.', 4, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (5, 'Metal Can Preparation', 'Clean thoroughly, remove labels when possible, crush to save space, check for local recycling requirements.', 5, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (6, 'Composting Basics', 'Layer green and brown materials, maintain moisture, turn regularly, monitor temperature, avoid meat and dairy.', 6, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (7, 'Construction Waste Sorting', 'Separate materials by type, remove hazardous materials, arrange proper disposal through certified handlers.', 7, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (8, 'Medical Waste Protocol', 'Use approved containers, seal properly, label clearly, arrange collection by authorized medical waste handlers.', 8, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
+    (9, 'Battery Recycling Steps', 'Sort by type, tape terminal ends, store in dry place, deliver to authorized collection points.', 9, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
 
--- Insert recycling tips with proper JSON array steps
-INSERT INTO recycling_tips (title, steps, difficulty, environmental_impact, time_required, required_materials, category_id, created_at, updated_at) VALUES
-    ('DIY Plastic Bottle Planters', 
-     '["Clean bottle thoroughly", "Cut bottle horizontally", "Drill drainage holes", "Add soil and plants"]',
+-- Insert recycling tips, their steps are stored separately below
+INSERT INTO recycling_tips (id, title, difficulty, environmental_impact, time_required, required_materials, category_id, created_at, updated_at) VALUES
+    (1, 'DIY Plastic Bottle Planters', 
      'Easy', 
      'Reduces plastic waste and promotes urban gardening',
      '15 minutes',
      'Plastic bottle, scissors, drill, soil, plants',
      1, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
     
-    ('Cardboard Composting',
-     '["Remove tape and staples", "Shred or tear into small pieces", "Mix with green materials", "Add to compost bin"]',
+    (2, 'Cardboard Composting',
      'Easy',
      'Creates nutrient-rich soil and reduces landfill waste',
      '20 minutes',
      'Cardboard, scissors, compost bin',
      2, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
     
-    ('Glass Jar Upcycling',
-     '["Clean thoroughly", "Remove labels", "Sanitize in boiling water", "Decorate as needed"]',
+    (3, 'Glass Jar Upcycling',
      'Medium',
      'Reduces glass waste and eliminates need for new containers',
      '30 minutes',
      'Glass jars, scraper, boiling water, decorative materials',
      3, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
     
-    ('Electronics Repair Guide',
-     '["Identify issue", "Research repair options", "Gather tools", "Follow repair guides"]',
+    (4, 'Electronics Repair Guide',
      'Hard',
      'Extends device lifespan and reduces e-waste',
      '1-3 hours',
      'Screwdrivers, spudger, repair manual',
      4, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP()),
     
-    ('Metal Can Art Project',
-     '["Clean cans", "Sand edges", "Paint base coat", "Create design"]',
+    (5, 'Metal Can Art Project',
      'Medium',
      'Reduces metal waste through creative reuse',
      '45 minutes',
      'Clean cans, sandpaper, paint, brushes',
      5, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
 
+-- Insert recycling tip steps in display order
+INSERT INTO recycling_tip_steps (tip_id, step_order, step) VALUES
+    ((SELECT id FROM recycling_tips WHERE title = 'DIY Plastic Bottle Planters'), 0, 'Clean bottle thoroughly'),
+    ((SELECT id FROM recycling_tips WHERE title = 'DIY Plastic Bottle Planters'), 1, 'Cut bottle horizontally'),
+    ((SELECT id FROM recycling_tips WHERE title = 'DIY Plastic Bottle Planters'), 2, 'Drill drainage holes'),
+    ((SELECT id FROM recycling_tips WHERE title = 'DIY Plastic Bottle Planters'), 3, 'Add soil and plants'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Cardboard Composting'), 0, 'Remove tape and staples'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Cardboard Composting'), 1, 'Shred or tear into small pieces'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Cardboard Composting'), 2, 'Mix with green materials'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Cardboard Composting'), 3, 'Add to compost bin'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Glass Jar Upcycling'), 0, 'Clean thoroughly'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Glass Jar Upcycling'), 1, 'Remove labels'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Glass Jar Upcycling'), 2, 'Sanitize in boiling water'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Glass Jar Upcycling'), 3, 'Decorate as needed'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Electronics Repair Guide'), 0, 'Identify issue'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Electronics Repair Guide'), 1, 'Research repair options'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Electronics Repair Guide'), 2, 'Gather tools'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Electronics Repair Guide'), 3, 'Follow repair guides'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Metal Can Art Project'), 0, 'Clean cans'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Metal Can Art Project'), 1, 'Sand edges'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Metal Can Art Project'), 2, 'Paint base coat'),
+    ((SELECT id FROM recycling_tips WHERE title = 'Metal Can Art Project'), 3, 'Create design');
+
+-- Seed rows use explicit ids, move the pooled sequences past them (Hibernate allocates 51-100 first)
+ALTER SEQUENCE waste_categories_seq RESTART WITH 100;
+ALTER SEQUENCE disposal_guidelines_seq RESTART WITH 100;
+ALTER SEQUENCE recycling_tips_seq RESTART WITH 100;
+
 MERGE INTO recycling_locations (
     id, latitude, longitude, name, municipality, city, type, operation,
     group_name, website, other, accepts_cans, accepts_cardboard, accepts_cartons,
@@ -0,0 +1,169 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent.ContentType;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationsChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository.LocationName;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.search.AutocompleteIndex;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.search.Suggestion;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.search.Suggestion.Type;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.search.SuggestionTrie;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTip;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AutocompleteIndexTest {
+
+    @Mock
+    private WasteCategoryRepository categoryRepository;
+
+    @Mock
+    private RecyclingTipRepository tipRepository;
+
+    @Mock
+    private DisposalGuidelineRepository guidelineRepository;
+
+    @Mock
+    private RecyclingLocationRepository locationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void complete_WordPrefix_MatchesAnyWordMostPopularFirst() {
+        // Arrange
+        SuggestionTrie trie = SuggestionTrie.build(List.of(
+            suggestion(Type.TIP, 1L, "Plastic Bottle Planters", 1),
+            suggestion(Type.CATEGORY, 2L, "Plastic", 6),
+            suggestion(Type.LOCATION, 3L, "Bottle Depot", 1),
+            suggestion(Type.CITY, null, "Pretoria", 40)));
+
+        // Act
+        List<Suggestion> pl = trie.complete("pl", 10);
+        List<Suggestion> bottle = trie.complete("BOTTLE", 10);
+        List<Suggestion> twoWords = trie.complete("bottle pla", 10);
+
+        // Assert
+        assertEquals(List.of("Plastic", "Plastic Bottle Planters"), texts(pl));
+        assertEquals(List.of("Bottle Depot", "Plastic Bottle Planters"), texts(bottle));
+        assertEquals(List.of("Plastic Bottle Planters"), texts(twoWords));
+        assertEquals(List.of("Pretoria", "Plastic", "Plastic Bottle Planters"), texts(trie.complete("p", 3)));
+    }
+
+    @Test
+    void complete_AccentsAndPunctuation_Ignored() {
+        // Arrange
+        SuggestionTrie trie = SuggestionTrie.build(List.of(
+            suggestion(Type.LOCATION, 1L, "Café Re-Use Centre", 1)));
+
+        // Act & Assert
+        assertEquals(1, trie.complete("cafe re", 10).size());
+        assertEquals(1, trie.complete("use", 10).size());
+        assertTrue(trie.complete("caff", 10).isEmpty());
+        assertTrue(trie.complete("  ", 10).isEmpty());
+    }
+
+    @Test
+    void complete_ManyMatches_LimitedToTopK() {
+        // Arrange
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            suggestions.add(suggestion(Type.LOCATION, (long) i, "Drop-off " + i, i));
+        }
+        SuggestionTrie trie = SuggestionTrie.build(suggestions);
+
+        // Act
+        List<Suggestion> top = trie.complete("drop", 100);
+
+        // Assert
+        assertEquals(SuggestionTrie.MAX_SUGGESTIONS, top.size());
+        assertEquals("Drop-off 49", top.get(0).getText());
+    }
+
+    @Test
+    void rebuild_PopularityFromContentAndLocationCounts_OnlyChangedPartRebuilt() {
+        // Arrange
+        AutocompleteIndex index = new AutocompleteIndex(categoryRepository, tipRepository, guidelineRepository,
+            locationRepository, new ReadTransactionConfig().refreshReadTransaction(transactionManager),
+            new SimpleMeterRegistry());
+        WasteCategory paper = new WasteCategory();
+        paper.setId(1L);
+        paper.setName("Paper");
+        RecyclingTip tip = new RecyclingTip();
+        tip.setId(5L);
+        tip.setTitle("Paper Mache Bowls");
+        tip.setCategory(paper);
+        when(categoryRepository.findAll()).thenReturn(List.of(paper));
+        when(tipRepository.findAll()).thenReturn(List.of(tip));
+        when(guidelineRepository.findAll()).thenReturn(List.of());
+        when(locationRepository.findAllNames()).thenReturn(List.of(
+            location(7L, "Parkhurst Drop-off", "Johannesburg"),
+            location(8L, "Jozi Paper Buyback", "johannesburg ")));
+        index.onApplicationReady();
+
+        // Act
+        List<Suggestion> paperSuggestions = index.complete("pap", 10);
+        List<Suggestion> citySuggestions = index.complete("joh", 10);
+        List<Suggestion> merged = index.complete("pa", 10);
+        index.onCategoryContentChanged(new CategoryContentChangedEvent(ContentType.TIP, 5L));
+        index.onLocationsChanged(new LocationsChangedEvent(1));
+
+        // Assert
+        assertEquals(Type.CATEGORY, paperSuggestions.get(0).getType());
+        assertEquals(2, paperSuggestions.get(0).getPopularity());
+        assertEquals(3, paperSuggestions.size());
+        assertEquals(1, citySuggestions.size());
+        assertEquals(Type.CITY, citySuggestions.get(0).getType());
+        assertEquals(2, citySuggestions.get(0).getPopularity());
+        assertEquals(List.of("Paper", "Jozi Paper Buyback", "Paper Mache Bowls", "Parkhurst Drop-off"), texts(merged));
+        verify(tipRepository, times(2)).findAll();
+        verify(categoryRepository, times(2)).findAll();
+        verify(locationRepository, times(2)).findAllNames();
+    }
+
+    private static Suggestion suggestion(Type type, Long id, String text, long popularity) {
+        return Suggestion.builder().type(type).id(id).text(text).popularity(popularity).build();
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).toList();
+    }
+
+    private static LocationName location(Long id, String name, String city) {
+        return new LocationName() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getName() {
+                return name;
+            }
+
+            public String getCity() {
+                return city;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.DifficultyLevel;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs the bulk tip writes against the seeded dev data and asserts that the number of prepared
+ * statements stays flat as the request grows, i.e. lookups are single IN queries and inserts are batched.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+    RecyclingTipService.class, RecyclingTipMapper.class,
+    ReferenceDataCache.class, JacksonAutoConfiguration.class
+})
+public class BulkWriteTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private RecyclingTipRepository tipRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createTips_TwoHundredTips_InsertsAreBatched() {
+        // Arrange
+        List<RecyclingTipDTO> tips = newTips("Bulk tip", 200, 1L);
+
+        // Act
+        List<RecyclingTipDTO> created = tipService.createTips(tips);
+        entityManager.flush();
+
+        // Assert - title check, category lookup, a few sequence calls and one batched insert per table
+        assertEquals(200, created.size());
+        assertTrue(created.stream().allMatch(t -> t.getId() != null && t.getCategoryId() == 1L));
+        assertEquals(200, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+            "Expected batched inserts but saw " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void createTips_TitleAlreadyExists_NothingInserted() {
+        // Arrange
+        long before = tipRepository.count();
+        List<RecyclingTipDTO> tips = newTips("Bulk tip", 3, null);
+        tips.get(1).setTitle("DIY Plastic Bottle Planters");
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> tipService.createTips(tips));
+        assertEquals(before, tipRepository.count());
+    }
+
+    @Test
+    void createTips_UnknownCategory_Rejected() {
+        // Arrange
+        List<RecyclingTipDTO> tips = newTips("Bulk tip", 2, 999L);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> tipService.createTips(tips));
+    }
+
+    @Test
+    void updateTips_RenameAndReassign_AppliedToAll() {
+        // Arrange
+        List<RecyclingTipDTO> created = tipService.createTips(newTips("Bulk tip", 3, 1L));
+        entityManager.flush();
+        created.forEach(t -> {
+            t.setTitle(t.getTitle() + " (revised)");
+            t.setCategoryId(2L);
+        });
+
+        // Act
+        List<RecyclingTipDTO> updated = tipService.updateTips(created);
+        entityManager.flush();
+
+        // Assert
+        assertEquals(3, updated.size());
+        assertTrue(updated.stream().allMatch(t -> t.getTitle().endsWith("(revised)") && t.getCategoryId() == 2L));
+    }
+
+    @Test
+    void updateTips_TitleOfAnotherTip_Rejected() {
+        // Arrange
+        List<RecyclingTipDTO> created = tipService.createTips(newTips("Bulk tip", 1, null));
+        entityManager.flush();
+        created.get(0).setTitle("DIY Plastic Bottle Planters");
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> tipService.updateTips(created));
+    }
+
+    private static List<RecyclingTipDTO> newTips(String titlePrefix, int count, Long categoryId) {
+        List<RecyclingTipDTO> tips = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RecyclingTipDTO tip = new RecyclingTipDTO();
+            tip.setTitle(titlePrefix + " " + i);
+            tip.setSteps(List.of("Rinse", "Sort"));
+            tip.setDifficulty(DifficultyLevel.EASY);
+            tip.setTimeRequired("5 minutes");
+            tip.setCategoryId(categoryId);
+            tips.add(tip);
+        }
+        return tips;
+    }
+}
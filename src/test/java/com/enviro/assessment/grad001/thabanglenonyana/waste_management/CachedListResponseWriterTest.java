@@ -0,0 +1,94 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedList;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedListResponseWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class CachedListResponseWriterTest {
+
+    private final CachedListResponseWriter writer = new CachedListResponseWriter();
+
+    private CachedList<String> cached;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        cached = CachedList.of(List.of("Paper", "Glass", "Plastic"), new ObjectMapper());
+        request = new MockHttpServletRequest("GET", "/api/categories");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void write_NoAcceptEncoding_WritesIdentityJson() throws Exception {
+        // Act
+        writer.write(cached, request, response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("[\"Paper\",\"Glass\",\"Plastic\"]", response.getContentAsString());
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(cached.getEtag(), response.getHeader("ETag"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+    }
+
+    @Test
+    void write_GzipAccepted_WritesPrecompressedBody() throws Exception {
+        // Arrange
+        request.addHeader("Accept-Encoding", "br, gzip;q=0.5, deflate");
+
+        // Act
+        writer.write(cached, request, response);
+
+        // Assert
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertArrayEquals(cached.getGzip(), response.getContentAsByteArray());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(cached.getJson(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void write_GzipRefusedByQValue_WritesIdentityJson() throws Exception {
+        // Arrange - q-values are compared as numbers, however they are spelled
+        for (String acceptEncoding : List.of("gzip;q=0", "gzip; q=0.000", "deflate, gzip;Q=0.", "gzip;q=oops")) {
+            MockHttpServletRequest refusing = new MockHttpServletRequest("GET", "/api/categories");
+            refusing.addHeader("Accept-Encoding", acceptEncoding);
+            MockHttpServletResponse identity = new MockHttpServletResponse();
+
+            // Act
+            writer.write(cached, refusing, identity);
+
+            // Assert
+            assertNull(identity.getHeader("Content-Encoding"), acceptEncoding);
+            assertArrayEquals(cached.getJson(), identity.getContentAsByteArray(), acceptEncoding);
+        }
+    }
+
+    @Test
+    void write_MatchingIfNoneMatch_NotModifiedWithoutBody() throws Exception {
+        // Arrange
+        request.addHeader("If-None-Match", cached.getEtag());
+
+        // Act
+        writer.write(cached, request, response);
+
+        // Assert
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(cached.getEtag(), response.getHeader("ETag"));
+    }
+}
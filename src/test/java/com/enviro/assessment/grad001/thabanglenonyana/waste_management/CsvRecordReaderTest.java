@@ -0,0 +1,102 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.CsvRecordReader;
+
+public class CsvRecordReaderTest {
+
+    @Test
+    void next_QuotedFieldWithCommas_KeepsColumns() throws IOException {
+        // Arrange
+        String csv = "353,Remade,\"Confidential shredding, Recycling Programmes, CFLs\",y,yes\n";
+
+        // Act
+        List<List<String>> records = readAll(csv);
+
+        // Assert
+        assertEquals(1, records.size());
+        assertEquals(List.of("353", "Remade", "Confidential shredding, Recycling Programmes, CFLs", "y", "yes"),
+            records.get(0));
+    }
+
+    @Test
+    void next_EscapedQuotesAndLineBreakInQuotes_Unescaped() throws IOException {
+        // Arrange
+        String csv = "1,\"The \"\"Green\"\" Depot\",\"Line one\r\nLine two\"\r\n2,plain,\"\"";
+
+        // Act
+        List<List<String>> records = readAll(csv);
+
+        // Assert
+        assertEquals(List.of("1", "The \"Green\" Depot", "Line one\r\nLine two"), records.get(0));
+        assertEquals(List.of("2", "plain", ""), records.get(1));
+        assertEquals(2, records.size());
+    }
+
+    @Test
+    void next_EmptyTrailingFields_Kept() throws IOException {
+        // Arrange - unlike String.split, trailing empty columns are not dropped
+        String csv = "a,,b,,\n\nc";
+
+        // Act
+        List<List<String>> records = readAll(csv);
+
+        // Assert
+        assertEquals(List.of("a", "", "b", "", ""), records.get(0));
+        assertEquals(List.of(""), records.get(1));
+        assertEquals(List.of("c"), records.get(2));
+    }
+
+    @Test
+    void next_RecordsLongerThanTheBuffer_ReadAcrossRefills() throws IOException {
+        // Arrange
+        String longField = "x".repeat(20_000);
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            csv.append(i).append(",\"").append(longField).append(", quoted\"\n");
+        }
+
+        // Act
+        List<List<String>> records = readAll(csv.toString());
+
+        // Assert
+        assertEquals(100, records.size());
+        assertTrue(records.stream().allMatch(r -> r.size() == 2 && r.get(1).equals(longField + ", quoted")));
+        assertEquals("99", records.get(99).get(0));
+    }
+
+    @Test
+    void get_ColumnPastTheEnd_EmptyString() throws IOException {
+        // Arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b"));
+
+        // Act & Assert
+        assertTrue(reader.next());
+        assertEquals("", reader.get(5));
+        assertFalse(reader.next());
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+            while (reader.next()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < reader.size(); i++) {
+                    fields.add(reader.get(i));
+                }
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,107 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationDataHealthIndicator;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationsChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.DataMigrationService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.LocationLoadReport;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.RecyclingLocationCsvLoader;
+
+@ExtendWith(MockitoExtension.class)
+public class DataMigrationServiceTest {
+
+    @Mock
+    private RecyclingLocationRepository locationRepository;
+
+    @Mock
+    private RecyclingLocationCsvLoader csvLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LocationDataHealthIndicator readiness;
+
+    private DataMigrationService migrationService;
+
+    @BeforeEach
+    void setUp() {
+        readiness = new LocationDataHealthIndicator();
+        migrationService = new DataMigrationService(locationRepository, csvLoader, eventPublisher, readiness, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        migrationService.shutdown();
+    }
+
+    @Test
+    void migrate_EmptyTable_NotReadyUntilLocationsLoadedAndIndexesRebuilt() throws Exception {
+        // Arrange
+        when(locationRepository.count()).thenReturn(0L);
+        when(csvLoader.load(any(Resource.class), any()))
+                .thenReturn(new LocationLoadReport("import-1", 1507, 0, 0, 0, 0, Map.of(), 10));
+        Status beforeMigration = readiness.health().getStatus();
+
+        // Act
+        migrationService.migrateRecyclingLocations();
+
+        // Assert
+        assertEquals(Status.DOWN, beforeMigration);
+        verify(eventPublisher).publishEvent(any(LocationsChangedEvent.class));
+        assertEquals(Status.UP, readiness.health().getStatus());
+    }
+
+    @Test
+    void migrate_LoadFails_PartialRowsRemovedAndStaysDown() throws Exception {
+        // Arrange
+        when(locationRepository.count()).thenReturn(0L);
+        when(csvLoader.load(any(Resource.class), any())).thenThrow(new IOException("disk gone"));
+
+        // Act
+        migrationService.migrateRecyclingLocations();
+
+        // Assert
+        verify(locationRepository).deleteAllInBatch();
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(Status.DOWN, readiness.health().getStatus());
+        assertEquals("disk gone", readiness.health().getDetails().get("error"));
+    }
+
+    @Test
+    void migrate_IncrementalRefreshFails_ReadyWithPreviousLocationsAndError() throws Exception {
+        // Arrange
+        DataMigrationService incremental = new DataMigrationService(locationRepository, csvLoader, eventPublisher,
+                readiness, true);
+        when(locationRepository.count()).thenReturn(1507L);
+        when(csvLoader.refresh(any(Resource.class), any())).thenThrow(new IOException("disk gone"));
+
+        // Act
+        incremental.migrateRecyclingLocations();
+        incremental.shutdown();
+
+        // Assert
+        verify(locationRepository, never()).deleteAllInBatch();
+        assertEquals(Status.UP, readiness.health().getStatus());
+        assertEquals(LocationDataHealthIndicator.State.STALE, readiness.getState());
+        assertEquals("disk gone", readiness.health().getDetails().get("error"));
+    }
+}
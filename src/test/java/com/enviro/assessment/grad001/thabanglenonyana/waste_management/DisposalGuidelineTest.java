@@ -18,16 +18,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedList;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedListResponseWriter;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineController;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineDTO;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
 public class DisposalGuidelineTest {
@@ -35,6 +42,11 @@ public class DisposalGuidelineTest {
     @Mock
     private DisposalGuidelineService guidelineService;
 
+    @Spy
+    private CachedListResponseWriter responseWriter = new CachedListResponseWriter();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private DisposalGuidelineController guidelineController;
 
@@ -50,22 +62,22 @@ public class DisposalGuidelineTest {
     }
 
     @Test
-    void testGetAllGuidelines() {
+    void testGetAllGuidelines() throws Exception {
         // Arrange
         List<DisposalGuidelineDTO> guidelineDTOs = Arrays.asList(testGuidelineDTO);
-        when(guidelineService.getAllGuidelines()).thenReturn(guidelineDTOs);
+        when(guidelineService.getCachedGuidelines()).thenReturn(CachedList.of(guidelineDTOs, objectMapper));
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<List<DisposalGuidelineDTO>> response = guidelineController.getAllGuidelines();
+        guidelineController.getAllGuidelines(new MockHttpServletRequest(), response);
 
         // Assert
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        List<DisposalGuidelineDTO> responseBody = response.getBody();
-        assertEquals(1, responseBody != null ? responseBody.size() : 0);
-        if (responseBody != null && !responseBody.isEmpty()) {
-            assertEquals(testGuidelineDTO.getTitle(), responseBody.get(0).getTitle());
-        }
-        verify(guidelineService).getAllGuidelines();
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        List<DisposalGuidelineDTO> responseBody = objectMapper.readValue(response.getContentAsByteArray(),
+            new TypeReference<List<DisposalGuidelineDTO>>() {});
+        assertEquals(1, responseBody.size());
+        assertEquals(testGuidelineDTO.getTitle(), responseBody.get(0).getTitle());
+        verify(guidelineService).getCachedGuidelines();
     }
 
     @Test
@@ -107,43 +119,43 @@ public class DisposalGuidelineTest {
     @Test
     void testAssignToCategory_Success() {  // Renamed from testAssignGuidelineToCategory_Success
         // Arrange
-        when(guidelineService.assignToCategory(1L, 2L)).thenReturn(testGuidelineDTO);
+        when(guidelineService.assignToCategory(1L, 2L, null)).thenReturn(testGuidelineDTO);
 
         // Act
         ResponseEntity<DisposalGuidelineDTO> response = 
-            guidelineController.assignToCategory(1L, 2L);
+            guidelineController.assignToCategory(1L, 2L, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(guidelineService).assignToCategory(1L, 2L);
+        verify(guidelineService).assignToCategory(1L, 2L, null);
     }
 
     @Test
     void testAssignToCategory_AlreadyAssigned() {  // Renamed from testAssignGuidelineToCategory_AlreadyAssigned
         // Arrange
-        when(guidelineService.assignToCategory(1L, 2L))
+        when(guidelineService.assignToCategory(1L, 2L, null))
             .thenThrow(new IllegalOperationException("Guideline already assigned to this category"));
 
         // Act
         ResponseEntity<DisposalGuidelineDTO> response = 
-            guidelineController.assignToCategory(1L, 2L);
+            guidelineController.assignToCategory(1L, 2L, null);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        verify(guidelineService).assignToCategory(1L, 2L);
+        verify(guidelineService).assignToCategory(1L, 2L, null);
     }
 
     @Test
     void testUnassignGuideline_Success() {
         // Arrange
-        when(guidelineService.unassignGuideline(1L)).thenReturn(testGuidelineDTO);
+        when(guidelineService.unassignGuideline(1L, null)).thenReturn(testGuidelineDTO);
 
         // Act
-        ResponseEntity<DisposalGuidelineDTO> response = guidelineController.unassignGuideline(1L);
+        ResponseEntity<DisposalGuidelineDTO> response = guidelineController.unassignGuideline(1L, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(guidelineService).unassignGuideline(1L);
+        verify(guidelineService).unassignGuideline(1L, null);
     }
 
     @Test
@@ -154,7 +166,7 @@ public class DisposalGuidelineTest {
 
         // Act
         ResponseEntity<DisposalGuidelineDTO> response = 
-            guidelineController.updateGuideline(1L, testGuidelineDTO);
+            guidelineController.updateGuideline(1L, testGuidelineDTO, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -210,18 +222,18 @@ public class DisposalGuidelineTest {
     }
 
     @Test
-    void testGetAllGuidelines_EmptyList() {
+    void testGetAllGuidelines_EmptyList() throws Exception {
         // Arrange
-        when(guidelineService.getAllGuidelines()).thenReturn(new ArrayList<>());
+        when(guidelineService.getCachedGuidelines()).thenReturn(CachedList.of(new ArrayList<>(), objectMapper));
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<List<DisposalGuidelineDTO>> response = guidelineController.getAllGuidelines();
+        guidelineController.getAllGuidelines(new MockHttpServletRequest(), response);
 
         // Assert
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        List<DisposalGuidelineDTO> responseBody = response.getBody();
-        assertEquals(0, responseBody != null ? responseBody.size() : 0);
-        verify(guidelineService).getAllGuidelines();
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("[]", response.getContentAsString());
+        verify(guidelineService).getCachedGuidelines();
     }
 
     @Test
@@ -232,7 +244,7 @@ public class DisposalGuidelineTest {
 
         // Act
         ResponseEntity<DisposalGuidelineDTO> response = 
-            guidelineController.updateGuideline(99L, testGuidelineDTO);
+            guidelineController.updateGuideline(99L, testGuidelineDTO, null);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -242,12 +254,12 @@ public class DisposalGuidelineTest {
     @Test
     void testUnassignGuideline_NotFound() {
         // Arrange
-        when(guidelineService.unassignGuideline(99L))
+        when(guidelineService.unassignGuideline(99L, null))
             .thenThrow(new ResourceNotFoundException("Guideline not found"));
 
         // Act
         ResponseEntity<DisposalGuidelineDTO> response = 
-            guidelineController.unassignGuideline(99L);
+            guidelineController.unassignGuideline(99L, null);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -255,11 +267,11 @@ public class DisposalGuidelineTest {
 
     @Test
     void testAssignToCategory_CategoryNotFound() {
-        when(guidelineService.assignToCategory(1L, 99L))
+        when(guidelineService.assignToCategory(1L, 99L, null))
             .thenThrow(new ResourceNotFoundException("Category not found"));
 
         ResponseEntity<DisposalGuidelineDTO> response = 
-            guidelineController.assignToCategory(1L, 99L);
+            guidelineController.assignToCategory(1L, 99L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
@@ -0,0 +1,230 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.EnrichmentBundle;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.ImageAnalysisResponse;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.MaterialEnrichmentIndex;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.RecognitionMetrics;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.DifficultyLevel;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipSummaryDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Asserts the number of SQL statements issued per read use case against the seeded dev data,
+ * so a fetch plan regression (cartesian joins or N+1 selects) fails the build.
+ * The second-level cache and the list response cache are cleared before each test so counts reflect cold reads.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+    WasteCategoryService.class, WasteCategoryMapper.class,
+    DisposalGuidelineService.class, DisposalGuidelineMapper.class,
+    RecyclingTipService.class, RecyclingTipMapper.class,
+    MaterialEnrichmentIndex.class, RecognitionMetrics.class, SimpleMeterRegistry.class,
+    ReferenceDataCache.class, JacksonAutoConfiguration.class, ReadTransactionConfig.class
+})
+public class FetchPlanQueryCountTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WasteCategoryService wasteCategoryService;
+
+    @Autowired
+    private DisposalGuidelineService guidelineService;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private MaterialEnrichmentIndex materialEnrichmentIndex;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        referenceDataCache.evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllCategories_CategoriesWithGuidelinesThenTipsAndStepsSubselects_ThreeStatements() {
+        // Act
+        List<WasteCategoryDTO> categories = wasteCategoryService.getAllCategories();
+
+        // Assert
+        assertTrue(categories.size() > 1, "Seed data should contain several categories");
+        assertTrue(categories.stream().anyMatch(c -> !c.getRecyclingTips().isEmpty()), "Tips should be loaded");
+        assertTrue(categories.stream().anyMatch(c -> !c.getDisposalGuidelines().isEmpty()), "Guidelines should be loaded");
+        assertEquals(3, statistics.getPrepareStatementCount(), "List view should not issue per-category or per-tip selects");
+    }
+
+    @Test
+    void getCategoryById_DetailView_ThreeStatements() {
+        // Act
+        WasteCategoryDTO category = wasteCategoryService.getCategoryById(1L);
+
+        // Assert
+        assertNotNull(category.getDisposalGuidelines());
+        assertNotNull(category.getRecyclingTips());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllGuidelines_CategoryJoined_OneStatement() {
+        // Act
+        List<DisposalGuidelineDTO> guidelines = guidelineService.getAllGuidelines();
+
+        // Assert
+        assertFalse(guidelines.isEmpty());
+        assertTrue(guidelines.stream().allMatch(g -> g.getCategory() == null || g.getCategory().getName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Category should be joined, not loaded per guideline");
+    }
+
+    @Test
+    void getAllTips_CategoryJoinedThenStepsSubselect_TwoStatements() {
+        // Act
+        List<RecyclingTipDTO> tips = tipService.getAllTips();
+
+        // Assert
+        assertFalse(tips.isEmpty());
+        assertTrue(tips.stream().allMatch(t -> t.getCategory() == null || t.getCategory().getName() != null));
+        assertTrue(tips.stream().allMatch(t -> !t.getSteps().isEmpty()), "Steps should be loaded");
+        assertEquals(2, statistics.getPrepareStatementCount(), "Category should be joined and steps loaded in one subselect");
+    }
+
+    @Test
+    void getTipPage_ProjectedRowsThenStepsOfThePage_ThreeStatements() {
+        // Act
+        Page<RecyclingTipSummaryDTO> page = tipService.getTipPage(null, null, null, PageRequest.of(0, 2, Sort.by("id")));
+
+        // Assert - page, count and the steps of the two tips on the page
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.getTotalElements() > 2);
+        assertTrue(page.getContent().stream().allMatch(t -> !t.getSteps().isEmpty()), "Steps should be loaded");
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "Rows should be projected, not loaded as entities");
+    }
+
+    @Test
+    void getTipPage_DifficultyAndCategoryFilter_OnlyMatchingTips() {
+        // Act
+        Page<RecyclingTipSummaryDTO> page = tipService.getTipPage(DifficultyLevel.EASY, 1L, null, PageRequest.of(0, 20));
+
+        // Assert
+        assertFalse(page.isEmpty());
+        assertTrue(page.getContent().stream()
+            .allMatch(t -> t.getDifficulty() == DifficultyLevel.EASY && t.getCategoryId() == 1L));
+        assertEquals("Plastic", page.getContent().get(0).getCategoryName());
+    }
+
+    // The cache tests run outside the test transaction, so each service call gets its own
+    // persistence context and commits its cache entries before the second read
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findByCategoryName_RepeatedLookup_ServedFromSecondLevelCache() {
+        // Arrange - first lookup populates the query cache
+        WasteCategory first = wasteCategoryService.findByCategoryName("Plastic");
+        statistics.clear();
+
+        // Act
+        WasteCategory second = wasteCategoryService.findByCategoryName("Plastic");
+
+        // Assert
+        assertEquals(first.getId(), second.getId());
+        assertEquals(0, statistics.getPrepareStatementCount(), "Cached lookup should not touch the database");
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getCategoryById_AfterListView_CollectionsServedFromCache() {
+        // Arrange
+        wasteCategoryService.getAllCategories();
+        statistics.clear();
+
+        // Act
+        WasteCategoryDTO category = wasteCategoryService.getCategoryById(1L);
+
+        // Assert - only the graph query runs, the tip collection comes from its cache region
+        assertNotNull(category.getRecyclingTips());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void rebuildEnrichmentIndex_ThreeStatements() {
+        // Act
+        materialEnrichmentIndex.rebuild();
+        EnrichmentBundle plastic = materialEnrichmentIndex.findByCategoryName("plastic");
+
+        // Assert - categories with guidelines, tips, and the steps of all tips in one subselect
+        assertNotNull(plastic);
+        assertFalse(plastic.getDisposalGuidelines().isEmpty());
+        assertFalse(plastic.getRecyclingTips().get(0).getSteps().isEmpty());
+        assertEquals(3, statistics.getPrepareStatementCount(),
+            "Enrichment rebuild should not issue per-category or per-tip selects");
+    }
+
+    // No test transaction, so nothing can lazily load what the rebuild left out
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void rebuildEnrichmentIndex_AnalysisResponseSerializesOutsideTransaction() throws Exception {
+        // Arrange
+        materialEnrichmentIndex.rebuild();
+        EnrichmentBundle plastic = materialEnrichmentIndex.findByCategoryName("plastic");
+        ImageAnalysisResponse response = new ImageAnalysisResponse(null, List.of(),
+            plastic.getDisposalGuidelines(), plastic.getRecyclingTips());
+
+        // Act
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(response));
+
+        // Assert
+        assertFalse(json.get("disposalGuidelines").isEmpty());
+        assertFalse(json.get("recyclingTips").get(0).get("steps").isEmpty());
+    }
+}
@@ -0,0 +1,190 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationsChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository.PlaceCentroid;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding.GazetteerGeocoder;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding.GeocodedPlace;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding.GeocodedPlace.Source;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding.Geocoder;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.geocoding.GeocodingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class GeocodingServiceTest {
+
+    private static final GeocodedPlace ROSEBANK = new GeocodedPlace("Rosebank", -26.1452, 28.0436, Source.PLACE_LIST);
+
+    @Mock
+    private RecyclingLocationRepository locationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Geocoder geocoder;
+
+    @Test
+    void geocode_GazetteerFromPlaceListAndLocations_LongestEarliestNameWins() {
+        // Arrange
+        when(locationRepository.findCityCentroids()).thenReturn(List.of(
+            centroid("Kempton Park", -26.10, 28.23), centroid("Randburg", -26.09, 27.99),
+            centroid("Johannesburg", -26.30, 28.10)));
+        when(locationRepository.findMunicipalityCentroids()).thenReturn(List.of(
+            centroid("Ekurhuleni", -26.18, 28.25)));
+        GazetteerGeocoder gazetteer = new GazetteerGeocoder(locationRepository,
+            new ReadTransactionConfig().refreshReadTransaction(transactionManager),
+            new ClassPathResource("places.csv"));
+
+        // Act
+        gazetteer.rebuild();
+
+        // Assert
+        assertEquals(Optional.of(ROSEBANK), gazetteer.geocode("12 Jan Smuts Ave, Rosebank, Johannesburg"));
+        assertEquals("Kempton Park", gazetteer.geocode("3 Park Rd KEMPTON  PARK").orElseThrow().getName());
+        assertEquals(Source.CITY, gazetteer.geocode("randburg").orElseThrow().getSource());
+        assertEquals(Source.MUNICIPALITY, gazetteer.geocode("Ekurhuleni").orElseThrow().getSource());
+        GeocodedPlace johannesburg = gazetteer.geocode("Jozi").orElseThrow();
+        assertEquals("Johannesburg", johannesburg.getName());
+        assertEquals(Source.PLACE_LIST, johannesburg.getSource());
+        assertEquals("Gqeberha", gazetteer.geocode("Port Elizabeth").orElseThrow().getName());
+        assertTrue(gazetteer.geocode("Atlantis, Mars").isEmpty());
+        assertTrue(gazetteer.geocode("  ,  ").isEmpty());
+    }
+
+    @Test
+    void geocode_StreetNamedAfterPlace_SuburbAfterStreetWins() {
+        // Arrange - the bundled place list names Pretoria as well as Rosebank
+        when(locationRepository.findCityCentroids()).thenReturn(List.of(
+            centroid("Pretoria", -25.75, 28.19), centroid("Randburg", -26.09, 27.99)));
+        when(locationRepository.findMunicipalityCentroids()).thenReturn(List.of());
+        GazetteerGeocoder gazetteer = new GazetteerGeocoder(locationRepository,
+            new ReadTransactionConfig().refreshReadTransaction(transactionManager),
+            new ClassPathResource("places.csv"));
+
+        // Act
+        gazetteer.rebuild();
+
+        // Assert - a leading part with a house number or a street suffix is skipped
+        assertEquals(Optional.of(ROSEBANK), gazetteer.geocode("12 Pretoria St, Rosebank"));
+        assertEquals(Optional.of(ROSEBANK), gazetteer.geocode("Pretoria Street, Rosebank"));
+        assertEquals(Optional.of(ROSEBANK), gazetteer.geocode("Pretoria Ave., Rosebank"));
+        GeocodedPlace pretoria = gazetteer.geocode("Church St, Pretoria").orElseThrow();
+        assertEquals("Pretoria", pretoria.getName());
+        assertEquals(Source.PLACE_LIST, pretoria.getSource());
+        // Without a street marker the earlier name wins, and a listed place beats a city centre
+        assertEquals("Pretoria", gazetteer.geocode("Pretoria, Rosebank").orElseThrow().getName());
+        assertEquals(Optional.of(ROSEBANK), gazetteer.geocode("Randburg, Rosebank"));
+    }
+
+    @Test
+    void geocode_RepeatedQueries_AnsweredFromCacheUntilEvicted() {
+        // Arrange
+        when(geocoder.geocode("Rosebank")).thenReturn(Optional.of(ROSEBANK));
+        when(geocoder.geocode("Nowhere")).thenReturn(Optional.empty());
+        GeocodingService service = new GeocodingService(geocoder, 100, Duration.ofHours(1), new SimpleMeterRegistry());
+
+        // Act
+        service.geocode("Rosebank");
+        Optional<GeocodedPlace> cached = service.geocode("  ROSEBANK ");
+        service.geocode("Nowhere");
+        service.geocode("nowhere");
+        service.onLocationsChanged(new LocationsChangedEvent(1));
+        service.geocode("Rosebank");
+
+        // Assert - misses are cached too, the event drops everything
+        assertEquals(Optional.of(ROSEBANK), cached);
+        verify(geocoder, times(2)).geocode("Rosebank");
+        verify(geocoder, times(1)).geocode("Nowhere");
+    }
+
+    @Test
+    void geocode_SameWordsWithAndWithoutComma_CachedApart() {
+        // Arrange - the comma separates the street from the suburb
+        GeocodedPlace pretoria = new GeocodedPlace("Pretoria", -25.7479, 28.2293, Source.PLACE_LIST);
+        when(geocoder.geocode("12 Pretoria St, Rosebank")).thenReturn(Optional.of(ROSEBANK));
+        when(geocoder.geocode("12 Pretoria St Rosebank")).thenReturn(Optional.of(pretoria));
+        GeocodingService service = new GeocodingService(geocoder, 100, Duration.ofHours(1), new SimpleMeterRegistry());
+
+        // Act
+        Optional<GeocodedPlace> withComma = service.geocode("12 Pretoria St, Rosebank");
+        Optional<GeocodedPlace> withoutComma = service.geocode("12 Pretoria St Rosebank");
+        Optional<GeocodedPlace> cached = service.geocode("12 PRETORIA st. ,  rosebank");
+
+        // Assert
+        assertEquals(Optional.of(ROSEBANK), withComma);
+        assertEquals(Optional.of(pretoria), withoutComma);
+        assertEquals(Optional.of(ROSEBANK), cached);
+        assertEquals(2, service.size());
+        verify(geocoder, times(1)).geocode("12 Pretoria St, Rosebank");
+    }
+
+    @Test
+    void geocode_FullOrExpiredCache_LeastRecentlyUsedAndExpiredEntriesLookedUpAgain() {
+        // Arrange
+        when(geocoder.geocode("Rosebank")).thenReturn(Optional.of(ROSEBANK));
+        when(geocoder.geocode("Melville")).thenReturn(Optional.empty());
+        when(geocoder.geocode("Parktown")).thenReturn(Optional.empty());
+        GeocodingService lru = new GeocodingService(geocoder, 2, Duration.ofHours(1), new SimpleMeterRegistry());
+        GeocodingService expiring = new GeocodingService(geocoder, 100, Duration.ZERO, new SimpleMeterRegistry());
+
+        // Act - Rosebank is used again before Parktown pushes out the least recently used entry
+        lru.geocode("Rosebank");
+        lru.geocode("Melville");
+        lru.geocode("Rosebank");
+        lru.geocode("Parktown");
+        lru.geocode("Rosebank");
+        lru.geocode("Melville");
+        expiring.geocode("Parktown");
+        expiring.geocode("Parktown");
+
+        // Assert
+        assertEquals(2, lru.size());
+        verify(geocoder, times(1)).geocode("Rosebank");
+        verify(geocoder, times(2)).geocode("Melville");
+        verify(geocoder, times(3)).geocode("Parktown");
+    }
+
+    private static PlaceCentroid centroid(String name, double latitude, double longitude) {
+        return new PlaceCentroid() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public Double getLongitude() {
+                return longitude;
+            }
+
+            @Override
+            public Long getLocations() {
+                return 1L;
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentityGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTip;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Loads the prod id mapping against a schema Hibernate creates itself, as on the production database,
+ * and checks that category, guideline and tip ids come from IDENTITY columns there.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.mapping-resources=META-INF/orm-identity-ids.xml",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+public class IdentityIdMappingTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WasteCategoryRepository categoryRepository;
+
+    @Test
+    void prodMapping_IdsGeneratedByIdentityColumns() {
+        // Arrange
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        WasteCategory category = new WasteCategory();
+        category.setName("Textiles");
+        category.setDescription("Clothing and fabric");
+
+        // Act
+        WasteCategory saved = categoryRepository.saveAndFlush(category);
+
+        // Assert
+        assertNotNull(saved.getId());
+        for (Class<?> entity : new Class<?>[] {WasteCategory.class, DisposalGuideline.class, RecyclingTip.class}) {
+            assertInstanceOf(IdentityGenerator.class,
+                sessionFactory.getMappingMetamodel().getEntityDescriptor(entity).getGenerator());
+        }
+    }
+}
@@ -22,12 +22,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocation;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineDTO;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.ImageAnalysisResponse;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.ImageRecognitionController;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.ImageRecognitionService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.MaterialFeedbackService;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.RecognizedMaterial;
-import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTip;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
 
 @WebMvcTest(ImageRecognitionController.class)
 public class ImageRecognitionControllerTest {
@@ -38,6 +39,9 @@ public class ImageRecognitionControllerTest {
     @MockitoBean
     private ImageRecognitionService imageRecognitionService;
 
+    @MockitoBean
+    private MaterialFeedbackService materialFeedbackService;
+
     private MockMultipartFile imageFile;
     private ImageAnalysisResponse mockResponse;
     private RecognizedMaterial mockMaterial;
@@ -63,16 +67,16 @@ public class ImageRecognitionControllerTest {
         );
 
         // Create sample disposal guidelines
-        DisposalGuideline guideline = new DisposalGuideline();
+        DisposalGuidelineDTO guideline = new DisposalGuidelineDTO();
         guideline.setId(1L);
         guideline.setInstructions("Rinse and place in recycling bin");
-        List<DisposalGuideline> guidelines = Collections.singletonList(guideline);
+        List<DisposalGuidelineDTO> guidelines = Collections.singletonList(guideline);
 
         // Create sample recycling tips
-        RecyclingTip tip = new RecyclingTip();
+        RecyclingTipDTO tip = new RecyclingTipDTO();
         tip.setId(1L);
         tip.setSteps(Collections.singletonList("Remove caps before recycling"));
-        List<RecyclingTip> tips = Collections.singletonList(tip);
+        List<RecyclingTipDTO> tips = Collections.singletonList(tip);
 
         // Create sample nearby locations
         RecyclingLocation location = new RecyclingLocation();
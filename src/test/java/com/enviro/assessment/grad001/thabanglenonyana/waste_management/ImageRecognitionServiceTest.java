@@ -7,13 +7,16 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
@@ -25,16 +28,27 @@ import com.azure.ai.vision.imageanalysis.models.DetectedTag;
 import com.azure.ai.vision.imageanalysis.models.ImageAnalysisResult;
 import com.azure.core.util.BinaryData;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.RateLimitExceededException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationDTO;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationService;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineMapper;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.BatchAnalysisResult;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.BatchAnalysisResult.Status;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.EnrichmentBundle;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.ImageAnalysisResponse;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.ImageRecognitionService;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.MaterialMappingService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.RecognitionMetrics;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.VisionRequestScheduler;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTip;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipMapper;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 public class ImageRecognitionServiceTest {
 
@@ -53,9 +67,20 @@ public class ImageRecognitionServiceTest {
     @Mock
     private RecyclingTipService recyclingTipService;
 
+    @Mock
+    private VisionRequestScheduler visionRequestScheduler;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RecognitionMetrics recognitionMetrics = new RecognitionMetrics(meterRegistry);
+
     @InjectMocks
     private ImageRecognitionService imageRecognitionService;
 
+    private final DisposalGuidelineMapper guidelineMapper = new DisposalGuidelineMapper();
+    private final RecyclingTipMapper tipMapper = new RecyclingTipMapper();
+
     private MultipartFile mockImageFile;
     private ImageAnalysisResult mockAnalysisResult;
     private WasteCategory mockWasteCategory;
@@ -95,6 +120,10 @@ public class ImageRecognitionServiceTest {
         
         // Set tips to waste category
         mockWasteCategory.setRecyclingTips(Collections.singletonList(mockTip));
+
+        // Scheduler grants a permit immediately and runs the Azure call
+        lenient().when(visionRequestScheduler.submit(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
@@ -122,7 +151,7 @@ public class ImageRecognitionServiceTest {
         // Mock material mapping response
         when(materialMappingService.mapObjectToMaterial(anyList())).thenReturn("plastic");
         when(materialMappingService.isRecyclable("plastic")).thenReturn(true);
-        when(materialMappingService.getWasteCategoryForMaterial("plastic")).thenReturn(mockWasteCategory);
+        when(materialMappingService.getEnrichmentForMaterial("plastic")).thenReturn(EnrichmentBundle.from(mockWasteCategory, guidelineMapper, tipMapper));
         
         // Mock Azure AI Vision client response
         when(imageAnalysisClient.analyze(any(BinaryData.class), anyList(), any())).thenReturn(mockAnalysisResult);
@@ -172,7 +201,7 @@ public class ImageRecognitionServiceTest {
         // Mock material mapping
         when(materialMappingService.mapObjectToMaterial(anyList())).thenReturn("paper");
         when(materialMappingService.isRecyclable("paper")).thenReturn(true);
-        when(materialMappingService.getWasteCategoryForMaterial("paper")).thenReturn(mockWasteCategory);
+        when(materialMappingService.getEnrichmentForMaterial("paper")).thenReturn(EnrichmentBundle.from(mockWasteCategory, guidelineMapper, tipMapper));
         
         // Mock Azure AI Vision client
         when(imageAnalysisClient.analyze(any(BinaryData.class), anyList(), any())).thenReturn(mockAnalysisResult);
@@ -212,7 +241,7 @@ public class ImageRecognitionServiceTest {
         
         when(materialMappingService.mapObjectToMaterial(anyList())).thenReturn("electronic");
         when(materialMappingService.isRecyclable("electronic")).thenReturn(true);
-        when(materialMappingService.getWasteCategoryForMaterial("electronic")).thenReturn(electronicCategory);
+        when(materialMappingService.getEnrichmentForMaterial("electronic")).thenReturn(EnrichmentBundle.from(electronicCategory, guidelineMapper, tipMapper));
         
         // Mock Azure AI Vision client
         when(imageAnalysisClient.analyze(any(BinaryData.class), anyList(), any())).thenReturn(mockAnalysisResult);
@@ -236,6 +265,69 @@ public class ImageRecognitionServiceTest {
         // Assert
         assertNotNull(response, "Response should not be null");
         assertTrue(response.getNearbyLocations().isEmpty(), "Nearby locations should be empty when no matching locations found");
+
+        // Every stage is timed once and the Azure call is counted as a success
+        for (String stage : new String[] {"read_bytes", "queue_wait", "vision_call", "tag_extraction",
+                "material_mapping", "category_load", "location_search", "filter"}) {
+            assertEquals(1, meterRegistry.get("recognition.stage.duration").tag("stage", stage).timer().count(),
+                "Stage " + stage + " should be timed once");
+        }
+        assertEquals(1.0, meterRegistry.get("recognition.azure.calls").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    void analyzeImages_OneFileShed_OtherFilesStillAnalyzed() throws IOException {
+        // Arrange - the second file is shed by the scheduler, the third cannot be read
+        when(mockAnalysisResult.getTags()).thenReturn(null);
+        when(mockAnalysisResult.getObjects()).thenReturn(null);
+        when(materialMappingService.mapObjectToMaterial(anyList())).thenReturn("plastic");
+        when(materialMappingService.getEnrichmentForMaterial("plastic")).thenReturn(EnrichmentBundle.from(mockWasteCategory, guidelineMapper, tipMapper));
+        when(imageAnalysisClient.analyze(any(BinaryData.class), anyList(), any())).thenReturn(mockAnalysisResult);
+        doAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get())
+            .doThrow(new RateLimitExceededException("Azure Vision capacity exhausted, retry later", 7))
+            .when(visionRequestScheduler).submit(any(), any());
+        MultipartFile unreadable = mock(MultipartFile.class);
+        when(unreadable.getOriginalFilename()).thenReturn("broken.jpg");
+        when(unreadable.getBytes()).thenThrow(new IOException("File read error"));
+        MultipartFile second = new MockMultipartFile("files", "second.jpg", "image/jpeg", "second".getBytes());
+
+        // Act
+        List<BatchAnalysisResult> results = imageRecognitionService.analyzeImages(
+            List.of(mockImageFile, second, unreadable), null, null, null);
+
+        // Assert
+        assertEquals(List.of(Status.ANALYZED, Status.SHED, Status.FAILED),
+            results.stream().map(BatchAnalysisResult::getStatus).toList());
+        assertEquals("plastic", results.get(0).getResult().getMaterial().getMaterialType());
+        assertEquals("second.jpg", results.get(1).getFileName());
+        assertEquals(7L, results.get(1).getRetryAfterSeconds());
+        assertEquals("File read error", results.get(2).getError());
+    }
+
+    @Test
+    void analyzeImage_AzureTimeoutOrShed_CountedAgainstTheRightStage() {
+        // Arrange - the first request times out in Azure, the second is shed before it is sent
+        when(imageAnalysisClient.analyze(any(BinaryData.class), anyList(), any()))
+            .thenThrow(new IllegalStateException("Timeout on blocking read"));
+        doAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get())
+            .doThrow(new RateLimitExceededException("Azure Vision capacity exhausted, retry later", 3))
+            .when(visionRequestScheduler).submit(any(), any());
+
+        // Act
+        assertThrows(IllegalStateException.class,
+            () -> imageRecognitionService.analyzeImage(mockImageFile, null, null, null));
+        assertThrows(RateLimitExceededException.class,
+            () -> imageRecognitionService.analyzeImage(mockImageFile, null, null, null));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("recognition.azure.calls").tag("outcome", "error").counter().count());
+        assertEquals(1.0, meterRegistry.get("recognition.errors")
+            .tags("stage", "vision_call", "exception", "IllegalStateException").counter().count());
+        assertEquals(1.0, meterRegistry.get("recognition.errors")
+            .tags("stage", "queue_wait", "exception", "RateLimitExceededException").counter().count());
+        assertEquals(1, meterRegistry.get("recognition.stage.duration").tag("stage", "vision_call").timer().count(),
+            "A shed request never reaches the vision_call stage");
+        assertEquals(2, meterRegistry.get("recognition.stage.duration").tag("stage", "queue_wait").timer().count());
     }
 
     @Test
@@ -248,5 +340,8 @@ public class ImageRecognitionServiceTest {
         assertThrows(IOException.class, () -> 
             imageRecognitionService.analyzeImage(errorFile, 34.0522, -118.2437, 10),
             "Should throw IOException when file cannot be read");
+        assertEquals(1.0, meterRegistry.get("recognition.errors")
+            .tags("stage", "read_bytes", "exception", "IOException").counter().count(),
+            "Read failure should be counted against the read_bytes stage");
     }
 }
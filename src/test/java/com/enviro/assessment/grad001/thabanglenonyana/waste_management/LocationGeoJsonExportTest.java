@@ -0,0 +1,91 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationGeoJsonWriter;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationSnapshotStore;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocation;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.GeoJsonLocationReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ RecyclingLocationService.class, RecyclingLocationMapper.class, LocationSnapshotStore.class,
+        LocationGeoJsonWriter.class, ReadTransactionConfig.class })
+public class LocationGeoJsonExportTest {
+
+    @Autowired
+    private RecyclingLocationService locationService;
+
+    @Autowired
+    private RecyclingLocationRepository locationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportGeoJson_SeededLocations_FeatureCollectionWithoutManagedEntities() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int written = locationService.exportGeoJson(out);
+
+        // Assert - every row was detached once written
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        JsonNode collection = objectMapper.readTree(out.toByteArray());
+        assertEquals("FeatureCollection", collection.get("type").asText());
+        assertEquals(locationRepository.count(), written);
+        assertEquals(written, collection.get("features").size());
+        JsonNode first = collection.get("features").get(0);
+        RecyclingLocation location = locationRepository.findById(first.get("id").asLong()).orElseThrow();
+        assertEquals(location.getLongitude(), first.at("/geometry/coordinates/0").asDouble());
+        assertEquals(location.getLatitude(), first.at("/geometry/coordinates/1").asDouble());
+        assertEquals(location.getName(), first.at("/properties/name").asText());
+    }
+
+    @Test
+    void exportGeoJson_ReadBackAsImport_SameLocationsInIdOrder() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        locationService.exportGeoJson(out);
+        long previousId = Long.MIN_VALUE;
+        int features = 0;
+
+        // Act
+        try (GeoJsonLocationReader reader = new GeoJsonLocationReader(
+                new ByteArrayInputStream(out.toByteArray()), objectMapper)) {
+            while (reader.next()) {
+                long id = Long.parseLong(reader.get(0));
+                assertFalse(id <= previousId);
+                previousId = id;
+                features++;
+            }
+        }
+
+        // Assert
+        assertEquals(locationRepository.count(), features);
+    }
+}
@@ -0,0 +1,111 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.PayloadTooLargeException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationImportController;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationImportJob;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationImportService;
+
+@ExtendWith(MockitoExtension.class)
+public class LocationImportControllerTest {
+
+    private static final String TOKEN = "s3cret";
+
+    @Mock
+    private LocationImportService importService;
+
+    private LocationImportController controller;
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        controller = new LocationImportController(importService);
+        ReflectionTestUtils.setField(controller, "adminToken", TOKEN);
+        file = new MockMultipartFile("file", "locations.csv", "text/csv",
+            "1,-26.2,28.0,Depot A".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importLocations_Disabled_NotFoundWithoutImporting() throws Exception {
+        // Act
+        int status = controller.importLocations(TOKEN, file).getStatusCode().value();
+
+        // Assert
+        assertEquals(404, status);
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void importLocations_EnabledWithMissingOrWrongToken_Forbidden() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(controller, "importEnabled", true);
+
+        // Act & Assert
+        assertEquals(403, controller.importLocations(null, file).getStatusCode().value());
+        assertEquals(403, controller.importLocations("guess", file).getStatusCode().value());
+        assertEquals(403, controller.getImport("guess", UUID.randomUUID()).getStatusCode().value());
+        assertEquals(403, controller.getQuarantine(null, UUID.randomUUID()).getStatusCode().value());
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void importLocations_EnabledWithoutConfiguredToken_Forbidden() throws Exception {
+        // Arrange - a blank token must not match a blank header
+        ReflectionTestUtils.setField(controller, "importEnabled", true);
+        ReflectionTestUtils.setField(controller, "adminToken", "");
+
+        // Act & Assert
+        assertEquals(403, controller.importLocations("", file).getStatusCode().value());
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void importLocations_EnabledWithToken_Accepted() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(controller, "importEnabled", true);
+        LocationImportJob job = mock(LocationImportJob.class);
+        when(job.getId()).thenReturn(UUID.randomUUID());
+        when(importService.submit(any())).thenReturn(job);
+
+        // Act
+        int status = controller.importLocations(TOKEN, file).getStatusCode().value();
+
+        // Assert
+        assertEquals(202, status);
+        verify(importService).submit(file);
+    }
+
+    @Test
+    void importLocationsBody_OverUploadLimit_PayloadTooLarge() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(controller, "importEnabled", true);
+        InputStream body = new ByteArrayInputStream(new byte[16]);
+        when(importService.submit(body, "big.csv", "text/csv"))
+            .thenThrow(new PayloadTooLargeException("The uploaded file is larger than 1GB"));
+
+        // Act
+        int status = controller.importLocationsBody(TOKEN, "big.csv", "text/csv", body).getStatusCode().value();
+
+        // Assert
+        assertEquals(413, status);
+    }
+}
@@ -0,0 +1,203 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.PayloadTooLargeException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationImportJob;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationImportJob.Format;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationImportJob.Status;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationImportService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationsChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.QuarantinedLocation;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.QuarantinedLocationRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.RecyclingLocationCsvLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class LocationImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private QuarantinedLocationRepository quarantineRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RecyclingLocationCsvLoader loader;
+
+    private LocationImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        loader = new RecyclingLocationCsvLoader(jdbcTemplate, transactionManager, 100, 64, 2, 25);
+        importService = new LocationImportService(loader, quarantineRepository, new ObjectMapper(), eventPublisher,
+            DataSize.ofKilobytes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        loader.shutdown();
+    }
+
+    @Test
+    void submit_GeoJsonPoints_ImportedWithCoordinatesAndFlags() throws Exception {
+        // Arrange - the line feature has no point to place on the map and is skipped
+        String geoJson = """
+            {"type": "FeatureCollection", "name": "locations", "features": [
+              {"type": "Feature", "id": 10, "geometry": {"type": "Point", "coordinates": [28.04, -26.2]},
+               "properties": {"name": "Depot A", "city": "Johannesburg", "accepts_paper": true, "is_paid": "yes",
+                              "tags": {"nested": [1, 2]}}},
+              {"type": "Feature", "geometry": {"type": "Point", "coordinates": [18.4, -33.9]},
+               "properties": {"id": "11", "name": "Depot B", "accepts_paper": false}},
+              {"type": "Feature", "id": 12, "geometry": {"type": "LineString", "coordinates": [[0, 0], [1, 1]]},
+               "properties": {"name": "Route"}}
+            ]}
+            """;
+        MockMultipartFile file = new MockMultipartFile("file", "locations.geojson", "application/geo+json",
+            geoJson.getBytes(StandardCharsets.UTF_8));
+        // The loader reuses its chunk list, so the rows are copied as they are staged
+        List<Object[]> staged = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO location_import_staging"), anyList())).thenAnswer(invocation -> {
+            staged.addAll(invocation.getArgument(1));
+            return new int[0];
+        });
+
+        // Act
+        LocationImportJob job = awaitFinished(importService.submit(file));
+
+        // Assert
+        assertEquals(Format.GEOJSON, job.getFormat());
+        assertEquals(Status.COMPLETED, job.getStatus(), job.getError());
+        assertEquals(2, job.getValidRows());
+        assertEquals(2, job.getReport().getInserted());
+        assertEquals(1, job.getReport().getSkipped());
+        assertEquals(2, staged.size());
+        Object[] depotA = staged.get(0);
+        assertEquals("UPSERT", depotA[1]);
+        assertEquals(10L, depotA[2]);
+        assertEquals(-26.2, depotA[3]);
+        assertEquals(28.04, depotA[4]);
+        assertEquals("Johannesburg", depotA[7]);
+        assertEquals(true, depotA[21]);
+        assertEquals(true, depotA[20]);
+        assertEquals(11L, staged.get(1)[2]);
+        verify(jdbcTemplate).update(startsWith("MERGE INTO recycling_locations"), eq(depotA[0]), eq("UPSERT"),
+            any(), any(), any());
+        verify(eventPublisher).publishEvent(any(LocationsChangedEvent.class));
+    }
+
+    @Test
+    void submit_CsvWithRepeatedId_FailsBeforeWriting() throws Exception {
+        // Arrange
+        String csv = "1,-26.2,28.0,Depot A,City,Johannesburg,Collector,,,\n1,-26.3,28.1,Depot B,City,Sandton,Collector,,,\n";
+        MockMultipartFile file = new MockMultipartFile("file", "locations.csv", "text/csv",
+            csv.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        LocationImportJob job = awaitFinished(importService.submit(file));
+
+        // Assert
+        assertEquals(Status.FAILED, job.getStatus());
+        assertTrue(job.getError().contains("appears more than once"));
+        assertNull(job.getReport());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void submitBody_StreamedCsvWithinLimit_ImportedAndOversizedBodyRejected() throws Exception {
+        // Arrange - the limit is 1 KB in this test
+        String csv = "1,-26.2,28.0,Depot A,City,Johannesburg,Collector,,,\n2,-26.3,28.1,Depot B,City,Sandton,Collector,,,\n";
+        byte[] oversized = csv.repeat(20).getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        LocationImportJob job = awaitFinished(importService.submit(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), null, "text/csv"));
+
+        // Assert
+        assertEquals(Format.CSV, job.getFormat());
+        assertEquals(Status.COMPLETED, job.getStatus(), job.getError());
+        assertEquals(2, job.getReport().getInserted());
+        assertThrows(PayloadTooLargeException.class,
+            () -> importService.submit(new ByteArrayInputStream(oversized), "big.csv", "text/csv"));
+        assertThrows(IllegalOperationException.class,
+            () -> importService.submit(new ByteArrayInputStream(new byte[0]), "empty.csv", "text/csv"));
+    }
+
+    @Test
+    void submitBody_FileNameLongerThanSourceColumn_QuarantinedUnderTruncatedName() throws Exception {
+        // Arrange - the second record has no coordinates
+        String csv = "1,-26.2,28.0,Depot A,City,Johannesburg,Collector,,,\n2\n";
+        String fileName = "x".repeat(300) + ".csv";
+        List<Object[]> quarantined = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            if (invocation.<String>getArgument(0).startsWith("INSERT INTO location_quarantine")) {
+                quarantined.addAll(invocation.getArgument(1));
+            }
+            return new int[0];
+        });
+
+        // Act
+        LocationImportJob job = awaitFinished(importService.submit(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), fileName, "text/csv"));
+
+        // Assert
+        assertEquals(Status.COMPLETED, job.getStatus(), job.getError());
+        assertEquals(1, quarantined.size());
+        assertEquals(fileName.substring(0, QuarantinedLocation.SOURCE_LENGTH), quarantined.get(0)[1]);
+        verify(jdbcTemplate).update(startsWith("DELETE FROM location_quarantine"),
+            eq(fileName.substring(0, QuarantinedLocation.SOURCE_LENGTH)), any());
+    }
+
+    @Test
+    void getJob_UnknownId_NotFound() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> importService.getJob(UUID.randomUUID()));
+    }
+
+    private static LocationImportJob awaitFinished(LocationImportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isFinished(), "Import should finish in time");
+        return job;
+    }
+}
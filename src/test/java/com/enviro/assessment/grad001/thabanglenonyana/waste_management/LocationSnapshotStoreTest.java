@@ -0,0 +1,81 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationSnapshot;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationSnapshotStore;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository;
+
+// Reads the committed dev seed, the store always reads in a transaction of its own
+@DataJpaTest
+public class LocationSnapshotStoreTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecyclingLocationRepository locationRepository;
+
+    @Test
+    void refresh_NoFile_BuiltFromTableThenMappedByNextInstance(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path file = dir.resolve("locations.snapshot");
+        LocationSnapshotStore first = new LocationSnapshotStore(jdbcTemplate,
+            new ReadTransactionConfig().refreshReadTransaction(transactionManager), file);
+        assertTrue(first.refresh());
+        FileTime written = Files.getLastModifiedTime(file);
+        LocationSnapshotStore second = new LocationSnapshotStore(jdbcTemplate,
+            new ReadTransactionConfig().refreshReadTransaction(transactionManager), file);
+
+        // Act
+        boolean mapped = second.refresh();
+
+        // Assert
+        assertTrue(mapped);
+        assertFalse(second.refresh());
+        assertEquals(written, Files.getLastModifiedTime(file));
+        LocationSnapshot snapshot = second.current().orElseThrow();
+        assertEquals(locationRepository.count(), snapshot.size());
+        RecyclingLocationDTO expected = new RecyclingLocationMapper()
+                .toDto(locationRepository.findById(snapshot.id(10)).orElseThrow());
+        assertEquals(expected, snapshot.toDto(10));
+    }
+
+    @Test
+    void refresh_FileOfOtherVersion_Rebuilt(@TempDir Path dir) throws Exception {
+        // Arrange - a snapshot written from an older table
+        Path file = dir.resolve("locations.snapshot");
+        new LocationSnapshot.Builder()
+                .add(1, -26.2, 28.0, new String[LocationSnapshot.TEXT_COLUMNS], 0)
+                .write(file, new LocationSnapshot.Version(1, 0));
+        LocationSnapshotStore store = new LocationSnapshotStore(jdbcTemplate,
+            new ReadTransactionConfig().refreshReadTransaction(transactionManager), file);
+
+        // Act
+        boolean refreshed = store.refresh();
+
+        // Assert
+        assertTrue(refreshed);
+        assertEquals(locationRepository.count(), store.current().orElseThrow().size());
+        assertEquals(store.current().orElseThrow().getVersion(), LocationSnapshot.open(file).getVersion());
+    }
+}
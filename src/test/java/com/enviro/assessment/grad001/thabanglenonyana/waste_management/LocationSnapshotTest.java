@@ -0,0 +1,100 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationSnapshot;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationDTO;
+
+public class LocationSnapshotTest {
+
+    @Test
+    void write_ThenOpen_ColumnsRoundTrip(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path file = dir.resolve("locations.snapshot");
+        LocationSnapshot.Version version = new LocationSnapshot.Version(2, 1_700_000_000_000L);
+        new LocationSnapshot.Builder()
+                .add(1, -26.2041, 28.0473, texts("Depot A", "City of Johannesburg", "Sandton", null),
+                        LocationSnapshot.PLASTIC | LocationSnapshot.CANS)
+                .add(7, -33.9249, 18.4241, texts("Dépôt B", "City of Cape Town", "Cape Town", "Shredding, CFLs"),
+                        LocationSnapshot.MOTOR_OIL | LocationSnapshot.PAPER << LocationSnapshot.NULL_SHIFT)
+                .write(file, version);
+
+        // Act
+        LocationSnapshot snapshot = LocationSnapshot.open(file);
+
+        // Assert
+        assertEquals(version, snapshot.getVersion());
+        assertEquals(2, snapshot.size());
+        assertEquals(7, snapshot.id(1));
+        assertEquals(-33.9249, snapshot.latitude(1));
+        RecyclingLocationDTO first = snapshot.toDto(0);
+        assertEquals("Depot A", first.getName());
+        assertEquals("Sandton", first.getCity());
+        assertNull(first.getOther());
+        assertTrue(first.getAcceptedMaterials().get("plastic"));
+        assertTrue(first.getAcceptedMaterials().get("cans"));
+        assertFalse(first.getAcceptedMaterials().get("motorOil"));
+        RecyclingLocationDTO second = snapshot.toDto(1);
+        assertEquals("Dépôt B", second.getName());
+        assertEquals("Shredding, CFLs", second.getOther());
+        assertTrue(second.getAcceptedMaterials().get("motorOil"));
+        assertNull(second.getAcceptedMaterials().get("paper"));
+        assertFalse(second.getAcceptedMaterials().get("metal"));
+    }
+
+    @Test
+    void findWithin_Radius_OnlyNearbyLocationsClosestFirst(@TempDir Path dir) throws Exception {
+        // Arrange - Sandton and Rosebank are about 5 km apart, Cape Town is over 1000 km away
+        Path file = dir.resolve("locations.snapshot");
+        new LocationSnapshot.Builder()
+                .add(1, -26.1467, 28.0436, texts("Rosebank", null, "Johannesburg", null), 0)
+                .add(2, -33.9249, 18.4241, texts("Cape Town", null, "Cape Town", null), 0)
+                .add(3, -26.1076, 28.0567, texts("Sandton", null, "Johannesburg", null), 0)
+                .write(file, new LocationSnapshot.Version(3, 0));
+        LocationSnapshot snapshot = LocationSnapshot.open(file);
+
+        // Act
+        List<RecyclingLocationDTO> nearby = snapshot.findWithin(-26.1076, 28.0567, 10);
+
+        // Assert
+        assertEquals(2, nearby.size());
+        assertEquals(3L, nearby.get(0).getId());
+        assertEquals(0.0, nearby.get(0).getDistance());
+        assertEquals(1L, nearby.get(1).getId());
+        RecyclingLocationDTO expected = snapshot.toDto(0);
+        expected.calculateDistance(-26.1076, 28.0567);
+        assertEquals(expected.getDistance(), nearby.get(1).getDistance(), 1e-9);
+    }
+
+    @Test
+    void open_TruncatedFile_Rejected(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path file = dir.resolve("locations.snapshot");
+        new LocationSnapshot.Builder()
+                .add(1, -26.2, 28.0, texts("Depot A", null, null, null), 0)
+                .write(file, new LocationSnapshot.Version(1, 0));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> LocationSnapshot.open(file));
+    }
+
+    // Name, municipality, city and other, the remaining text columns are left empty
+    private static String[] texts(String name, String municipality, String city, String other) {
+        return new String[] { name, municipality, city, null, null, null, null, other };
+    }
+}
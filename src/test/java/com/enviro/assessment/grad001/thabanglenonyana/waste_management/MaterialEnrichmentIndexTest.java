@@ -0,0 +1,99 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent.ContentType;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.EnrichmentBundle;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.MaterialEnrichmentIndex;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.RecognitionMetrics;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class MaterialEnrichmentIndexTest {
+
+    @Mock
+    private WasteCategoryRepository wasteCategoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private MaterialEnrichmentIndex index;
+    private WasteCategory recyclable;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new MaterialEnrichmentIndex(wasteCategoryRepository,
+            new ReadTransactionConfig().refreshReadTransaction(transactionManager),
+            new RecognitionMetrics(meterRegistry), new DisposalGuidelineMapper(), new RecyclingTipMapper());
+
+        DisposalGuideline guideline = new DisposalGuideline();
+        guideline.setId(1L);
+        guideline.setInstructions("Rinse before recycling");
+
+        recyclable = new WasteCategory();
+        recyclable.setId(1L);
+        recyclable.setName("Recyclable");
+        recyclable.setDisposalGuidelines(List.of(guideline));
+    }
+
+    @Test
+    void findByCategoryName_AfterBuild_ServesFromMemory() {
+        // Arrange
+        when(wasteCategoryRepository.findAllWithContent()).thenReturn(List.of(recyclable));
+        index.onApplicationReady();
+
+        // Act
+        EnrichmentBundle first = index.findByCategoryName("recyclable");
+        EnrichmentBundle second = index.findByCategoryName("RECYCLABLE");
+
+        // Assert
+        assertEquals(1L, first.getCategoryId());
+        assertEquals("Rinse before recycling", first.getInstructions());
+        assertEquals(first, second, "Lookups should return the same precomputed bundle");
+        assertNull(index.findByCategoryName("unknown"));
+        verify(wasteCategoryRepository, times(1)).findAllWithContent();
+        assertEquals(2.0, meterRegistry.get("recognition.enrichment.lookups").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("recognition.enrichment.lookups").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void onCategoryContentChanged_RebuildsSnapshot() {
+        // Arrange
+        when(wasteCategoryRepository.findAllWithContent())
+            .thenReturn(List.of(recyclable))
+            .thenReturn(Collections.emptyList());
+        index.onApplicationReady();
+
+        // Act
+        index.onCategoryContentChanged(new CategoryContentChangedEvent(ContentType.CATEGORY, 1L));
+
+        // Assert
+        assertNull(index.findByCategoryName("recyclable"), "Deleted category should disappear after rebuild");
+        verify(wasteCategoryRepository, times(2)).findAllWithContent();
+    }
+}
@@ -0,0 +1,165 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.MaterialFeedback;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.MaterialFeedbackDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.MaterialFeedbackRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.MaterialFeedbackService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.MaterialMappingService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.TagMaterialCount;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.TagMaterialCountRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class MaterialFeedbackServiceTest {
+
+    @Mock
+    private MaterialFeedbackRepository feedbackRepository;
+
+    @Mock
+    private TagMaterialCountRepository tagMaterialCountRepository;
+
+    private MaterialMappingService materialMappingService;
+    private MaterialFeedbackService feedbackService;
+
+    @BeforeEach
+    void setUp() {
+        materialMappingService = new MaterialMappingService(null);
+        feedbackService = new MaterialFeedbackService(feedbackRepository, tagMaterialCountRepository,
+            materialMappingService, 3, 0.6);
+    }
+
+    @Test
+    void submitFeedback_UnknownMaterial_ThrowsIllegalOperationException() {
+        // Arrange
+        MaterialFeedbackDTO feedbackDTO = new MaterialFeedbackDTO();
+        feedbackDTO.setDetectedTags(List.of("mug"));
+        feedbackDTO.setConfirmedMaterial("unobtainium");
+
+        // Act & Assert
+        assertThrows(IllegalOperationException.class, () -> feedbackService.submitFeedback(feedbackDTO));
+        verify(feedbackRepository, never()).save(any());
+    }
+
+    @Test
+    void aggregateFeedback_DominantMaterial_HotSwapsLearnedMapping() {
+        // Arrange - "mug" is unmapped out of the box
+        assertEquals("unknown", materialMappingService.mapObjectToMaterial(List.of("mug")));
+
+        List<MaterialFeedback> pending = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pending.add(feedback("glass", "mug", "cup"));
+        }
+        pending.add(feedback("plastic", "cup"));
+        when(feedbackRepository.findTop500ByAggregatedFalseOrderByIdAsc()).thenReturn(pending);
+        when(tagMaterialCountRepository.findByTagIn(anyCollection())).thenReturn(List.of());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<TagMaterialCount>> savedCounts = ArgumentCaptor.forClass(Iterable.class);
+        when(tagMaterialCountRepository.saveAll(savedCounts.capture())).thenReturn(List.of());
+        when(tagMaterialCountRepository.findAll()).thenAnswer(invocation -> {
+            List<TagMaterialCount> counts = new ArrayList<>();
+            savedCounts.getValue().forEach(counts::add);
+            return counts;
+        });
+
+        // Act
+        feedbackService.aggregateFeedback();
+
+        // Assert
+        assertTrue(pending.stream().allMatch(MaterialFeedback::isAggregated), "All feedback should be marked aggregated");
+        assertEquals("glass", materialMappingService.mapObjectToMaterial(List.of("mug")),
+            "Learned mapping should be served without a redeploy");
+        assertEquals("glass", materialMappingService.mapObjectToMaterial(List.of("cup")),
+            "3 of 4 votes meet the support and share thresholds");
+        assertEquals("plastic", materialMappingService.mapObjectToMaterial(List.of("plastic bottle")),
+            "Built-in mappings should be kept");
+    }
+
+    @Test
+    void refreshLearnedMappings_VotesAgainstBuiltIns_NeverOverrideOrShadowThem() {
+        // Arrange - enough votes to remap a built-in tag, and a generic tag learned from other images
+        when(tagMaterialCountRepository.findAll()).thenReturn(List.of(
+            count("plastic bottle", "glass", 5),
+            count("indoor", "organic", 5)));
+
+        // Act
+        Map<String, String> learned = feedbackService.refreshLearnedMappings();
+
+        // Assert
+        assertEquals("plastic", materialMappingService.mapObjectToMaterial(List.of("plastic bottle")));
+        assertEquals("metal", materialMappingService.mapObjectToMaterial(List.of("indoor", "can")),
+            "A learned generic tag listed first should not shadow a built-in object tag");
+        assertEquals("organic", materialMappingService.mapObjectToMaterial(List.of("indoor")));
+        assertTrue(learned.containsKey("indoor"));
+    }
+
+    @Test
+    void aggregateFeedback_TagsNextToAMappedObject_CollectNoVotes() {
+        // Arrange
+        List<MaterialFeedback> pending = List.of(
+            feedback("glass", "plastic bottle", "indoor"),
+            feedback("glass", "plastic bottle", "indoor"),
+            feedback("glass", "plastic bottle", "indoor"));
+        when(feedbackRepository.findTop500ByAggregatedFalseOrderByIdAsc()).thenReturn(pending);
+        when(tagMaterialCountRepository.findByTagIn(anyCollection())).thenReturn(List.of());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<TagMaterialCount>> savedCounts = ArgumentCaptor.forClass(Iterable.class);
+        when(tagMaterialCountRepository.saveAll(savedCounts.capture())).thenReturn(List.of());
+
+        // Act
+        feedbackService.aggregateFeedback();
+
+        // Assert
+        assertFalse(savedCounts.getValue().iterator().hasNext(), "No tag should be counted");
+        assertTrue(pending.stream().allMatch(MaterialFeedback::isAggregated));
+    }
+
+    @Test
+    void refreshLearnedMappings_AmbiguousTag_IsNotLearned() {
+        // Arrange
+        when(tagMaterialCountRepository.findAll()).thenReturn(List.of(
+            count("bag", "plastic", 3),
+            count("bag", "paper", 3)));
+
+        // Act
+        Map<String, String> learned = feedbackService.refreshLearnedMappings();
+
+        // Assert
+        assertFalse(learned.containsKey("bag"), "A tag split evenly between materials should not be learned");
+    }
+
+    private MaterialFeedback feedback(String confirmedMaterial, String... tags) {
+        MaterialFeedback feedback = new MaterialFeedback();
+        feedback.setDetectedTags(new ArrayList<>(List.of(tags)));
+        feedback.setConfirmedMaterial(confirmedMaterial);
+        return feedback;
+    }
+
+    private TagMaterialCount count(String tag, String material, long occurrences) {
+        TagMaterialCount count = new TagMaterialCount(tag, material);
+        count.setOccurrences(occurrences);
+        return count;
+    }
+}
@@ -0,0 +1,133 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.StaleResourceException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipMapper;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipService;
+
+import javax.sql.DataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs single updates against the seeded dev data: a warm update is one versioned UPDATE,
+ * stale versions are rejected, and duplicate titles are caught by the unique constraints.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+    RecyclingTipService.class, RecyclingTipMapper.class,
+    DisposalGuidelineService.class, DisposalGuidelineMapper.class,
+    ReferenceDataCache.class, JacksonAutoConfiguration.class
+})
+public class OptimisticLockingTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private DisposalGuidelineService guidelineService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // The cache tests run outside the test transaction, so the first read commits its cache entries
+    // before the update; they put the seeded data back when done
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void updateTip_CachedTip_OneStatementAndVersionBumped() {
+        // Arrange - the first read puts the tip and its category in the second-level cache
+        RecyclingTipDTO tip = tipService.getTipById(1L);
+        String title = tip.getTitle();
+        statistics.clear();
+        tip.setTitle(title + " (revised)");
+
+        // Act
+        RecyclingTipDTO updated = tipService.updateTip(1L, tip);
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount(), "Only the versioned UPDATE should run");
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(tip.getVersion() + 1, updated.getVersion());
+        updated.setTitle(title);
+        tipService.updateTip(1L, updated);
+    }
+
+    @Test
+    void updateTip_OutdatedVersion_RejectedWithoutWriting() {
+        // Arrange
+        RecyclingTipDTO tip = tipService.getTipById(1L);
+        tip.setVersion(tip.getVersion() + 1);
+        tip.setTitle("Never written");
+        statistics.clear();
+
+        // Act & Assert
+        assertThrows(StaleResourceException.class, () -> tipService.updateTip(1L, tip));
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void updateTip_ChangedBehindTheCache_Rejected() {
+        // Arrange - another writer bumps the version directly, the cached copy still has the old one
+        RecyclingTipDTO tip = tipService.getTipById(1L);
+        new JdbcTemplate(dataSource).update("UPDATE recycling_tips SET version = version + 1 WHERE id = 1");
+        tip.setVersion(null);
+        tip.setTitle("Lost update");
+
+        // Act & Assert
+        assertThrows(StaleResourceException.class, () -> tipService.updateTip(1L, tip));
+    }
+
+    @Test
+    void updateTip_TitleOfAnotherTip_TranslatedFromUniqueConstraint() {
+        // Arrange
+        RecyclingTipDTO tip = tipService.getTipById(2L);
+        tip.setTitle("DIY Plastic Bottle Planters");
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> tipService.updateTip(2L, tip));
+    }
+
+    @Test
+    void assignToCategory_ExpectedVersionMismatch_Rejected() {
+        // Arrange
+        DisposalGuidelineDTO guideline = guidelineService.getGuidelineById(1L);
+
+        // Act & Assert
+        assertThrows(StaleResourceException.class,
+            () -> guidelineService.assignToCategory(1L, 2L, guideline.getVersion() + 1));
+        assertEquals(guideline.getVersion() + 1,
+            guidelineService.assignToCategory(1L, 2L, guideline.getVersion()).getVersion());
+    }
+}
@@ -0,0 +1,282 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocation;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.CsvRecordReader;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.LocationLoadReport;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.QuarantineReason;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.RecordReader;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.RecyclingLocationCsvLoader;
+
+// Files on disk are split into chunks of a few rows each, so chunk boundaries land inside quoted fields
+@DataJpaTest(properties = { "locations.import.chunk-size=2", "locations.import.parse-chunk-bytes=256" })
+@Import(RecyclingLocationCsvLoader.class)
+public class RecyclingLocationCsvLoaderTest {
+
+    @Autowired
+    private RecyclingLocationCsvLoader loader;
+
+    @Autowired
+    private RecyclingLocationRepository locationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // The dev seed already holds the bundled locations, the test transaction rolls the delete back
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM recycling_locations");
+    }
+
+    @Test
+    void load_ValidAndInvalidRows_ValidRowsInsertedAcrossChunks() throws Exception {
+        // Arrange - six rows make three full chunks, two rows are rejected
+        String csv = String.join("\n",
+            "1,-26.2,28.0,Depot A,City of Johannesburg,Johannesburg,Collector,Open 8am,,https://a.example,,y,n,y,yes,n,y,,no,y,y",
+            "2,-26.3,28.1,Depot B,City of Johannesburg,Sandton,Buyback,,,https://b.example",
+            "x,-26.4,28.2,Bad id,City of Johannesburg,Sandton,Collector,,,",
+            "3,-33.9,18.4,Depot C,City of Cape Town,Cape Town,Collector,,,,,y,y,y,yes,y,y,y,yes,y,y",
+            "4,-29.8,31.0",
+            "5,-29.9,31.1,Depot E,eThekwini,Durban,Collector,,,,,n,n,n,no,n,n,n,no,n,n",
+            "6,-25.7,28.2,Depot F,City of Tshwane,Pretoria,Drop-off,,,,,Y,N,Y,YES,N,N,N,NO,Y,N",
+            "7,-26.2,28.0,Remade,City of Johannesburg,Johannesburg,Collector,Open 8am -5pm,,https://r.example,"
+                + "\"Confidential shredding, Recycling Programmes, CFLs\",y,y,y,yes,y,n,,yes,y,y");
+
+        // Act
+        LocationLoadReport report = loader.load(new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(6, report.getInserted());
+        assertEquals(2, report.getSkipped());
+        assertEquals(6, locationRepository.count());
+        RecyclingLocation first = locationRepository.findById(1L).orElseThrow();
+        assertEquals("Depot A", first.getName());
+        assertEquals(-26.2, first.getLatitude());
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM recycling_locations WHERE id = 1 AND accepts_cans AND NOT accepts_cardboard "
+                + "AND is_dropoff_site AND NOT is_paid", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM recycling_locations WHERE id = 6 AND accepts_cans AND is_dropoff_site",
+            Integer.class));
+        RecyclingLocation quoted = locationRepository.findById(7L).orElseThrow();
+        assertEquals("Confidential shredding, Recycling Programmes, CFLs", quoted.getOther());
+        assertTrue(quoted.getAcceptsCans());
+        assertTrue(quoted.getIsPaid());
+    }
+
+    @Test
+    void load_BundledMapData_AllRowsAccountedFor() throws Exception {
+        // Act
+        LocationLoadReport report = loader.load(new ClassPathResource("mapData.csv"));
+
+        // Assert - the file lists Montgomery Haven twice, a few metres apart
+        assertEquals(1506, report.getInserted());
+        assertEquals(1, report.getSkipped());
+        assertEquals(Map.of(QuarantineReason.DUPLICATE, 1), report.getQuarantined());
+        assertEquals(report.getInserted(), locationRepository.count());
+        assertFalse(report.getRowsPerSecond() <= 0);
+    }
+
+    @Test
+    void load_QualityViolations_QuarantinedWithReasonsAndValuesNormalised() throws Exception {
+        // Arrange
+        ByteArrayResource csv = csv(
+            "1,-25.7479,28.2293,Depot A,City of Tshwane,  PRETORIA ,drop off  recycling,,,",
+            "2,28.0473,-26.2041,Swapped,City of Johannesburg,Johannesburg,Collector,,,",
+            "3,51.5072,-0.1276,London,Greater London,London,Collector,,,",
+            "4,-25.74795,28.22935,depot  a,City of Tshwane,Pretoria,Drop-off (recycling),,,",
+            "5,-25.7479,28.2293,Depot B,City of Tshwane,Pretoria,Collector,,,",
+            "6,-25.7479");
+
+        // Act
+        LocationLoadReport report = loader.load(csv);
+
+        // Assert
+        assertEquals(2, report.getInserted());
+        assertEquals(4, report.getSkipped());
+        assertEquals(Map.of(QuarantineReason.SWAPPED_COORDINATES, 1, QuarantineReason.OUT_OF_BOUNDS, 1,
+            QuarantineReason.DUPLICATE, 1, QuarantineReason.MALFORMED, 1), report.getQuarantined());
+        RecyclingLocation depot = locationRepository.findById(1L).orElseThrow();
+        assertEquals("Pretoria", depot.getCity());
+        assertEquals("Drop-off (recycling)", depot.getType());
+        List<Map<String, Object>> quarantined = jdbcTemplate.queryForList(
+            "SELECT record_number, location_id, reason FROM location_quarantine WHERE import_id = ? "
+                + "ORDER BY record_number", report.getImportId());
+        assertEquals(List.of(2, 3, 4, 6), quarantined.stream().map(row -> row.get("RECORD_NUMBER")).toList());
+        assertEquals("DUPLICATE", quarantined.get(2).get("REASON"));
+        assertEquals(4L, quarantined.get(2).get("LOCATION_ID"));
+        assertNull(quarantined.get(3).get("LOCATION_ID"));
+        assertEquals("6,-25.7479", jdbcTemplate.queryForObject(
+            "SELECT raw_record FROM location_quarantine WHERE import_id = ? AND record_number = 6",
+            String.class, report.getImportId()));
+    }
+
+    @Test
+    void refresh_ChangedAddedAndRemovedRows_OnlyDeltasWritten() throws Exception {
+        // Arrange
+        loader.load(csv(
+            "1,-26.2,28.0,Depot A,City of Johannesburg,Johannesburg,Collector,,,,,y,n,y,yes,n,y,,no,y,y",
+            "2,-26.3,28.1,Depot B,City of Johannesburg,Sandton,Buyback,,,,,n,n,n,no,n,n,n,no,n,n",
+            "3,-33.9,18.4,Depot C,City of Cape Town,Cape Town,Collector,,,,,y,y,y,yes,y,y,y,yes,y,y"));
+
+        // Act - row 1 only changes letter case of its flags, row 2 changes a flag, 3 is removed and 4 is new
+        LocationLoadReport report = loader.refresh(csv(
+            "1,-26.2,28.0,Depot A,City of Johannesburg,Johannesburg,Collector,,,,,Y,N,Y,YES,N,Y,,NO,Y,Y",
+            "2,-26.3,28.1,Depot B,City of Johannesburg,Sandton,Buyback,,,,,n,n,n,no,n,n,n,yes,n,n",
+            "4,-25.7,28.2,Depot D,City of Tshwane,Pretoria,Drop-off,,,,,y,y,y,yes,y,y,y,yes,y,y"));
+
+        // Assert
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getDeleted());
+        assertEquals(1, report.getUnchanged());
+        assertEquals(3, report.getChanged());
+        assertTrue(locationRepository.findById(2L).orElseThrow().getIsPaid());
+        assertFalse(locationRepository.existsById(3L));
+        assertEquals("Depot D", locationRepository.findById(4L).orElseThrow().getName());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM location_import_staging", Integer.class));
+    }
+
+    @Test
+    void refresh_ReadFailsAfterRowsWereStaged_LiveTableUntouched() throws Exception {
+        // Arrange - the chunk size is 2, so the first two changes are staged before the read fails
+        loader.load(csv(
+            "1,-26.2,28.0,Depot A,City of Johannesburg,Johannesburg,Collector,,,,,n,n,n,no,n,n,n,no,n,n",
+            "2,-26.3,28.1,Depot B,City of Johannesburg,Sandton,Buyback,,,,,n,n,n,no,n,n,n,no,n,n"));
+        RecordReader records = failingAfter(3, new CsvRecordReader(new StringReader(String.join("\n",
+            "1,-26.2,28.0,Depot A,City of Johannesburg,Johannesburg,Collector,,,,,y,n,n,no,n,n,n,no,n,n",
+            "5,-25.7,28.2,Depot E,City of Tshwane,Pretoria,Drop-off,,,,,y,y,y,yes,y,y,y,yes,y,y",
+            "6,-25.8,28.3,Depot F,City of Tshwane,Pretoria,Drop-off,,,,,y,y,y,yes,y,y,y,yes,y,y"))));
+
+        // Act
+        assertThrows(IOException.class, () -> loader.refresh(records, null, progress -> { }));
+
+        // Assert
+        assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM location_import_staging", Integer.class) > 0);
+        assertEquals(List.of(1L, 2L), jdbcTemplate.queryForList(
+            "SELECT id FROM recycling_locations ORDER BY id", Long.class));
+        assertFalse(jdbcTemplate.queryForObject(
+            "SELECT accepts_cans FROM recycling_locations WHERE id = 1", Boolean.class));
+    }
+
+    @Test
+    void refresh_RowsWithoutStoredHash_UpdatedOnceThenUnchanged() throws Exception {
+        // Arrange - rows written before content hashes existed
+        loader.load(new ClassPathResource("mapData.csv"));
+        jdbcTemplate.update("UPDATE recycling_locations SET content_hash = NULL");
+
+        // Act
+        LocationLoadReport first = loader.refresh(new ClassPathResource("mapData.csv"));
+        LocationLoadReport second = loader.refresh(new ClassPathResource("mapData.csv"));
+
+        // Assert
+        assertEquals(1506, first.getUpdated());
+        assertEquals(0, second.getChanged());
+        assertEquals(1506, second.getUnchanged());
+    }
+
+    @Test
+    void refresh_FileWithMultiLineQuotedFields_ParsedInParallelInFileOrder(@TempDir Path dir) throws Exception {
+        // Arrange - every third row has a quoted field with a line break, commas and escaped quotes
+        StringBuilder csv = new StringBuilder();
+        for (int i = 1; i <= 300; i++) {
+            String other = i % 3 == 0 ? "\"Shredding, \"\"bulk\"\"\nand more " + i + "\"" : "plain " + i;
+            csv.append(i).append(",-26.").append(i).append(",28.0,Depot ").append(i)
+                .append(",City,Johannesburg,Collector,,,https://d.example,").append(other)
+                .append(",y,n,y,yes,n,y,n,no,y,y\r\n");
+        }
+        Path file = Files.writeString(dir.resolve("locations.csv"), csv);
+        AtomicInteger progress = new AtomicInteger();
+
+        // Act
+        LocationLoadReport report = loader.refresh(file, "locations.csv", progress::set);
+
+        // Assert
+        assertEquals(300, report.getInserted());
+        assertEquals(0, report.getSkipped());
+        assertEquals(300, progress.get());
+        assertEquals("Shredding, \"bulk\"\nand more 150", locationRepository.findById(150L).orElseThrow().getOther());
+        assertEquals("plain 151", locationRepository.findById(151L).orElseThrow().getOther());
+        assertEquals(300, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM recycling_locations WHERE accepts_cans AND NOT accepts_cardboard AND accepts_plastic",
+            Integer.class));
+    }
+
+    @Test
+    void refresh_SameSourceImportedAgain_OnlyLatestQuarantineKept() throws Exception {
+        // Arrange - mapData.csv quarantines one duplicate on every import
+        RecordReader other = new CsvRecordReader(new StringReader("9,-26.2,28.0"));
+        LocationLoadReport otherSource = loader.refresh(other, "drop-offs.csv", progress -> { });
+        loader.load(new ClassPathResource("mapData.csv"));
+        loader.refresh(new ClassPathResource("mapData.csv"));
+
+        // Act
+        LocationLoadReport latest = loader.refresh(new ClassPathResource("mapData.csv"));
+
+        // Assert
+        assertEquals(1, latest.getSkipped());
+        assertEquals(List.of(latest.getImportId()), jdbcTemplate.queryForList(
+            "SELECT import_id FROM location_quarantine WHERE source = 'mapData.csv'", String.class));
+        assertEquals(List.of(otherSource.getImportId()), jdbcTemplate.queryForList(
+            "SELECT import_id FROM location_quarantine WHERE source = 'drop-offs.csv'", String.class));
+    }
+
+    // Reads the given number of records, then fails
+    private static RecordReader failingAfter(int count, RecordReader records) {
+        return new RecordReader() {
+            private int read;
+
+            @Override
+            public boolean next() throws IOException {
+                if (read++ == count) {
+                    throw new IOException("Connection reset");
+                }
+                return records.next();
+            }
+
+            @Override
+            public int size() {
+                return records.size();
+            }
+
+            @Override
+            public String get(int index) {
+                return records.get(index);
+            }
+
+            @Override
+            public void close() throws IOException {
+                records.close();
+            }
+        };
+    }
+
+    private static ByteArrayResource csv(String... lines) {
+        return new ByteArrayResource(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
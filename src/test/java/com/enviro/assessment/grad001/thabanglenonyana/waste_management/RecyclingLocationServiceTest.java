@@ -25,6 +25,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.LocationSnapshotStore;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocation;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationDTO;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.facility.RecyclingLocationMapper;
@@ -40,6 +41,10 @@ public class RecyclingLocationServiceTest {
     @Mock
     private RecyclingLocationMapper locationMapper;
 
+    // No snapshot is current, so the service reads from the repository
+    @Mock
+    private LocationSnapshotStore snapshotStore;
+
     @InjectMocks
     private RecyclingLocationService locationService;
 
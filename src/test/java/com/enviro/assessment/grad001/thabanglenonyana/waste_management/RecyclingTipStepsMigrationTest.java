@@ -0,0 +1,77 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.util.RecyclingTipStepsMigration;
+
+/**
+ * Recreates the legacy JSON steps column on the seeded H2 schema and checks that both plain and
+ * double-encoded values end up as ordered rows in recycling_tip_steps.
+ * Runs outside the test transaction because H2 commits DDL implicitly.
+ */
+@DataJpaTest
+@Import({RecyclingTipStepsMigration.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RecyclingTipStepsMigrationTest {
+
+    private static final String INSERT_LEGACY_TIP = "INSERT INTO recycling_tips "
+            + "(id, title, steps, difficulty, time_required, created_at) "
+            + "VALUES (NEXT VALUE FOR recycling_tips_seq, ?, ?, 'EASY', '5 minutes', CURRENT_TIMESTAMP)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecyclingTipStepsMigration migration;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM recycling_tip_steps WHERE tip_id IN "
+                + "(SELECT id FROM recycling_tips WHERE title LIKE 'Legacy %')");
+        jdbcTemplate.update("DELETE FROM recycling_tips WHERE title LIKE 'Legacy %'");
+    }
+
+    @Test
+    void migrate_PlainAndDoubleEncodedSteps_CopiedInOrderAndColumnDropped() {
+        // Arrange
+        jdbcTemplate.execute("ALTER TABLE recycling_tips ADD COLUMN steps VARCHAR(2000)");
+        jdbcTemplate.update(INSERT_LEGACY_TIP, "Legacy plain", "[\"Rinse\", \"Flatten\"]");
+        jdbcTemplate.update(INSERT_LEGACY_TIP, "Legacy double encoded", "\"[\\\"Sort\\\", \\\"Bag\\\", \\\"Drop off\\\"]\"");
+
+        // Act
+        int migrated = migration.migrate();
+
+        // Assert
+        assertEquals(2, migrated);
+        assertEquals(List.of("Rinse", "Flatten"), stepsOf("Legacy plain"));
+        assertEquals(List.of("Sort", "Bag", "Drop off"), stepsOf("Legacy double encoded"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'RECYCLING_TIPS' AND COLUMN_NAME = 'STEPS'", Integer.class));
+    }
+
+    @Test
+    void migrate_NoLegacyColumn_NothingToDo() {
+        // Act
+        int migrated = migration.migrate();
+
+        // Assert
+        assertEquals(0, migrated);
+    }
+
+    private List<String> stepsOf(String title) {
+        return jdbcTemplate.queryForList("SELECT s.step FROM recycling_tip_steps s JOIN recycling_tips t ON t.id = s.tip_id "
+                + "WHERE t.title = ? ORDER BY s.step_order", String.class, title);
+    }
+}
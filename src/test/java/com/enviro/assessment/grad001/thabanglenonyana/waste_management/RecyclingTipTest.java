@@ -19,17 +19,31 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedList;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedListResponseWriter;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.DuplicateResourceException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.IllegalOperationException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.StaleResourceException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.DifficultyLevel;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipController;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipService;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipSummaryDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 
 
@@ -41,6 +55,11 @@ public class RecyclingTipTest {
     @Mock
     private RecyclingTipService tipService;
 
+    @Spy
+    private CachedListResponseWriter responseWriter = new CachedListResponseWriter();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private RecyclingTipController tipController;
 
@@ -60,31 +79,35 @@ public class RecyclingTipTest {
     }
 
     @Test
-    void getAllRecyclingTips_Success() {
+    void getAllRecyclingTips_Success() throws Exception {
         // Arrange
         List<RecyclingTipDTO> tips = Arrays.asList(testTipDTO);
-        when(tipService.getAllTips()).thenReturn(tips);
+        when(tipService.getCachedTips()).thenReturn(CachedList.of(tips, objectMapper));
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<List<RecyclingTipDTO>> response = tipController.getAllRecyclingTips();
+        tipController.getAllRecyclingTips(new MockHttpServletRequest(), response);
 
         // Assert
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(tips, response.getBody());
-        verify(tipService).getAllTips();
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(tips, objectMapper.readValue(response.getContentAsByteArray(),
+            new TypeReference<List<RecyclingTipDTO>>() {}));
+        verify(tipService).getCachedTips();
     }
 
     @Test
-    void getAllRecyclingTips_ServerError() {
+    void getAllRecyclingTips_ServerError() throws Exception {
         // Arrange
-        when(tipService.getAllTips()).thenThrow(new RuntimeException());
+        when(tipService.getCachedTips()).thenThrow(new RuntimeException());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<List<RecyclingTipDTO>> response = tipController.getAllRecyclingTips();
+        tipController.getAllRecyclingTips(new MockHttpServletRequest(), response);
 
         // Assert
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        verify(tipService).getAllTips();
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatus());
+        verify(tipService).getCachedTips();
     }
 
     @Test
@@ -163,7 +186,7 @@ public class RecyclingTipTest {
         when(tipService.updateTip(eq(1L), any(RecyclingTipDTO.class))).thenReturn(testTipDTO);
 
         // Act
-        ResponseEntity<RecyclingTipDTO> response = tipController.update(1L, testTipDTO);
+        ResponseEntity<RecyclingTipDTO> response = tipController.update(1L, testTipDTO, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -178,7 +201,7 @@ public class RecyclingTipTest {
             .thenThrow(new ResourceNotFoundException("Tip not found"));
 
         // Act
-        ResponseEntity<RecyclingTipDTO> response = tipController.update(99L, testTipDTO);
+        ResponseEntity<RecyclingTipDTO> response = tipController.update(99L, testTipDTO, null);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -215,71 +238,71 @@ public class RecyclingTipTest {
     @Test
     void assignToCategory_Success() {
         // Arrange
-        when(tipService.assignToCategory(1L, 2L)).thenReturn(testTipDTO);
+        when(tipService.assignToCategory(1L, 2L, null)).thenReturn(testTipDTO);
 
         // Act
-        ResponseEntity<RecyclingTipDTO> response = tipController.assignToCategory(1L, 2L);
+        ResponseEntity<RecyclingTipDTO> response = tipController.assignToCategory(1L, 2L, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(testTipDTO, response.getBody());
-        verify(tipService).assignToCategory(1L, 2L);
+        verify(tipService).assignToCategory(1L, 2L, null);
     }
 
     @Test
     void assignToCategory_NotFound() {
         // Arrange
-        when(tipService.assignToCategory(99L, 1L))
+        when(tipService.assignToCategory(99L, 1L, null))
             .thenThrow(new ResourceNotFoundException("Tip or category not found"));
 
         // Act
-        ResponseEntity<RecyclingTipDTO> response = tipController.assignToCategory(99L, 1L);
+        ResponseEntity<RecyclingTipDTO> response = tipController.assignToCategory(99L, 1L, null);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(tipService).assignToCategory(99L, 1L);
+        verify(tipService).assignToCategory(99L, 1L, null);
     }
 
     @Test
     void assignToCategory_IllegalOperation() {
         // Arrange
-        when(tipService.assignToCategory(1L, 1L))
+        when(tipService.assignToCategory(1L, 1L, null))
             .thenThrow(new IllegalOperationException("Already assigned"));
 
         // Act
-        ResponseEntity<RecyclingTipDTO> response = tipController.assignToCategory(1L, 1L);
+        ResponseEntity<RecyclingTipDTO> response = tipController.assignToCategory(1L, 1L, null);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        verify(tipService).assignToCategory(1L, 1L);
+        verify(tipService).assignToCategory(1L, 1L, null);
     }
 
     @Test
     void unassignTip_Success() {
         // Arrange
-        when(tipService.unassignTip(1L)).thenReturn(testTipDTO);
+        when(tipService.unassignTip(1L, null)).thenReturn(testTipDTO);
 
         // Act
-        ResponseEntity<RecyclingTipDTO> response = tipController.unassignTip(1L);
+        ResponseEntity<RecyclingTipDTO> response = tipController.unassignTip(1L, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(testTipDTO, response.getBody());
-        verify(tipService).unassignTip(1L);
+        verify(tipService).unassignTip(1L, null);
     }
 
     @Test
     void unassignTip_NotFound() {
         // Arrange
-        when(tipService.unassignTip(99L))
+        when(tipService.unassignTip(99L, null))
             .thenThrow(new ResourceNotFoundException("Tip not found"));
 
         // Act
-        ResponseEntity<RecyclingTipDTO> response = tipController.unassignTip(99L);
+        ResponseEntity<RecyclingTipDTO> response = tipController.unassignTip(99L, null);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(tipService).unassignTip(99L);
+        verify(tipService).unassignTip(99L, null);
     }
 
     @Test
@@ -311,7 +334,128 @@ public class RecyclingTipTest {
         when(tipService.updateTip(eq(1L), any(RecyclingTipDTO.class)))
             .thenThrow(new DuplicateResourceException("Title already exists"));
 
-        ResponseEntity<RecyclingTipDTO> response = tipController.update(1L, testTipDTO);
+        ResponseEntity<RecyclingTipDTO> response = tipController.update(1L, testTipDTO, null);
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
     }
+
+    @Test
+    void update_IfMatch_VersionPassedAndNewETagReturned() {
+        // Arrange
+        RecyclingTipDTO saved = new RecyclingTipDTO();
+        saved.setVersion(4L);
+        when(tipService.updateTip(eq(1L), any(RecyclingTipDTO.class))).thenReturn(saved);
+
+        // Act
+        ResponseEntity<RecyclingTipDTO> response = tipController.update(1L, testTipDTO, "\"3\"");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, testTipDTO.getVersion());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void update_IfMatchStale_PreconditionFailed() {
+        // Arrange
+        when(tipService.updateTip(eq(1L), any(RecyclingTipDTO.class)))
+            .thenThrow(new StaleResourceException("Recycling tip 1 is at version 4, not 3"));
+
+        // Act
+        ResponseEntity<RecyclingTipDTO> response = tipController.update(1L, testTipDTO, "\"3\"");
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+    }
+
+    @Test
+    void unassignTip_MalformedIfMatch_PreconditionFailed() {
+        // Act
+        ResponseEntity<RecyclingTipDTO> response = tipController.unassignTip(1L, "W/\"3\"");
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+    }
+
+    @Test
+    void createBulk_Success() {
+        // Arrange
+        List<RecyclingTipDTO> tips = List.of(testTipDTO);
+        when(tipService.createTips(tips)).thenReturn(tips);
+
+        // Act
+        ResponseEntity<List<RecyclingTipDTO>> response = tipController.createBulk(tips);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(tips, response.getBody());
+    }
+
+    @Test
+    void createBulk_CategoryNotFound() {
+        // Arrange
+        testTipDTO.setCategoryId(99L);
+        List<RecyclingTipDTO> tips = List.of(testTipDTO);
+        when(tipService.createTips(tips)).thenThrow(new ResourceNotFoundException("Category not found with id: [99]"));
+
+        // Act
+        ResponseEntity<List<RecyclingTipDTO>> response = tipController.createBulk(tips);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void updateBulk_DuplicateTitle() {
+        // Arrange
+        List<RecyclingTipDTO> tips = List.of(testTipDTO);
+        when(tipService.updateTips(tips)).thenThrow(new DuplicateResourceException("Title already exists"));
+
+        // Act
+        ResponseEntity<List<RecyclingTipDTO>> response = tipController.updateBulk(tips);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void updateBulk_MissingId() {
+        // Arrange
+        List<RecyclingTipDTO> tips = List.of(testTipDTO);
+        when(tipService.updateTips(tips)).thenThrow(new IllegalOperationException("Every recycling tip in a bulk update needs an id"));
+
+        // Act
+        ResponseEntity<List<RecyclingTipDTO>> response = tipController.updateBulk(tips);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void getTipPage_Success() {
+        // Arrange
+        RecyclingTipSummaryDTO summary = new RecyclingTipSummaryDTO();
+        summary.setId(1L);
+        summary.setTitle("Paper Recycling");
+        Page<RecyclingTipSummaryDTO> page = new PageImpl<>(List.of(summary), PageRequest.of(0, 20), 1);
+        when(tipService.getTipPage(eq(DifficultyLevel.EASY), eq(null), eq(null), any(Pageable.class))).thenReturn(page);
+
+        // Act
+        ResponseEntity<Page<RecyclingTipSummaryDTO>> response = tipController.getTipPage(0, 20, "title", DifficultyLevel.EASY, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(tipService).getTipPage(DifficultyLevel.EASY, null, null, PageRequest.of(0, 20, Sort.by("title", "id")));
+    }
+
+    @Test
+    void getTipPage_OversizedPageOrUnknownSort_BadRequest() {
+        // Act
+        ResponseEntity<Page<RecyclingTipSummaryDTO>> oversized = tipController.getTipPage(0, 500, "id", null, null, null);
+        ResponseEntity<Page<RecyclingTipSummaryDTO>> unknownSort = tipController.getTipPage(0, 20, "steps", null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, oversized.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, unknownSort.getStatusCode());
+    }
 }
\ No newline at end of file
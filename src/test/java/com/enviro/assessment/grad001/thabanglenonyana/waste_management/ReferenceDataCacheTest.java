@@ -0,0 +1,108 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedList;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent.ContentType;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.ReferenceDataCache.ListKey;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class ReferenceDataCacheTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReferenceDataCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReferenceDataCache(new ObjectMapper(), transactionManager);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_RepeatedRequests_LoadsOnce() {
+        // Act
+        CachedList<String> first = cache.get(ListKey.TIPS, () -> load("Rinse cans"));
+        CachedList<String> second = cache.get(ListKey.TIPS, () -> load("Rinse cans"));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(List.of("Rinse cans"), second.getItems());
+    }
+
+    @Test
+    void onCategoryContentChanged_EvictsAndChangesEtag() {
+        // Arrange
+        CachedList<String> before = cache.get(ListKey.CATEGORIES, () -> load("Paper"));
+
+        // Act
+        cache.onCategoryContentChanged(new CategoryContentChangedEvent(ContentType.GUIDELINE, 1L));
+        CachedList<String> after = cache.get(ListKey.CATEGORIES, () -> load("Paper", "Glass"));
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(List.of("Paper", "Glass"), after.getItems());
+        assertNotEquals(before.getEtag(), after.getEtag());
+    }
+
+    @Test
+    void get_EvictedWhileLoading_DoesNotStoreStaleList() {
+        // Arrange - a change commits while the first load is still reading
+        CachedList<String> stale = cache.get(ListKey.GUIDELINES, () -> {
+            cache.evictAll();
+            return load("Old");
+        });
+
+        // Act
+        CachedList<String> fresh = cache.get(ListKey.GUIDELINES, () -> load("New"));
+
+        // Assert
+        assertEquals(List.of("Old"), stale.getItems());
+        assertEquals(List.of("New"), fresh.getItems());
+    }
+
+    @Test
+    void copyOf_CopyModified_CachedDtosUnchanged() {
+        // Arrange
+        RecyclingTipDTO tip = new RecyclingTipDTO();
+        tip.setTitle("Rinse cans");
+        tip.setSteps(List.of("Rinse", "Crush"));
+        CachedList<RecyclingTipDTO> cached = cache.get(ListKey.TIPS, () -> List.of(tip));
+
+        // Act
+        List<RecyclingTipDTO> copy = cache.copyOf(cached, RecyclingTipDTO.class);
+        copy.get(0).setTitle("Changed");
+        copy.get(0).getSteps().clear();
+
+        // Assert
+        assertNotSame(cached.getItems().get(0), copy.get(0));
+        assertEquals("Rinse cans", cached.getItems().get(0).getTitle());
+        assertEquals(List.of("Rinse", "Crush"), cached.getItems().get(0).getSteps());
+        assertSame(cached, cache.get(ListKey.TIPS, () -> load("Unused")));
+    }
+
+    private List<String> load(String... items) {
+        loads.incrementAndGet();
+        return List.of(items);
+    }
+}
@@ -0,0 +1,163 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CategoryContentChangedEvent.ContentType;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategory;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.config.ReadTransactionConfig;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuideline;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.search.SearchHit;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.search.SearchIndex;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.search.TextAnalyzer;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTip;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class SearchIndexTest {
+
+    @Mock
+    private RecyclingTipRepository tipRepository;
+
+    @Mock
+    private DisposalGuidelineRepository guidelineRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SearchIndex searchIndex;
+    private WasteCategory plastic;
+    private RecyclingTip planters;
+    private RecyclingTip compost;
+    private DisposalGuideline batteries;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new SearchIndex(tipRepository, guidelineRepository,
+            new ReadTransactionConfig().refreshReadTransaction(transactionManager), new SimpleMeterRegistry());
+
+        plastic = new WasteCategory();
+        plastic.setId(1L);
+        plastic.setName("Plastic");
+
+        planters = tip(1L, "Plastic Bottle Planters", List.of("Cut the bottle in half", "Fill with soil and seeds"));
+        planters.setCategory(plastic);
+        compost = tip(2L, "Kitchen Compost", List.of("Collect vegetable peels", "Turn the heap weekly, add a bottle of water"));
+
+        batteries = new DisposalGuideline();
+        batteries.setId(10L);
+        batteries.setTitle("Battery Disposal");
+        batteries.setInstructions("Tape the terminals and drop batteries at an e-waste point");
+
+        when(tipRepository.findAllWithCategory()).thenReturn(List.of(planters, compost));
+        when(guidelineRepository.findAllWithCategory()).thenReturn(List.of(batteries));
+        searchIndex.onApplicationReady();
+    }
+
+    @Test
+    void search_TitleMatch_RankedAboveBodyMatch() {
+        // Act
+        List<SearchHit> hits = searchIndex.search("bottle", 10);
+
+        // Assert
+        assertEquals(2, hits.size());
+        assertEquals(1L, hits.get(0).getId(), "Title match should rank first");
+        assertEquals("Plastic", hits.get(0).getCategoryName());
+        assertEquals(2L, hits.get(1).getId());
+        assertEquals("Turn the heap weekly, add a bottle of water", hits.get(1).getSnippet());
+    }
+
+    @Test
+    void search_PrefixAndPlural_MatchesLongerTerms() {
+        // Act
+        List<SearchHit> prefixHits = searchIndex.search("plan", 10);
+        List<SearchHit> pluralHits = searchIndex.search("battery", 10);
+
+        // Assert
+        assertEquals(1L, prefixHits.get(0).getId());
+        assertEquals(ContentType.GUIDELINE, pluralHits.get(0).getType());
+        assertEquals(10L, pluralHits.get(0).getId());
+    }
+
+    @Test
+    void search_Typo_StillMatches() {
+        // Act
+        List<SearchHit> hits = searchIndex.search("compots", 10);
+
+        // Assert
+        assertEquals(1, hits.size());
+        assertEquals(2L, hits.get(0).getId());
+    }
+
+    @Test
+    void search_NoSearchableTerms_Empty() {
+        // Act & Assert
+        assertTrue(searchIndex.search("the and of", 10).isEmpty());
+        assertTrue(searchIndex.search("zzzz", 10).isEmpty());
+    }
+
+    @Test
+    void onCategoryContentChanged_SingleTip_ReindexedWithoutRebuild() {
+        // Arrange
+        RecyclingTip renamed = tip(2L, "Worm Farm", List.of("Feed the worms vegetable peels"));
+        when(tipRepository.findWithCategoryById(2L)).thenReturn(Optional.of(renamed));
+
+        // Act
+        searchIndex.onCategoryContentChanged(new CategoryContentChangedEvent(ContentType.TIP, 2L));
+
+        // Assert
+        assertTrue(searchIndex.search("compost", 10).isEmpty(), "Old terms should be unindexed");
+        assertEquals(2L, searchIndex.search("worm", 10).get(0).getId());
+        assertEquals(3, searchIndex.size());
+        verify(tipRepository, times(1)).findAllWithCategory();
+    }
+
+    @Test
+    void onCategoryContentChanged_DeletedGuideline_Removed() {
+        // Arrange
+        when(guidelineRepository.findWithCategoryById(10L)).thenReturn(Optional.empty());
+
+        // Act
+        searchIndex.onCategoryContentChanged(new CategoryContentChangedEvent(ContentType.GUIDELINE, 10L));
+
+        // Assert
+        assertTrue(searchIndex.search("battery", 10).isEmpty());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void withinEditDistance_CountsSwapsAsOneEdit() {
+        // Act & Assert
+        assertTrue(TextAnalyzer.withinEditDistance("compost", "compots", 1));
+        assertTrue(TextAnalyzer.withinEditDistance("recycling", "recyclng", 1));
+        assertFalse(TextAnalyzer.withinEditDistance("glass", "grass", 0));
+        assertFalse(TextAnalyzer.withinEditDistance("paper", "plastic", 2));
+    }
+
+    private static RecyclingTip tip(Long id, String title, List<String> steps) {
+        RecyclingTip tip = new RecyclingTip();
+        tip.setId(id);
+        tip.setTitle(title);
+        tip.setSteps(new ArrayList<>(steps));
+        return tip;
+    }
+}
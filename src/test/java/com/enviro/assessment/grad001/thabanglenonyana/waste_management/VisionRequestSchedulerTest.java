@@ -0,0 +1,71 @@
+package com.enviro.assessment.grad001.thabanglenonyana.waste_management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpHeaderName;
+import com.azure.core.http.HttpResponse;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.RateLimitExceededException;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.AnalysisPriority;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.image_analysis.VisionRequestScheduler;
+
+public class VisionRequestSchedulerTest {
+
+    @Test
+    void submit_WithinBurst_RunsCallImmediately() {
+        // Arrange
+        VisionRequestScheduler scheduler = new VisionRequestScheduler(1, 3, 0, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            scheduler.submit(AnalysisPriority.INTERACTIVE, calls::incrementAndGet);
+        }
+
+        // Assert
+        assertEquals(3, calls.get(), "All calls within the burst should run");
+    }
+
+    @Test
+    void submit_QueueWaitExceedsDeadline_ShedsWithRetryAfter() {
+        // Arrange - one permit per 10 seconds, no queueing allowed for batch work
+        VisionRequestScheduler scheduler = new VisionRequestScheduler(0.1, 1, 0, 0);
+        AtomicInteger calls = new AtomicInteger();
+        scheduler.submit(AnalysisPriority.INTERACTIVE, calls::incrementAndGet);
+
+        // Act & Assert
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+            () -> scheduler.submit(AnalysisPriority.BATCH, calls::incrementAndGet),
+            "Request should be shed when the bucket is empty and the deadline has passed");
+        assertEquals(1, calls.get(), "Shed request must not reach Azure");
+        assertTrue(e.getRetryAfterSeconds() >= 9, "Retry-After should reflect the refill time");
+    }
+
+    @Test
+    void submit_AzureReturns429_TranslatesToRateLimitException() {
+        // Arrange
+        VisionRequestScheduler scheduler = new VisionRequestScheduler(10, 10, 0, 0);
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.getStatusCode()).thenReturn(429);
+        when(response.getHeaderValue(HttpHeaderName.RETRY_AFTER)).thenReturn("7");
+
+        // Act & Assert
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+            () -> scheduler.submit(AnalysisPriority.INTERACTIVE, () -> {
+                throw new HttpResponseException("Too Many Requests", response);
+            }));
+        assertEquals(7, e.getRetryAfterSeconds(), "Retry-After from Azure should be propagated");
+
+        // Subsequent calls are paused for the Retry-After window
+        assertThrows(RateLimitExceededException.class,
+            () -> scheduler.submit(AnalysisPriority.INTERACTIVE, () -> "ok"));
+    }
+}
@@ -21,10 +21,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedList;
+import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.CachedListResponseWriter;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryController;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryDTO;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.category.WasteCategoryService;
@@ -32,6 +37,8 @@ import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.exception.ResourceNotFoundException;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.guideline.DisposalGuidelineDTO;
 import com.enviro.assessment.grad001.thabanglenonyana.waste_management.tip.RecyclingTipDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
 public class WasteCategoryTest {
@@ -39,6 +46,11 @@ public class WasteCategoryTest {
     @Mock
     private WasteCategoryService wasteCategoryService;
 
+    @Spy
+    private CachedListResponseWriter responseWriter = new CachedListResponseWriter();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private WasteCategoryController wasteCategoryController;
 
@@ -55,22 +67,24 @@ public class WasteCategoryTest {
     }
 
     @Test
-    void testGetAllCategories() {
+    void testGetAllCategories() throws Exception {
         // Arrange
         List<WasteCategoryDTO> categoryDTOs = Arrays.asList(testCategoryDTO);
-        when(wasteCategoryService.getAllCategories()).thenReturn(categoryDTOs);
+        CachedList<WasteCategoryDTO> cached = CachedList.of(categoryDTOs, objectMapper);
+        when(wasteCategoryService.getCachedCategories()).thenReturn(cached);
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<List<WasteCategoryDTO>> response = wasteCategoryController.getAllCategories();
+        wasteCategoryController.getAllCategories(new MockHttpServletRequest(), response);
 
         // Assert
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        List<WasteCategoryDTO> responseBody = response.getBody();
-        assertEquals(1, responseBody != null ? responseBody.size() : 0);
-        if (responseBody != null && !responseBody.isEmpty()) {
-            assertEquals(testCategoryDTO.getName(), responseBody.get(0).getName());
-        }
-        verify(wasteCategoryService).getAllCategories();
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        List<WasteCategoryDTO> responseBody = objectMapper.readValue(response.getContentAsByteArray(),
+            new TypeReference<List<WasteCategoryDTO>>() {});
+        assertEquals(1, responseBody.size());
+        assertEquals(testCategoryDTO.getName(), responseBody.get(0).getName());
+        assertEquals(cached.getEtag(), response.getHeader("ETag"));
+        verify(wasteCategoryService).getCachedCategories();
     }
 
     @Test
@@ -130,7 +144,7 @@ public class WasteCategoryTest {
 
         // Act
         ResponseEntity<WasteCategoryDTO> response = 
-            wasteCategoryController.updateCategory(1L, testCategoryDTO);
+            wasteCategoryController.updateCategory(1L, testCategoryDTO, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -149,7 +163,7 @@ public class WasteCategoryTest {
 
         // Act
         ResponseEntity<WasteCategoryDTO> response = 
-            wasteCategoryController.updateCategory(99L, testCategoryDTO);
+            wasteCategoryController.updateCategory(99L, testCategoryDTO, null);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -199,32 +213,34 @@ public class WasteCategoryTest {
     }
 
     @Test
-    void testGetAllCategories_EmptyList() {
+    void testGetAllCategories_EmptyList() throws Exception {
         // Arrange
-        when(wasteCategoryService.getAllCategories()).thenReturn(new ArrayList<>());
+        when(wasteCategoryService.getCachedCategories()).thenReturn(CachedList.of(new ArrayList<>(), objectMapper));
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<List<WasteCategoryDTO>> response = wasteCategoryController.getAllCategories();
+        wasteCategoryController.getAllCategories(new MockHttpServletRequest(), response);
 
         // Assert
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        List<WasteCategoryDTO> responseBody = response.getBody();
-        assertEquals(0, responseBody != null ? responseBody.size() : 0);
-        verify(wasteCategoryService).getAllCategories();
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("[]", response.getContentAsString());
+        verify(wasteCategoryService).getCachedCategories();
     }
 
     @Test
-    void testGetAllCategories_ServiceException() {
+    void testGetAllCategories_ServiceException() throws Exception {
         // Arrange
-        when(wasteCategoryService.getAllCategories())
+        when(wasteCategoryService.getCachedCategories())
             .thenThrow(new RuntimeException("Database error"));
 
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
         // Act
-        ResponseEntity<List<WasteCategoryDTO>> response = wasteCategoryController.getAllCategories();
+        wasteCategoryController.getAllCategories(new MockHttpServletRequest(), response);
 
         // Assert
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        verify(wasteCategoryService).getAllCategories();
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatus());
+        verify(wasteCategoryService).getCachedCategories();
     }
 
     @Test
@@ -236,7 +252,7 @@ public class WasteCategoryTest {
 
         // Act
         ResponseEntity<WasteCategoryDTO> response = 
-            wasteCategoryController.updateCategory(1L, invalidDTO);
+            wasteCategoryController.updateCategory(1L, invalidDTO, null);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -281,7 +297,7 @@ public class WasteCategoryTest {
 
         // Act
         ResponseEntity<WasteCategoryDTO> response = 
-            wasteCategoryController.updateCategory(1L, testCategoryDTO);
+            wasteCategoryController.updateCategory(1L, testCategoryDTO, null);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -350,4 +366,29 @@ public class WasteCategoryTest {
 
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
     }
+
+    @Test
+    void testCreateCategories_Success() {
+        List<WasteCategoryDTO> categories = List.of(testCategoryDTO);
+        when(wasteCategoryService.createCategories(categories)).thenReturn(categories);
+
+        ResponseEntity<List<WasteCategoryDTO>> response =
+            wasteCategoryController.createCategories(categories);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(categories, response.getBody());
+    }
+
+    @Test
+    void testUpdateCategories_NonExistingCategory() {
+        testCategoryDTO.setId(99L);
+        List<WasteCategoryDTO> categories = List.of(testCategoryDTO);
+        when(wasteCategoryService.updateCategories(categories))
+            .thenThrow(new ResourceNotFoundException("Category not found with id: [99]"));
+
+        ResponseEntity<List<WasteCategoryDTO>> response =
+            wasteCategoryController.updateCategories(categories);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
 }
\ No newline at end of file